@@ -0,0 +1,28 @@
+package by.htp.hermanovich.airline.commands;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Description: This interface describes a read-only command which page can be kept by the browser. The page is
+ * marked with an entity tag and the time of the last change of the data which it is built from; both are given
+ * without database, so a request of the page which the browser already has is answered with
+ * <i>304 Not Modified</i> before the command is executed.
+ */
+public interface ConditionalCommand extends BasicCommand {
+
+    /**
+     * This method gives the entity tag of the page of request, built from the versions of the data.
+     *
+     * @param request       - request which will be processed.
+     * @return              - the entity tag of the page.
+     */
+    String getEntityTag(HttpServletRequest request);
+
+    /**
+     * This method gives the time of the last change of the data which the page of request is built from.
+     *
+     * @param request       - request which will be processed.
+     * @return              - the time in milliseconds.
+     */
+    long getLastModified(HttpServletRequest request);
+}
@@ -0,0 +1,32 @@
+package by.htp.hermanovich.airline.commands;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Description: This interface describes a command which writes the response itself instead of directing
+ * the user to a page, for example a command which answers the scripts of the pages with JSON.
+ */
+public interface ResponseCommand extends BasicCommand {
+
+    /**
+     * The basic method for all implementations of the interface.
+     *
+     * @param request       - request which will be processed;
+     * @param response      - response which the result is written to.
+     * @throws IOException
+     */
+    void execute(HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+    /**
+     * The command writes the response itself, so it has no page.
+     *
+     * @param request       - request which will be processed.
+     * @return              - <i>null</i>.
+     */
+    @Override
+    default String execute(HttpServletRequest request) {
+        return null;
+    }
+}
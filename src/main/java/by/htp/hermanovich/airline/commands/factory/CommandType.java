@@ -4,8 +4,14 @@ import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.commands.implementations.DefaultCommand;
 import by.htp.hermanovich.airline.commands.implementations.user.*;
 import by.htp.hermanovich.airline.commands.implementations.aircraft.CreateAircraftCommand;
+import by.htp.hermanovich.airline.commands.implementations.api.FlightsApiCommand;
+import by.htp.hermanovich.airline.commands.implementations.api.MetricsCommand;
+import by.htp.hermanovich.airline.commands.implementations.api.ReferenceDataApiCommand;
+import by.htp.hermanovich.airline.commands.implementations.api.TicketsApiCommand;
 import by.htp.hermanovich.airline.commands.implementations.airport.CreateAirportCommand;
+import by.htp.hermanovich.airline.commands.implementations.airport.FindAirportsCommand;
 import by.htp.hermanovich.airline.commands.implementations.flight.CreateFlightCommand;
+import by.htp.hermanovich.airline.commands.implementations.flight.NextFlightsCommand;
 import by.htp.hermanovich.airline.commands.implementations.flight.ShowFlightsCommand;
 import by.htp.hermanovich.airline.commands.implementations.luggage.CreateLuggageCommand;
 import by.htp.hermanovich.airline.commands.implementations.luggage.DeleteLuggageCommand;
@@ -28,25 +34,48 @@ public enum CommandType {
     CREATELUGGAGE, UPDATELUGGAGE, DELETELUGGAGE,
 
     /*airport commands*/
-    CREATEAIRPORT,
+    CREATEAIRPORT, FINDAIRPORTS,
 
     /*aircraft command*/
     CREATEAIRCRAFT,
 
     /*flight commands*/
-    CREATEFLIGHT, SHOWFLIGHTS,
+    CREATEFLIGHT, SHOWFLIGHTS, NEXTFLIGHTS,
 
     /*ticket commands*/
-    CREATETICKET, SHOWTICKETS, RETURNTICKET;
+    CREATETICKET, SHOWTICKETS, RETURNTICKET,
+
+    /*api commands*/
+    APIFLIGHTS, APITICKETS, APIREFERENCEDATA, METRICS;
+
+    private static final CommandType[] TYPES = values();
+
+    /**
+     * This method finds the type of command by its name ignoring the case. Unlike <i>valueOf()</i> it neither
+     * converts the name nor throws an exception, so a wrong command from request costs nothing.
+     *
+     * @param name  - the name of the command, the value of the parameter "command" from request.
+     * @return      - the type of command or <i>null</i> if there is no command with the name.
+     */
+    public static CommandType fromName(String name) {
+        for (CommandType type : TYPES) {
+            String typeName = type.name();
+            if (typeName.length() == name.length() && typeName.regionMatches(true, 0, name, 0, name.length())) {
+                return type;
+            }
+        }
+        return null;
+    }
 
     /**
-     * This method directs the control to the corresponding class. The transfer of the control to the corresponding class
+     * This method creates the class which the control is directed to. The transfer of the control to the corresponding class
      * is carried out by determining the value of the parameter "command" from request. The current request is generated
-     * from the "form" placed on the jsp page.
+     * from the "form" placed on the jsp page. The commands are stateless, so every command is created once
+     * by the {@link CommandsFactory} and is shared by all requests.
      *
-     * @return      - the current class will be processed.
+     * @return      - the class which processes the command.
      */
-    public BasicCommand getCurrentCommand() {
+    BasicCommand createCommand() {
         switch (this) {
             case LOGIN:
                 return new LoginCommand();
@@ -68,18 +97,30 @@ public enum CommandType {
                 return new UpdateLuggageCommand();
             case CREATEAIRPORT:
                 return new CreateAirportCommand();
+            case FINDAIRPORTS:
+                return new FindAirportsCommand();
             case CREATEAIRCRAFT:
                 return new CreateAircraftCommand();
             case CREATEFLIGHT:
                 return new CreateFlightCommand();
             case SHOWFLIGHTS:
                 return new ShowFlightsCommand();
+            case NEXTFLIGHTS:
+                return new NextFlightsCommand();
             case CREATETICKET:
                 return new CreateTicketCommand();
             case SHOWTICKETS:
                 return new ShowTicketsCommand();
             case RETURNTICKET:
                 return new ReturnTicketCommand();
+            case APIFLIGHTS:
+                return new FlightsApiCommand();
+            case APITICKETS:
+                return new TicketsApiCommand();
+            case APIREFERENCEDATA:
+                return new ReferenceDataApiCommand();
+            case METRICS:
+                return new MetricsCommand();
             case DEFAULT:
                 return new DefaultCommand();
             default:
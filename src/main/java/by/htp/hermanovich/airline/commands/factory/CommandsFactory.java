@@ -3,11 +3,17 @@ package by.htp.hermanovich.airline.commands.factory;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
 import org.apache.log4j.Logger;
 import javax.servlet.http.HttpServletRequest;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Description: This class generates commands.
+ * Description: This class keeps the registry of commands. Every command is a stateless instance which is created once
+ * and is shared by all requests, so defining a command allocates nothing. The number of invocations is counted
+ * for every command.
  *
  * Created by Yauheni Hermanovich on 14.07.2017.
  */
@@ -15,7 +21,14 @@ public class CommandsFactory {
     private static final Logger logger = Logger.getLogger(CommandsFactory.class);
     private volatile static CommandsFactory instance;
 
+    private final EnumMap<CommandType, BasicCommand> commands = new EnumMap<>(CommandType.class);
+    private final EnumMap<CommandType, LongAdder> invocations = new EnumMap<>(CommandType.class);
+
     public CommandsFactory() {
+        for (CommandType commandType : CommandType.values()) {
+            commands.put(commandType, commandType.createCommand());
+            invocations.put(commandType, new LongAdder());
+        }
     }
 
     /**
@@ -35,20 +48,41 @@ public class CommandsFactory {
     }
 
     /**
-     * This method generate a particular command to business logic.
+     * This method defines the type of command of request. An unknown command is replaced with the default one.
      *
      * @param request   - an object of request from a client.
-     * @return          - a particular command that will be executed.
+     * @return          - the type of command that will be executed.
+     */
+    public CommandType defineCommandType(HttpServletRequest request) {
+        CommandType commandType = RequestParameterIdentifier.getCommandFromRequest(request);
+        if (commandType == null) {
+            logger.error(MessageConstants.WRONG_COMMAND + " " + request.getParameter(Parameters.COMMAND));
+            commandType = CommandType.DEFAULT;
+        }
+        invocations.get(commandType).increment();
+        return commandType;
+    }
+
+    /**
+     * This method gives a particular command to business logic.
+     *
+     * @param commandType   - the type of command.
+     * @return              - a particular command that will be executed.
+     */
+    public BasicCommand getCommand(CommandType commandType) {
+        return commands.get(commandType);
+    }
+
+    /**
+     * This method gives the number of invocations of every command since the application has been started.
+     *
+     * @return          - a map where the key is the type of command and the value is the number of invocations.
      */
-    public BasicCommand defineCommand(HttpServletRequest request) {
-        BasicCommand currentCommand;
-        try {
-            CommandType commandType = RequestParameterIdentifier.getCommandFromRequest(request);
-            currentCommand = commandType.getCurrentCommand();
-        } catch (IllegalArgumentException e) {
-            logger.error(MessageConstants.WRONG_COMMAND, e);
-            currentCommand  = CommandType.DEFAULT.getCurrentCommand();
+    public Map<CommandType, Long> getInvocations() {
+        EnumMap<CommandType, Long> counts = new EnumMap<>(CommandType.class);
+        for (Map.Entry<CommandType, LongAdder> invocation : invocations.entrySet()) {
+            counts.put(invocation.getKey(), invocation.getValue().sum());
         }
-        return currentCommand;
+        return counts;
     }
-}
\ No newline at end of file
+}
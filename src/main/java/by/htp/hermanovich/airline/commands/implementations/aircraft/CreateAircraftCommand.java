@@ -1,5 +1,6 @@
 package by.htp.hermanovich.airline.commands.implementations.aircraft;
 
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.dao.services.AircraftService;
@@ -33,6 +34,7 @@ public class CreateAircraftCommand implements BasicCommand {
         try {
             if (AircraftService.getInstance().isUniqueAircraft(aircraft)) {
                 AircraftService.getInstance().createAircraft(aircraft);
+                ReferenceDataCache.getInstance().invalidateAircrafts();
                 request.getSession().setAttribute(Parameters.AIRCRAFT_ADD_SUCCESS, Parameters.TRUE);
                 page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ADMIN_PAGE_PATH);
             } else {
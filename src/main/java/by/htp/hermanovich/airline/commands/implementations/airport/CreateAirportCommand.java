@@ -1,5 +1,6 @@
 package by.htp.hermanovich.airline.commands.implementations.airport;
 
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
@@ -33,6 +34,7 @@ public class CreateAirportCommand implements BasicCommand {
         try {
             if (AirportService.getInstance().isUniqueAirport(airport)) {
                 AirportService.getInstance().createAirport(airport);
+                ReferenceDataCache.getInstance().invalidateAirports();
                 request.getSession().setAttribute(Parameters.AIRPORT_ADD_SUCCESS, Parameters.TRUE);
                 page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ADMIN_PAGE_PATH);
             } else {
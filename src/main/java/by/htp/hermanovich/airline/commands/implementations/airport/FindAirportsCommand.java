@@ -0,0 +1,58 @@
+package by.htp.hermanovich.airline.commands.implementations.airport;
+
+import by.htp.hermanovich.airline.commands.ResponseCommand;
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.services.AirportService;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import by.htp.hermanovich.airline.utils.json.JsonWriter;
+import org.apache.log4j.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Description: This class describes actions to find the airports for the autocomplete of the search form.
+ * The airports are written to the response as a JSON array of objects with the code, the name and the city.
+ */
+public class FindAirportsCommand implements ResponseCommand {
+    private static final Logger logger = Logger.getLogger(FindAirportsCommand.class);
+
+    /**
+     * This method finds the airports whose code, a word of the name or a word of the city starts with the prefix
+     * from request and writes them to the response.
+     *
+     * @param request       - request which will be processed;
+     * @param response      - response which the airports are written to.
+     * @throws IOException
+     */
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int limit = Integer.parseInt(ConfigManagerApp.getInstance().getProperty(ConfigConstant.AIRPORT_AUTOCOMPLETE_RESULTS_MAX));
+        List<Airport> airports;
+        try {
+            airports = AirportService.getInstance().findAirportsByPrefix(request.getParameter(Parameters.AIRPORT_PREFIX), limit);
+        } catch (SQLException e) {
+            logger.error(MessageConstants.DATABASE_ACCESS_ERROR, e);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, MessageConstants.DATABASE_ACCESS_ERROR);
+            return;
+        }
+        response.setContentType(Parameters.JSON_CONTENT_TYPE);
+        JsonWriter json = new JsonWriter(response.getWriter());
+        json.beginArray();
+        for (Airport airport : airports) {
+            json.beginObject()
+                    .name("code").value(airport.getAirportCode())
+                    .name("name").value(airport.getAirportName())
+                    .name("city").value(airport.getCity())
+                    .endObject();
+        }
+        json.endArray();
+        json.flush();
+    }
+}
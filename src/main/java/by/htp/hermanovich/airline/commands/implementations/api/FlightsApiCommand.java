@@ -0,0 +1,118 @@
+package by.htp.hermanovich.airline.commands.implementations.api;
+
+import by.htp.hermanovich.airline.commands.ResponseCommand;
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.RowHandler;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.services.FlightService;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
+import by.htp.hermanovich.airline.utils.json.EntityJsonWriter;
+import by.htp.hermanovich.airline.utils.json.JsonWriter;
+import org.apache.log4j.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.HashMap;
+
+/**
+ * Description: This class describes the JSON search of flights for the partner and the mobile clients.
+ * The flights are written to the response one by one as they are found, so the result is never kept in memory
+ * as a whole. The response is an object with the array of flights and the cursor of the next page, which is
+ * <i>null</i> on the last page. The response is marked with an entity tag of the versions of the flights
+ * and of the seats, so a client which polls the search receives <i>304 Not Modified</i> until they change.
+ */
+public class FlightsApiCommand implements ResponseCommand {
+    private static final Logger logger = Logger.getLogger(FlightsApiCommand.class);
+
+    /**
+     * This method writes one page of the flights of the search from request to the response.
+     *
+     * @param request       - request which will be processed;
+     * @param response      - response which the flights are written to.
+     * @throws IOException
+     */
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HashMap<String, String> searchConditions = RequestParameterIdentifier.getFlightInfoFromRequest(request);
+        if (!RequestParameterIdentifier.isValidFlightSearch(searchConditions)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, MessageConstants.API_INVALID_SEARCH);
+            return;
+        }
+        DataVersion dataVersion = DataVersion.getInstance();
+        String entityTag = ConditionalGet.entityTag(dataVersion.getEpoch(),
+                dataVersion.get(DataVersion.Domain.FLIGHTS), dataVersion.get(DataVersion.Domain.SEATS));
+        if (ConditionalGet.isNotModified(request, response, entityTag, false)) {
+            return;
+        }
+        ConfigManagerApp config = ConfigManagerApp.getInstance();
+        int limit = RequestParameterIdentifier.getLimitFromRequest(request,
+                Integer.parseInt(config.getProperty(ConfigConstant.API_FLIGHTS_LIMIT_DEFAULT)),
+                Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_SEARCH_ROWS_MAX)));
+        Flight cursor = RequestParameterIdentifier.getCursorFromRequest(request);
+        response.setContentType(Parameters.JSON_CONTENT_TYPE);
+        JsonWriter json = new JsonWriter(response.getWriter());
+        FlightsWriter flightsWriter = new FlightsWriter(json, limit);
+        json.beginObject().name("flights").beginArray();
+        try {
+            FlightService.getInstance().streamFlights(searchConditions, cursor.getSheduledDeparture(), cursor.getId(),
+                    limit + 1, flightsWriter);
+        } catch (SQLException e) {
+            logger.error(MessageConstants.DATABASE_ACCESS_ERROR, e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, MessageConstants.DATABASE_ACCESS_ERROR);
+            }
+            return;
+        }
+        json.endArray().name("nextCursor");
+        if (flightsWriter.hasNextPage) {
+            json.beginObject()
+                    .name(Parameters.CURSOR_DATE).value(String.valueOf(flightsWriter.lastDate))
+                    .name(Parameters.CURSOR_ID).value(flightsWriter.lastId)
+                    .endObject();
+        } else {
+            json.nullValue();
+        }
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * Description: The receiver of the flights which writes the flights of the page and remembers the last one.
+     * One flight more than the page is asked to know if there is the next page; it is not written.
+     */
+    private static final class FlightsWriter implements RowHandler<Flight> {
+        private final JsonWriter json;
+        private final int limit;
+        private final FlightService flightService = FlightService.getInstance();
+        private int count;
+        private boolean hasNextPage;
+        private Date lastDate;
+        private int lastId;
+
+        FlightsWriter(JsonWriter json, int limit) {
+            this.json = json;
+            this.limit = limit;
+        }
+
+        @Override
+        public void handle(Flight flight) throws IOException {
+            if (count == limit) {
+                hasNextPage = true;
+                return;
+            }
+            EntityJsonWriter.writeFlight(json, flight, flightService.getAvailableSeats(flight));
+            lastDate = flight.getSheduledDeparture();
+            lastId = flight.getId();
+            count++;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package by.htp.hermanovich.airline.commands.implementations.api;
+
+import by.htp.hermanovich.airline.commands.ResponseCommand;
+import by.htp.hermanovich.airline.commands.factory.CommandType;
+import by.htp.hermanovich.airline.commands.factory.CommandsFactory;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.cache.FlightSearchCache;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
+import by.htp.hermanovich.airline.entities.User;
+import by.htp.hermanovich.airline.entities.UserType;
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestExecutor;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.metrics.PrometheusWriter;
+import by.htp.hermanovich.airline.utils.pool.ConnectionPool;
+import by.htp.hermanovich.airline.utils.pool.StatementCache;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Description: This class describes the metrics of the application in the text format of Prometheus:
+ * the latencies and the errors of the commands, of the methods of the services, of the stages of the booking
+ * and of the queries, the invocations of the commands and the state of the request executor, of the units of work,
+ * of the connection pool and of the caches.
+ * Prometheus scrapes the metrics from <i>/controller?command=metrics</i> in the session of an administrator.
+ */
+public class MetricsCommand implements ResponseCommand {
+
+    /**
+     * This method writes the current values of the metrics to the response.
+     *
+     * @param request       - request which will be processed;
+     * @param response      - response which the metrics are written to.
+     * @throws IOException
+     */
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User user = RequestParameterIdentifier.getUserFromSession(request);
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, MessageConstants.API_NOT_AUTHORIZED);
+            return;
+        }
+        if (user.getUserType() != UserType.ADMIN) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, MessageConstants.API_NOT_ADMIN);
+            return;
+        }
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        RequestExecutor requestExecutor = RequestExecutor.getInstance();
+        ConnectionPool pool = ConnectionPool.getInstance();
+        FlightSearchCache searchCache = FlightSearchCache.getInstance();
+        Map<String, Long> invocations = new TreeMap<>();
+        for (Map.Entry<CommandType, Long> invocation : CommandsFactory.getInstance().getInvocations().entrySet()) {
+            invocations.put(invocation.getKey().name(), invocation.getValue());
+        }
+        Map<String, Long> referenceDataHits = new TreeMap<>();
+        Map<String, Long> referenceDataMisses = new TreeMap<>();
+        for (Map.Entry<String, ReferenceDataCache.Statistics> table
+                : ReferenceDataCache.getInstance().getStatistics().entrySet()) {
+            referenceDataHits.put(table.getKey(), table.getValue().getHits());
+            referenceDataMisses.put(table.getKey(), table.getValue().getMisses());
+        }
+        response.setContentType(Parameters.PROMETHEUS_CONTENT_TYPE);
+        response.setHeader(Parameters.HEADER_CACHE_CONTROL, Parameters.CACHE_CONTROL_NO_STORE);
+        PrometheusWriter metrics = new PrometheusWriter(response.getWriter());
+        metrics.summaries("airline_command", "the commands", "command", registry.getCommandLatencies())
+                .metric("airline_command_invocations_total", "Invocations of the commands.", "counter", "command",
+                        invocations)
+                .summaries("airline_service", "the methods of the services", "method",
+                        registry.getServiceLatencies())
+                .summaries("airline_booking_stage", "the stages of the booking", "stage",
+                        registry.getStageLatencies())
+                .summaries("airline_query", "the queries", "query", registry.getQueryLatencies())
+                .metric("airline_requests_rejected_total", "Requests rejected because the queue was full.",
+                        "counter", requestExecutor.getRejectedRequests())
+                .metric("airline_requests_timed_out_total", "Requests which have not been processed in time.",
+                        "counter", requestExecutor.getTimedOutRequests())
+                .metric("airline_requests_queued", "Requests waiting for a thread.",
+                        "gauge", requestExecutor.getQueuedRequests())
+                .metric("airline_request_threads_active", "Threads executing commands.",
+                        "gauge", requestExecutor.getActiveThreads())
+                .metric("airline_units_of_work_total", "Units of work which have been started.",
+                        "counter", UnitOfWork.getTotalUnits())
+                .metric("airline_units_of_work_connections_total", "Connections taken by the units of work.",
+                        "counter", UnitOfWork.getTotalConnections())
+                .metric("airline_units_of_work_transactions_total", "Transactions started by the units of work.",
+                        "counter", UnitOfWork.getTotalTransactions())
+                .metric("airline_pool_connections", "Connections of the pool.", "gauge", pool.getTotalConnections())
+                .metric("airline_pool_connections_idle", "Idle connections of the pool.",
+                        "gauge", pool.getIdleConnections())
+                .metric("airline_pool_connections_max", "Maximum size of the pool.", "gauge", pool.getMaxSize())
+                .metric("airline_statement_cache_hits_total", "Reused prepared statements.",
+                        "counter", StatementCache.getHits())
+                .metric("airline_statement_cache_misses_total", "Prepared statements.",
+                        "counter", StatementCache.getMisses())
+                .metric("airline_search_cache_hits_total", "Flight searches answered by the cache.",
+                        "counter", searchCache.getHits())
+                .metric("airline_search_cache_misses_total", "Flight searches executed by database.",
+                        "counter", searchCache.getMisses())
+                .metric("airline_reference_data_hits_total", "Lookups answered by the reference data cache.",
+                        "counter", "table", referenceDataHits)
+                .metric("airline_reference_data_misses_total", "Lookups which the reference data cache could not answer.",
+                        "counter", "table", referenceDataMisses)
+                .flush();
+    }
+}
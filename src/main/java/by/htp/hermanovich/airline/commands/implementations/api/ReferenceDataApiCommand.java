@@ -0,0 +1,58 @@
+package by.htp.hermanovich.airline.commands.implementations.api;
+
+import by.htp.hermanovich.airline.commands.ResponseCommand;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataSnapshot;
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Luggage;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
+import by.htp.hermanovich.airline.utils.json.EntityJsonWriter;
+import by.htp.hermanovich.airline.utils.json.JsonWriter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Description: This class describes the JSON reference data: the airports, the aircrafts and the types of luggage.
+ * The data is written from the current snapshot of the {@link ReferenceDataCache} and the response is marked with
+ * an entity tag of the version of the snapshot.
+ */
+public class ReferenceDataApiCommand implements ResponseCommand {
+
+    /**
+     * This method writes the current snapshot of the reference data to the response.
+     *
+     * @param request       - request which will be processed;
+     * @param response      - response which the reference data is written to.
+     * @throws IOException
+     */
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ReferenceDataSnapshot snapshot = ReferenceDataCache.getInstance().getSnapshot();
+        String entityTag = ConditionalGet.entityTag(DataVersion.getInstance().getEpoch(), snapshot.getVersion());
+        if (ConditionalGet.isNotModified(request, response, entityTag, false)) {
+            return;
+        }
+        response.setContentType(Parameters.JSON_CONTENT_TYPE);
+        JsonWriter json = new JsonWriter(response.getWriter());
+        json.beginObject().name("version").value(snapshot.getVersion());
+        json.name("airports").beginArray();
+        for (Airport airport : snapshot.getAirports()) {
+            EntityJsonWriter.writeAirport(json, airport);
+        }
+        json.endArray().name("aircrafts").beginArray();
+        for (Aircraft aircraft : snapshot.getAircrafts()) {
+            EntityJsonWriter.writeAircraft(json, aircraft);
+        }
+        json.endArray().name("luggageTypes").beginArray();
+        for (Luggage luggage : snapshot.getLuggageTypes()) {
+            EntityJsonWriter.writeLuggage(json, luggage);
+        }
+        json.endArray().endObject();
+        json.flush();
+    }
+}
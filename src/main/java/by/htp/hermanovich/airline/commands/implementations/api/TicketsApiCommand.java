@@ -0,0 +1,64 @@
+package by.htp.hermanovich.airline.commands.implementations.api;
+
+import by.htp.hermanovich.airline.commands.ResponseCommand;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.services.TicketService;
+import by.htp.hermanovich.airline.entities.User;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
+import by.htp.hermanovich.airline.utils.json.EntityJsonWriter;
+import by.htp.hermanovich.airline.utils.json.JsonWriter;
+import org.apache.log4j.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Description: This class describes the JSON list of the tickets of the user who has logged in. The tickets
+ * are written to the response row by row as they are read from database. The response is marked with an entity tag
+ * of the version of the tickets and is kept only by the cache of the user.
+ */
+public class TicketsApiCommand implements ResponseCommand {
+    private static final Logger logger = Logger.getLogger(TicketsApiCommand.class);
+
+    /**
+     * This method writes the array of the user's tickets to the response.
+     *
+     * @param request       - request which will be processed;
+     * @param response      - response which the tickets are written to.
+     * @throws IOException
+     */
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User user = RequestParameterIdentifier.getUserFromSession(request);
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, MessageConstants.API_NOT_AUTHORIZED);
+            return;
+        }
+        DataVersion dataVersion = DataVersion.getInstance();
+        String entityTag = ConditionalGet.entityTag(dataVersion.getEpoch(), user.getId(),
+                dataVersion.get(DataVersion.Domain.TICKETS));
+        if (ConditionalGet.isNotModified(request, response, entityTag, true)) {
+            return;
+        }
+        response.setContentType(Parameters.JSON_CONTENT_TYPE);
+        final JsonWriter json = new JsonWriter(response.getWriter());
+        json.beginArray();
+        try {
+            TicketService.getInstance().streamTickets(user, ticket -> EntityJsonWriter.writeTicket(json, ticket));
+        } catch (SQLException e) {
+            logger.error(MessageConstants.DATABASE_ACCESS_ERROR, e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, MessageConstants.DATABASE_ACCESS_ERROR);
+            }
+            return;
+        }
+        json.endArray();
+        json.flush();
+    }
+}
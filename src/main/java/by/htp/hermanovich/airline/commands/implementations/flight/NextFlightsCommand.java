@@ -0,0 +1,70 @@
+package by.htp.hermanovich.airline.commands.implementations.flight;
+
+import by.htp.hermanovich.airline.commands.ConditionalCommand;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.constants.PathPageConstants;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.services.FlightService;
+import by.htp.hermanovich.airline.managers.ConfigManagerPages;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
+import org.apache.log4j.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import java.sql.SQLException;
+
+/**
+ * Description: This class describes actions to show the next page of the flights of the search. It is also the page
+ * which the browser is redirected to after a ticket has been booked from the page.
+ */
+public class NextFlightsCommand implements ConditionalCommand {
+    private static final Logger logger = Logger.getLogger(NextFlightsCommand.class);
+
+    /**
+     * The method describes workflow of the actions to show the next page of the flights. The search conditions,
+     * the filters and the cursor of the page are taken from request: the page starts after the flight with the date
+     * of departure, the price and the id of the cursor in the order of the filter. A request without a cursor
+     * gives the first page, so the same command applies a new filter or order.
+     *
+     * @param request - request which will be processed.
+     * @return - a page which user will be directed to.
+     */
+    @Override
+    public String execute(HttpServletRequest request) {
+        String page = null;
+        try {
+            request.setAttribute(Parameters.FLIGHTS_PAGE, FlightService.getInstance().identifySearchContext(
+                    RequestParameterIdentifier.getFlightInfoFromRequest(request),
+                    RequestParameterIdentifier.getFlightFilterFromRequest(request),
+                    RequestParameterIdentifier.getCursorFromRequest(request)));
+            page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.FLIGHTS_PAGE_PATH);
+        } catch (SQLException e) {
+            page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ERROR_PAGE_PATH);
+            request.setAttribute(Parameters.ERROR_DATABASE, MessageConstants.DATABASE_ACCESS_ERROR);
+            logger.error(MessageConstants.DATABASE_ACCESS_ERROR);
+        }
+        return page;
+    }
+
+    /**
+     * The page of the flights depends on the flights, the seats, the tickets and the reference data (the luggage
+     * types and their prices), and on the user of the session.
+     *
+     * @param request - request which will be processed.
+     * @return - the entity tag of the page.
+     */
+    @Override
+    public String getEntityTag(HttpServletRequest request) {
+        DataVersion dataVersion = DataVersion.getInstance();
+        return ConditionalGet.entityTag(dataVersion.getEpoch(), dataVersion.get(DataVersion.Domain.FLIGHTS),
+                dataVersion.get(DataVersion.Domain.SEATS), dataVersion.get(DataVersion.Domain.TICKETS),
+                dataVersion.get(DataVersion.Domain.REFERENCE_DATA), RequestParameterIdentifier.getUserIdFromSession(request));
+    }
+
+    @Override
+    public long getLastModified(HttpServletRequest request) {
+        return DataVersion.getInstance().getLastModified(DataVersion.Domain.FLIGHTS, DataVersion.Domain.SEATS,
+                DataVersion.Domain.TICKETS, DataVersion.Domain.REFERENCE_DATA);
+    }
+}
@@ -1,32 +1,40 @@
 package by.htp.hermanovich.airline.commands.implementations.flight;
 
-import by.htp.hermanovich.airline.commands.BasicCommand;
+import by.htp.hermanovich.airline.commands.ConditionalCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
 import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
 import by.htp.hermanovich.airline.constants.MessageConstants;
 import by.htp.hermanovich.airline.constants.PathPageConstants;
 import by.htp.hermanovich.airline.dao.services.FlightService;
-import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.FlightsPage;
 import org.apache.log4j.Logger;
 import javax.servlet.http.HttpServletRequest;
+import java.sql.Date;
 import java.sql.SQLException;
 import java.util.HashMap;
-import java.util.List;
 
 /**
- * Description: This class describes actions to show all flights from database table.
+ * Description: This class describes actions to show all flights from database table. The search is sent by GET,
+ * so the page of the search can be kept by the browser and is revalidated by the versions of the data.
  *
  * Created by Yauheni Hermanovich on 21.07.2017.
  */
-public class ShowFlightsCommand implements BasicCommand {
+public class ShowFlightsCommand implements ConditionalCommand {
     private static final Logger logger = Logger.getLogger(ShowFlightsCommand.class);
 
     /**
      * The describes workflow of the actions to show all flights for the client on the client's page.
      * The method workflow has the following steps:
      *      - a map of search conditions with corresponding values is filled from request;
-     *      -
+     *      - the first page of the flights is found by the search context of the conditions;
+     *      - if the client has chosen flexible dates for the route and the date, a calendar of the cheapest
+     *          fares around the date is built as well;
+     *      - if the client has asked for connections, the itineraries with stops are found as well;
+     *      - if the client has chosen the date of the return flight, the cheapest round trips are found as well.
+     * The results are passed to the page by the request, so the session keeps no search results.
      *
      * @param request - request which will be processed.
      * @return - a page which user will be directed to.
@@ -36,8 +44,32 @@ public class ShowFlightsCommand implements BasicCommand {
         String page = null;
         HashMap<String, String> searchConditions = RequestParameterIdentifier.getFlightInfoFromRequest(request);
         try {
-            List<Flight> flightsList = FlightService.getInstance().identifySearchContext(searchConditions);
-            request.getSession().setAttribute(Parameters.FLIGHTS_LIST, flightsList);
+            request.setAttribute(Parameters.FLIGHTS_PAGE, FlightService.getInstance().identifySearchContext(
+                    searchConditions, RequestParameterIdentifier.getFlightFilterFromRequest(request),
+                    FlightsPage.cursorOf(FlightsPage.FIRST_PAGE_DATE, FlightsPage.FIRST_PAGE_PRICE, FlightsPage.FIRST_PAGE_ID)));
+            String flexibleDates = request.getParameter(Parameters.FLEXIBLE_DATES);
+            if (isFlexibleDates(flexibleDates)
+                    && searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
+                    && searchConditions.containsKey(Parameters.ARRIVAL_FOR_FLIGHT)
+                    && searchConditions.containsKey(Parameters.DATE_OF_FLIGHT)) {
+                request.setAttribute(Parameters.FARE_CALENDAR,
+                        FlightService.getInstance().getFareCalendar(searchConditions, flexibleDates));
+            }
+            if (Parameters.TRUE.equals(request.getParameter(Parameters.WITH_CONNECTIONS))
+                    && searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
+                    && searchConditions.containsKey(Parameters.ARRIVAL_FOR_FLIGHT)
+                    && searchConditions.containsKey(Parameters.DATE_OF_FLIGHT)) {
+                request.setAttribute(Parameters.CONNECTIONS_LIST,
+                        FlightService.getInstance().findConnections(searchConditions));
+            }
+            Date returnDate = RequestParameterIdentifier.getReturnDateFromRequest(request);
+            if (returnDate != null
+                    && searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
+                    && searchConditions.containsKey(Parameters.ARRIVAL_FOR_FLIGHT)
+                    && searchConditions.containsKey(Parameters.DATE_OF_FLIGHT)) {
+                request.setAttribute(Parameters.ROUND_TRIPS_LIST,
+                        FlightService.getInstance().findRoundTrips(searchConditions, returnDate));
+            }
             page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.FLIGHTS_PAGE_PATH);
         } catch (SQLException e) {
             page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ERROR_PAGE_PATH);
@@ -46,4 +78,30 @@ public class ShowFlightsCommand implements BasicCommand {
         }
         return page;
     }
+
+    /**
+     * The page of the flights depends on the flights, the seats, the tickets and the reference data (the luggage
+     * types and their prices), and on the user of the session.
+     *
+     * @param request - request which will be processed.
+     * @return - the entity tag of the page.
+     */
+    @Override
+    public String getEntityTag(HttpServletRequest request) {
+        DataVersion dataVersion = DataVersion.getInstance();
+        return ConditionalGet.entityTag(dataVersion.getEpoch(), dataVersion.get(DataVersion.Domain.FLIGHTS),
+                dataVersion.get(DataVersion.Domain.SEATS), dataVersion.get(DataVersion.Domain.TICKETS),
+                dataVersion.get(DataVersion.Domain.REFERENCE_DATA), RequestParameterIdentifier.getUserIdFromSession(request));
+    }
+
+    @Override
+    public long getLastModified(HttpServletRequest request) {
+        return DataVersion.getInstance().getLastModified(DataVersion.Domain.FLIGHTS, DataVersion.Domain.SEATS,
+                DataVersion.Domain.TICKETS, DataVersion.Domain.REFERENCE_DATA);
+    }
+
+    private boolean isFlexibleDates(String flexibleDates) {
+        return flexibleDates != null
+                && (Parameters.FLEXIBLE_DATES_MONTH.equals(flexibleDates) || flexibleDates.matches("[1-7]"));
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package by.htp.hermanovich.airline.commands.implementations.luggage;
 
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
@@ -34,6 +35,7 @@ public class CreateLuggageCommand implements BasicCommand {
         try {
             if (LuggageService.getInstance().isUniqueLuggage(luggage)) {
                 LuggageService.getInstance().addLuggage(luggage);
+                ReferenceDataCache.getInstance().invalidateLuggage();
                 request.getSession().setAttribute(Parameters.LUGGAGE_ADD_SUCCESS, Parameters.TRUE);
                 page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ADMIN_PAGE_PATH);
             } else {
@@ -1,5 +1,6 @@
 package by.htp.hermanovich.airline.commands.implementations.luggage;
 
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.dao.services.LuggageService;
@@ -33,6 +34,7 @@ public class DeleteLuggageCommand implements BasicCommand {
         try {
             luggage = LuggageService.getInstance().getLuggageFromDB(luggage);
             LuggageService.getInstance().deleteLuggage(luggage);
+            ReferenceDataCache.getInstance().invalidateLuggage();
             request.getSession().setAttribute(Parameters.LUGGAGE_DELETE_SUCCESS, Parameters.TRUE);
             page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ADMIN_PAGE_PATH);
         } catch (SQLException e) {
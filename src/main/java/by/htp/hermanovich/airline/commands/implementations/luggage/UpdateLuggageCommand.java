@@ -1,5 +1,6 @@
 package by.htp.hermanovich.airline.commands.implementations.luggage;
 
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
@@ -34,6 +35,7 @@ public class UpdateLuggageCommand implements BasicCommand {
             luggage = LuggageService.getInstance().getLuggageFromDB(luggage);
             luggage = RequestParameterIdentifier.updateLuggageFromRequest(luggage, request);
             LuggageService.getInstance().updateLuggage(luggage);
+            ReferenceDataCache.getInstance().invalidateLuggage();
             request.getSession().setAttribute(Parameters.LUGGAGE_UPDATE_SUCCESS, Parameters.TRUE);
             page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ADMIN_PAGE_PATH);
         } catch (SQLException e) {
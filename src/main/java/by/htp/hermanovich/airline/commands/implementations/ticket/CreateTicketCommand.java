@@ -3,7 +3,6 @@ package by.htp.hermanovich.airline.commands.implementations.ticket;
 import by.htp.hermanovich.airline.commands.BasicCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.dao.services.TicketService;
-import by.htp.hermanovich.airline.entities.Ticket;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
 import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
 import by.htp.hermanovich.airline.constants.MessageConstants;
@@ -24,20 +23,24 @@ public class CreateTicketCommand implements BasicCommand {
 
     /**
      * The method describes workflow of the actions to create the ticket to the flight.
+     * The ticket is booked for the user from the session in one transaction. Then the browser is redirected
+     * to the page of the flights which the ticket has been booked from, by the search conditions and the cursor
+     * of the page, so it shows the current number of available seats and a reload of it does not book again.
      *
      * @param request - request which will be processed.
-     * @return - a page which user will be directed to.
+     * @return - a page which user will be directed to, or <i>null</i> if the browser is redirected.
      */
     @Override
     public String execute(HttpServletRequest request) {
         String page = null;
         HashMap<String, String> ticketInfoMap = RequestParameterIdentifier.getTicketInfoFromRequest(request);
         try {
-            Ticket ticket = TicketService.getInstance().createTicket(ticketInfoMap);
-            TicketService.getInstance().addTicketToDB(ticket);
+            TicketService.getInstance().bookTicket(RequestParameterIdentifier.getUserFromSession(request),
+                    Integer.parseInt(ticketInfoMap.get(Parameters.FLIGHT_ID)),
+                    Integer.parseInt(ticketInfoMap.get(Parameters.LUGGAGE_ID)));
             request.getSession().setAttribute(Parameters.TICKET_BOOKING_SUCCESS, Parameters.TRUE);
-            page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.FLIGHTS_PAGE_PATH);
-        } catch (SQLException e) {
+            request.setAttribute(Parameters.REDIRECT_PATH, RequestParameterIdentifier.getFlightsPagePathFromRequest(request));
+        } catch (SQLException | NumberFormatException e) {
             page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ERROR_PAGE_PATH);
             request.setAttribute(Parameters.ERROR_DATABASE, MessageConstants.DATABASE_ACCESS_ERROR);
             logger.error(MessageConstants.DATABASE_ACCESS_ERROR);
@@ -21,10 +21,11 @@ public class ReturnTicketCommand implements BasicCommand {
     private static final Logger logger = Logger.getLogger(ReturnTicketCommand.class);
 
     /**
-     * This method removes an user's ticket from the database table.
+     * This method removes an user's ticket from the database table. Then the browser is redirected to the user's page,
+     * so a reload of the page does not send the ticket again.
      *
      * @param request       - request which will be processed.
-     * @return              - a page which user will be directed to.
+     * @return              - a page which user will be directed to, or <i>null</i> if the browser is redirected.
      */
     @Override
     public String execute(HttpServletRequest request) {
@@ -33,7 +34,8 @@ public class ReturnTicketCommand implements BasicCommand {
         try {
             TicketService.getInstance().deleteTicket(ticketNumber);
             request.getSession().setAttribute(Parameters.TICKET_RETURN_SUCCESS, Parameters.TRUE);
-            page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.CLIENT_PAGE_PATH);
+            request.setAttribute(Parameters.REDIRECT_PATH,
+                    ConfigManagerPages.getInstance().getProperty(PathPageConstants.CLIENT_PAGE_PATH));
         } catch (SQLException e) {
             request.setAttribute(Parameters.ERROR_DATABASE, MessageConstants.DATABASE_ACCESS_ERROR);
             page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.ERROR_PAGE_PATH);
@@ -1,8 +1,10 @@
 package by.htp.hermanovich.airline.commands.implementations.ticket;
 
-import by.htp.hermanovich.airline.commands.BasicCommand;
+import by.htp.hermanovich.airline.commands.ConditionalCommand;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
 import by.htp.hermanovich.airline.entities.User;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
 import by.htp.hermanovich.airline.utils.controllerUtils.RequestParameterIdentifier;
 import by.htp.hermanovich.airline.constants.MessageConstants;
 import by.htp.hermanovich.airline.constants.Parameters;
@@ -16,11 +18,12 @@ import java.sql.SQLException;
 import java.util.List;
 
 /**
- * Description: This class describes actions to show all user's tickets to the flights.
+ * Description: This class describes actions to show all user's tickets to the flights. The page is revalidated
+ * by the versions of the tickets and the flights, so it is read from database only after they have been changed.
  *
  * Created by Yauheni Hermanovich on 24.07.2017.
  */
-public class ShowTicketsCommand implements BasicCommand {
+public class ShowTicketsCommand implements ConditionalCommand {
     private static final Logger logger = Logger.getLogger(ShowTicketsCommand.class);
 
     /**
@@ -44,4 +47,23 @@ public class ShowTicketsCommand implements BasicCommand {
         }
         return page;
     }
+
+    /**
+     * The page of the tickets depends on the tickets and the flights, and on the user of the session.
+     *
+     * @param request       - request which will be processed.
+     * @return              - the entity tag of the page.
+     */
+    @Override
+    public String getEntityTag(HttpServletRequest request) {
+        DataVersion dataVersion = DataVersion.getInstance();
+        return ConditionalGet.entityTag(dataVersion.getEpoch(), dataVersion.get(DataVersion.Domain.TICKETS),
+                dataVersion.get(DataVersion.Domain.FLIGHTS),
+                RequestParameterIdentifier.getUserIdFromSession(request));
+    }
+
+    @Override
+    public long getLastModified(HttpServletRequest request) {
+        return DataVersion.getInstance().getLastModified(DataVersion.Domain.TICKETS, DataVersion.Domain.FLIGHTS);
+    }
 }
\ No newline at end of file
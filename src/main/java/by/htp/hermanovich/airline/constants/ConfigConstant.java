@@ -7,6 +7,47 @@ package by.htp.hermanovich.airline.constants;
 public class ConfigConstant {
     public static final String DATABASE_PROPERTIES_SOURCE = "database";
     public static final String PATHPAGES_PROPERTIES_SOURCE = "pathpages";
+    public static final String APPLICATION_PROPERTIES_SOURCE = "application";
+    public static final String DB_DRIVER = "db.classforname";
+    public static final String DB_URL = "db.url";
+    public static final String DB_USER = "db.user";
+    public static final String DB_PASSWORD = "db.password";
+    public static final String DB_POOL_MAX_SIZE = "db.pool.size.max";
+    public static final String DB_POOL_MIN_SIZE = "db.pool.size.min";
+    public static final String DB_POOL_INDEPENDENT_SIZE = "db.pool.size.independent";
+    public static final String DB_POOL_ACQUIRE_TIMEOUT = "db.pool.timeout.acquire";
+    public static final String DB_POOL_IDLE_TIMEOUT = "db.pool.timeout.idle";
+    public static final String DB_POOL_VALIDATION_TIMEOUT = "db.pool.timeout.validation";
+    public static final String DB_POOL_MAX_LIFETIME = "db.pool.lifetime.max";
+    public static final String DB_POOL_STATEMENT_CACHE_SIZE = "db.pool.statement.cache.size";
+    public static final String DB_TICKET_NUMBER_BLOCK_SIZE = "db.ticket.number.block.size";
+    public static final String DB_MIGRATION_ENABLED = "db.migration.enabled";
+    public static final String DB_MIGRATION_SCRIPTS = "db.migration.scripts";
+    public static final String DB_MIGRATION_LOCK_TIMEOUT = "db.migration.lock.timeout";
+    public static final String DB_MIGRATION_VERIFY_PLANS = "db.migration.plans.verify";
+    public static final String REFERENCE_CACHE_RETRY_PERIOD = "reference.cache.retry.period";
+    public static final String FLIGHT_SEARCH_INDEX_ENABLED = "flight.search.index.enabled";
+    public static final String FLIGHT_SEARCH_PAGE_SIZE = "flight.search.page.size";
+    public static final String FLIGHT_SEARCH_ROWS_MAX = "flight.search.rows.max";
+    public static final String FLIGHT_SEARCH_FACETS_PRICE_STEP = "flight.search.facets.price.step";
+    public static final String FLIGHT_SEARCH_CACHE_ENABLED = "flight.search.cache.enabled";
+    public static final String FLIGHT_SEARCH_CACHE_TTL = "flight.search.cache.ttl";
+    public static final String FLIGHT_SEARCH_CACHE_SIZE = "flight.search.cache.size";
+    public static final String FLIGHT_CONNECTION_DAYS_MIN = "flight.connection.days.min";
+    public static final String FLIGHT_CONNECTION_DAYS_MAX = "flight.connection.days.max";
+    public static final String FLIGHT_CONNECTION_STOPS_MAX = "flight.connection.stops.max";
+    public static final String FLIGHT_CONNECTION_RESULTS_MAX = "flight.connection.results.max";
+    public static final String FLIGHT_ROUND_TRIP_RESULTS_MAX = "flight.roundtrip.results.max";
+    public static final String AIRPORT_AUTOCOMPLETE_RESULTS_MAX = "airport.autocomplete.results.max";
+    public static final String API_FLIGHTS_LIMIT_DEFAULT = "api.flights.limit.default";
+    public static final String REQUEST_ASYNC_ENABLED = "request.async.enabled";
+    public static final String REQUEST_ASYNC_QUEUE_SIZE = "request.async.queue.size";
+    public static final String REQUEST_ASYNC_TIMEOUT = "request.async.timeout";
+    public static final String GZIP_ENABLED = "gzip.enabled";
+    public static final String GZIP_THRESHOLD = "gzip.threshold";
+    public static final String GZIP_MIME_TYPES = "gzip.mime.types";
+    public static final String STATIC_CACHE_MAX_AGE = "static.cache.max.age";
+    public static final String STATIC_CACHE_MAX_AGE_VERSIONED = "static.cache.max.age.versioned";
 
     public ConfigConstant() {
     }
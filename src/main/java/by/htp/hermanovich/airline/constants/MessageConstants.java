@@ -28,6 +28,44 @@ public class MessageConstants {
     public static final String AIRPORT_EXISTS = "Airport with this code has already existed.";
     public static final String SUCCESS_UPDATE_LUGGAGE = "Airport has been updated successfully.";
     public static final String COLUMN_IS_NOT_VALID = "The column label is not valid.";
+    public static final String POOL_TIMEOUT_ERROR = "Timeout has expired while waiting for a free connection from the pool.";
+    public static final String POOL_CLOSED_ERROR = "Connection pool has already been closed.";
+    public static final String POOL_INTERRUPTED_ERROR = "Thread was interrupted while waiting for a free connection from the pool.";
+    public static final String POOL_CONNECTION_RETURNED = "Connection has already been returned to the pool.";
+    public static final String POOL_CLOSED = "Connection pool has been closed.";
+    public static final String STATEMENT_RETURNED = "Statement has already been returned to the cache.";
+    public static final String TRANSACTION_ROLLED_BACK = "Transaction has been rolled back.";
+    public static final String UNIT_OF_WORK_NOT_ACTIVE = "Unit of work is not bound to the current thread.";
+    public static final String UNIT_OF_WORK_COMPLETED = "Unit of work completed: ";
+    public static final String BOOKING_VALIDATION_ERROR = "The user, the flight or the luggage type for the booking was not found.";
+    public static final String TICKET_NUMBERS_EXHAUSTED = "All ticket numbers have been used.";
+    public static final String TICKET_NUMBER_BLOCK_RESERVED = "Block of ticket numbers has been reserved: ";
+    public static final String CACHE_REFRESH_ERROR = "Reference data cache could not be refreshed from the database.";
+    public static final String FLIGHT_INDEX_LOADED = "Flight index has been loaded, flights: ";
+    public static final String FLIGHT_INDEX_LOAD_ERROR = "Flight index could not be loaded, the searches will be executed by the database.";
+    public static final String FLIGHT_SEARCH_INTERRUPTED = "The search has been interrupted while waiting for the same search of another request.";
+    public static final String FLIGHT_AIRCRAFT_NOT_FOUND = "The aircraft of the flight was not found.";
+    public static final String NO_AVAILABLE_SEATS = "There are no available seats to the flight.";
+    public static final String API_INVALID_SEARCH = "The search needs the departure airport with the arrival airport or a valid date.";
+    public static final String API_NOT_AUTHORIZED = "The user has not logged in.";
+    public static final String API_NOT_ADMIN = "The user is not an administrator.";
+    public static final String MIGRATION_APPLIED = "Schema migration has been applied: ";
+    public static final String MIGRATION_UP_TO_DATE = "Schema is up to date, version: ";
+    public static final String MIGRATION_ALREADY_PRESENT = "Schema change is already present, skipped: ";
+    public static final String MIGRATION_CHECKSUM_MISMATCH = "Applied schema migration has been changed since it was applied: ";
+    public static final String MIGRATION_SCRIPT_NOT_FOUND = "Schema migration script has not been found: ";
+    public static final String MIGRATION_LOCK_ERROR = "Schema migration lock could not be acquired.";
+    public static final String MIGRATION_ERROR = "Schema could not be migrated.";
+    public static final String QUERY_PLAN_FULL_SCAN = "Query reads the whole table: ";
+    public static final String QUERY_PLAN_VERIFIED = "Query plans have been verified, queries: ";
+    public static final String QUERY_PLAN_ERROR = "Query plans could not be verified.";
+    public static final String REQUEST_REJECTED = "The server is busy, the request has been rejected. Please try again later.";
+    public static final String REQUEST_QUEUE_FULL = "Request has been rejected, the queue is full, requests waiting: ";
+    public static final String REQUEST_TIMED_OUT = "The request has not been processed in time.";
+    public static final String REQUEST_PROCESSING_ERROR = "The request could not be processed.";
+    public static final String STATIC_RESOURCES_LOADED = "Versions of static resources have been computed, resources: ";
+    public static final String STATIC_RESOURCE_ERROR = "Static resource could not be read: ";
+    public static final String GZIP_FINISH_ERROR = "Compressed response could not be finished.";
 
     public MessageConstants() {
     }
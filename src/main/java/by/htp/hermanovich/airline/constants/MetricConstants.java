@@ -0,0 +1,53 @@
+package by.htp.hermanovich.airline.constants;
+
+/**
+ * Description: This class contains the names of the latency histograms of the methods of the services
+ * in the form <i>Service.method</i> and of the stages of the booking pipeline.
+ */
+public class MetricConstants {
+    public static final String AIRCRAFT_SERVICE_IS_UNIQUE_AIRCRAFT = "AircraftService.isUniqueAircraft";
+    public static final String AIRCRAFT_SERVICE_CREATE_AIRCRAFT = "AircraftService.createAircraft";
+    public static final String AIRCRAFT_SERVICE_SHOW_ALL_AIRCRAFTS = "AircraftService.showAllAircrafts";
+    public static final String AIRCRAFT_SERVICE_GET_AIRCRAFT_FROM_DB = "AircraftService.getAircraftFromDB";
+
+    public static final String AIRPORT_SERVICE_IS_UNIQUE_AIRPORT = "AirportService.isUniqueAirport";
+    public static final String AIRPORT_SERVICE_CREATE_AIRPORT = "AirportService.createAirport";
+    public static final String AIRPORT_SERVICE_SHOW_ALL_AIRPORTS = "AirportService.showAllAirports";
+    public static final String AIRPORT_SERVICE_GET_AIRPORT_FROM_DB = "AirportService.getAirportFromDB";
+    public static final String AIRPORT_SERVICE_FIND_AIRPORTS_BY_PREFIX = "AirportService.findAirportsByPrefix";
+
+    public static final String FLIGHT_SERVICE_ADD_FLIGHT_TO_DB = "FlightService.addFlightToDB";
+    public static final String FLIGHT_SERVICE_GET_FLIGHT_BY_ID = "FlightService.getFlightById";
+    public static final String FLIGHT_SERVICE_BUILD_FLIGHT_FROM_MAP = "FlightService.buildFlightFromMap";
+    public static final String FLIGHT_SERVICE_IDENTIFY_SEARCH_CONTEXT = "FlightService.identifySearchContext";
+    public static final String FLIGHT_SERVICE_STREAM_FLIGHTS = "FlightService.streamFlights";
+    public static final String FLIGHT_SERVICE_GET_FARE_CALENDAR = "FlightService.getFareCalendar";
+    public static final String FLIGHT_SERVICE_FIND_CONNECTIONS = "FlightService.findConnections";
+    public static final String FLIGHT_SERVICE_FIND_ROUND_TRIPS = "FlightService.findRoundTrips";
+
+    public static final String LUGGAGE_SERVICE_IS_UNIQUE_LUGGAGE = "LuggageService.isUniqueLuggage";
+    public static final String LUGGAGE_SERVICE_ADD_LUGGAGE = "LuggageService.addLuggage";
+    public static final String LUGGAGE_SERVICE_DELETE_LUGGAGE = "LuggageService.deleteLuggage";
+    public static final String LUGGAGE_SERVICE_GET_LUGGAGE_BY_ID = "LuggageService.getLuggageById";
+    public static final String LUGGAGE_SERVICE_GET_LUGGAGE_FROM_DB = "LuggageService.getLuggageFromDB";
+    public static final String LUGGAGE_SERVICE_SHOW_ALL_LUGGAGE_TYPES = "LuggageService.showAllLuggageTypes";
+    public static final String LUGGAGE_SERVICE_UPDATE_LUGGAGE = "LuggageService.updateLuggage";
+
+    public static final String TICKET_SERVICE_BOOK_TICKET = "TicketService.bookTicket";
+    public static final String TICKET_SERVICE_GET_TICKETS_FROM_DB = "TicketService.getTicketsFromDB";
+    public static final String TICKET_SERVICE_STREAM_TICKETS = "TicketService.streamTickets";
+    public static final String TICKET_SERVICE_DELETE_TICKET = "TicketService.deleteTicket";
+
+    public static final String BOOKING_STAGE_VALIDATE = "validate";
+    public static final String BOOKING_STAGE_PRICE = "price";
+    public static final String BOOKING_STAGE_ALLOCATE_NUMBER = "allocateNumber";
+    public static final String BOOKING_STAGE_RESERVE_SEAT = "reserveSeat";
+    public static final String BOOKING_STAGE_INSERT = "insert";
+    public static final String BOOKING_STAGE_COMMIT = "commit";
+
+    public static final String USER_SERVICE_CHECK_USER_AUTHORIZATION = "UserService.checkUserAuthorization";
+    public static final String USER_SERVICE_GET_USER_BY_LOGIN = "UserService.getUserByLogin";
+    public static final String USER_SERVICE_UPDATE_USER = "UserService.updateUser";
+    public static final String USER_SERVICE_IS_UNIQUE_USER = "UserService.isUniqueUser";
+    public static final String USER_SERVICE_REGISTER_USER = "UserService.registerUser";
+}
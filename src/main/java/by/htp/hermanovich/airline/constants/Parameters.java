@@ -41,9 +41,29 @@ public class Parameters {
     public static final String ALL_AIRPORTS = "allAirports";
     public static final String AIRCRAFT_CODE = "aircraftCode";
     public static final String AIRCRAFT_MODEL = "aircraftModel";
+    public static final String AIRCRAFT_SEATS = "aircraftSeats";
     public static final String AIRCRAFT_ADD_SUCCESS = "aircraftAddSuccess";
     public static final String AIRCRAFT_UNIQUE_ERROR = "aircraftUniqueError";
     public static final String ALL_AIRCRAFTS = "allAircrafts";
+    public static final String REFERENCE_DATA = "referenceData";
+    public static final String AIRPORT_PREFIX = "prefix";
+    public static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+    public static final String API_LIMIT = "limit";
+    public static final String HEADER_ETAG = "ETag";
+    public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    public static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    public static final String CACHE_CONTROL_NO_STORE = "no-store";
+    public static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    public static final String HEADER_EXPIRES = "Expires";
+    public static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String HEADER_VARY = "Vary";
+    public static final String GZIP_ENCODING = "gzip";
+    public static final String STATIC_RESOURCE = "staticResource";
+    public static final String STATIC_RESOURCE_VERSION = "v";
+    public static final String PROMETHEUS_CONTENT_TYPE = "text/plain;version=0.0.4;charset=UTF-8";
     public static final String AIRCRAFT_FOR_FLIGHT = "aircraftForFlight";
     public static final String FLIGHT_NUMBER_FOR_FLIGHT = "flightNumberForFlight";
     public static final String DEPARTURE_FOR_FLIGHT = "departureForFlight";
@@ -53,7 +73,20 @@ public class Parameters {
     public static final String PRICE_PER_SEAT = "pricePerSeat";
     public static final String FLIGHT_REGISTER_SUCCESS = "flightRegisterSuccess";
     public static final String LUGGAGE_UNIQUE_ERROR = "luggageUniqueError";
-    public static final String FLIGHTS_LIST = "flightsList";
+    public static final String FLIGHTS_PAGE = "flightsPage";
+    public static final String CURSOR_DATE = "cursorDate";
+    public static final String CURSOR_PRICE = "cursorPrice";
+    public static final String CURSOR_ID = "cursorId";
+    public static final String SORT_BY = "sortBy";
+    public static final String MIN_PRICE = "minPrice";
+    public static final String MAX_PRICE = "maxPrice";
+    public static final String FLEXIBLE_DATES = "flexibleDates";
+    public static final String FLEXIBLE_DATES_MONTH = "month";
+    public static final String FARE_CALENDAR = "fareCalendar";
+    public static final String WITH_CONNECTIONS = "withConnections";
+    public static final String CONNECTIONS_LIST = "connectionsList";
+    public static final String RETURN_DATE_OF_FLIGHT = "returnDateForFlight";
+    public static final String ROUND_TRIPS_LIST = "roundTripsList";
     public static final String USER_ID = "userId";
     public static final String FLIGHT_ID = "flightId";
     public static final String LUGGAGE_ID = "luggageId";
@@ -78,6 +111,11 @@ public class Parameters {
     public static final String CITY_DB = "city";
     public static final String AIRCRAFT_CODE_DB = "aircraft_code";
     public static final String AIRCRAFT_MODEL_DB = "model";
+    public static final String AIRCRAFT_SEATS_DB = "seats";
+    public static final String AVAILABLE_SEATS_DB = "available_seats";
+    public static final String MIN_PRICE_DB = "min_price";
+    public static final String PRICE_BUCKET_DB = "price_bucket";
+    public static final String FLIGHTS_COUNT_DB = "flights_count";
     public static final String DEPARTURE_AIRPORT_DB_AS = "dep_airport_code";
     public static final String DEPARTURE_AIRPORT_NAME_DB_AS = "dep_airport_name";
     public static final String DEPARTURE_AIRPORT_CITY_DB_AS = "dep_airport_city";
@@ -91,4 +129,6 @@ public class Parameters {
     public static final String TICKETS_LIST = "ticketsList";
     public static final String TICKET_NUMBER = "ticketNumber";
     public static final String TICKET_RETURN_SUCCESS = "ticketReturnSuccess";
+    public static final String REDIRECT_PATH = "redirectPath";
+    public static final String CONTROLLER_PATH = "/controller";
 }
\ No newline at end of file
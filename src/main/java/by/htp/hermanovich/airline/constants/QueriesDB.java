@@ -34,7 +34,7 @@ public class QueriesDB {
     public static final String DELETE_LUGGAGE_BY_ID = "DELETE FROM luggage WHERE id = ?";
 
     /*Queries to work with aircraft database table.*/
-    public static final String ADD_AIRCRAFT = "INSERT INTO aircrafts (aircraft_code, model) VALUES (?, ?)";
+    public static final String ADD_AIRCRAFT = "INSERT INTO aircrafts (aircraft_code, model, seats) VALUES (?, ?, ?)";
     public static final String UPDATE_AIRCRAFT = "UPDATE aircrafts SET model = ? WHERE aircraft_code = ?";
     public static final String GET_ALL_AIRCRAFTS = "SELECT * FROM aircrafts";
     public static final String GET_AIRCRAFT_BY_CODE = "SELECT * FROM aircrafts WHERE aircraft_code = ?";
@@ -43,11 +43,51 @@ public class QueriesDB {
     /*Queries to work with flight database table.*/
     public static final String GET_FLIGHT_BY_ID = "SELECT * FROM flights WHERE id = ?";
     public static final String ADD_FLIGHT = "INSERT INTO flights (aircrafts_aircraft_code, flight_number, departure_airport" +
-                                            ", arrival_airport, sheduled_departure_date, sheduled_arrival_date, price_per_seat)" +
-                                            "VALUES(?, ?, ?, ?, ?, ?, ?)";
-    public static final String GET_FLIGHTS_BY_DEP_ARR_DATE = "SELECT * FROM flights WHERE departure_airport = ? AND arrival_airport = ? AND sheduled_departure_date = ?";
-    public static final String GET_FLIGHTS_BY_DEP_ARR = "SELECT * FROM flights WHERE departure_airport = ? AND arrival_airport = ?";
-    public static final String GET_FLIGHTS_BY_DEP_DATE = "SELECT * FROM flights WHERE departure_airport = ? AND sheduled_departure_date = ?";
+                                            ", arrival_airport, sheduled_departure_date, sheduled_arrival_date, price_per_seat" +
+                                            ", available_seats) SELECT aircraft_code, ?, ?, ?, ?, ?, ?, seats FROM aircrafts " +
+                                            "WHERE aircraft_code = ?";
+    private static final String SELECT_FLIGHTS_WITH_DETAILS = "SELECT flights.id AS id, flight_number, " +
+            "sheduled_departure_date, sheduled_arrival_date, price_per_seat, available_seats, aircraft_code, model, seats, " +
+            "dep.airport_code AS dep_airport_code, dep.airport_name AS dep_airport_name, dep.city AS dep_airport_city, " +
+            "arr.airport_code AS arr_airport_code, arr.airport_name AS arr_airport_name, arr.city AS arr_airport_city " +
+            "FROM flights JOIN aircrafts ON aircrafts.aircraft_code = aircrafts_aircraft_code " +
+            "JOIN airports AS dep ON dep.airport_code = departure_airport " +
+            "JOIN airports AS arr ON arr.airport_code = arrival_airport ";
+    public static final String GET_ALL_FLIGHTS = SELECT_FLIGHTS_WITH_DETAILS +
+            "ORDER BY sheduled_departure_date, flights.id";
+    public static final String GET_FLIGHT_FOR_BOOKING = SELECT_FLIGHTS_WITH_DETAILS +
+            "WHERE flights.id = ?";
+    public static final String AFTER_FLIGHTS_CURSOR = "AND (sheduled_departure_date > ? " +
+            "OR (sheduled_departure_date = ? AND flights.id > ?)) ORDER BY sheduled_departure_date, flights.id LIMIT ?";
+    public static final String AFTER_FLIGHTS_PRICE_CURSOR = "AND (price_per_seat > ? " +
+            "OR (price_per_seat = ? AND flights.id > ?)) ORDER BY price_per_seat, flights.id LIMIT ?";
+    public static final String GET_FLIGHTS_BY_DEP_ARR_DATE = SELECT_FLIGHTS_WITH_DETAILS +
+            "WHERE departure_airport = ? AND arrival_airport = ? AND sheduled_departure_date = ? " + AFTER_FLIGHTS_CURSOR;
+    public static final String GET_FLIGHTS_BY_DEP_ARR = SELECT_FLIGHTS_WITH_DETAILS +
+            "WHERE departure_airport = ? AND arrival_airport = ? " + AFTER_FLIGHTS_CURSOR;
+    public static final String GET_FLIGHTS_BY_DEP_DATE = SELECT_FLIGHTS_WITH_DETAILS +
+            "WHERE departure_airport = ? AND sheduled_departure_date = ? " + AFTER_FLIGHTS_CURSOR;
+    public static final String GET_FLIGHTS_BY_DEP = SELECT_FLIGHTS_WITH_DETAILS + "WHERE departure_airport = ? ";
+    public static final String GET_FLIGHT_FACETS_BY_DEP = "SELECT model, FLOOR(price_per_seat / ?) AS price_bucket, " +
+            "COUNT(*) AS flights_count FROM flights JOIN aircrafts ON aircrafts.aircraft_code = aircrafts_aircraft_code " +
+            "WHERE departure_airport = ? ";
+    public static final String GROUP_BY_FLIGHT_FACETS = "GROUP BY model, price_bucket";
+    public static final String AND_ARRIVAL_AIRPORT = "AND arrival_airport = ? ";
+    public static final String AND_DEPARTURE_DATE = "AND sheduled_departure_date = ? ";
+    public static final String AND_MIN_PRICE_PER_SEAT = "AND price_per_seat >= ? ";
+    public static final String AND_MAX_PRICE_PER_SEAT = "AND price_per_seat < ? ";
+    public static final String AND_AIRCRAFT_MODEL = "AND model = ? ";
+    public static final String GET_CHEAPEST_FLIGHTS_BY_DEP_ARR_DATE = SELECT_FLIGHTS_WITH_DETAILS +
+            "WHERE departure_airport = ? AND arrival_airport = ? AND sheduled_departure_date = ? " +
+            "AND sheduled_arrival_date <= ? ORDER BY price_per_seat, flights.id LIMIT ?";
+    public static final String GET_CHEAPEST_FARES_BY_DEP_ARR = "SELECT sheduled_departure_date, " +
+            "MIN(price_per_seat) AS min_price FROM flights WHERE departure_airport = ? AND arrival_airport = ? " +
+            "AND sheduled_departure_date BETWEEN ? AND ? GROUP BY sheduled_departure_date";
+    public static final String GET_AVAILABLE_SEATS_BY_ID = "SELECT available_seats FROM flights WHERE id = ?";
+    public static final String TAKE_AVAILABLE_SEAT = "UPDATE flights SET available_seats = available_seats - 1 " +
+            "WHERE id = ? AND (available_seats IS NULL OR available_seats > 0)";
+    public static final String RETURN_AVAILABLE_SEAT = "UPDATE flights SET available_seats = available_seats + 1 " +
+            "WHERE id = ? AND available_seats IS NOT NULL";
 
     /*Queries to work with tickets database table.*/
     public static final String ADD_TICKET = "INSERT INTO tickets (ticket_number, users_id, flights_id, luggage_id, total_price)" +
@@ -64,6 +104,21 @@ public class QueriesDB {
             "JOIN airports AS dep ON dep.airport_code = departure_airport " +
             "JOIN airports AS arr ON arr.airport_code = arrival_airport " +
             "WHERE users_id = ?";
-    public static final String GET_TICKET_BY_NUMBER = "SELECT * FROM tickets WHERE ticket_number = ?";
+    public static final String RESERVE_TICKET_NUMBER_BLOCK = "UPDATE ticket_number_sequence " +
+            "SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = 'ticket'";
+    public static final String GET_LAST_INSERT_ID = "SELECT LAST_INSERT_ID()";
+    public static final String GET_EXISTING_TICKET_NUMBERS = "SELECT ticket_number FROM tickets WHERE ticket_number IN (";
+    public static final String GET_FLIGHT_ID_BY_TICKET_NUMBER = "SELECT flights_id FROM tickets WHERE ticket_number = ?";
     public static final String DELETE_TICKET_BY_NUMBER = "DELETE FROM tickets WHERE ticket_number = ?";
+
+    /*Queries to work with schema_version database table.*/
+    public static final String CREATE_SCHEMA_VERSION = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT NOT NULL PRIMARY KEY, description VARCHAR(100) NOT NULL, script VARCHAR(100) NOT NULL, " +
+            "checksum BIGINT NOT NULL, installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+    public static final String GET_SCHEMA_VERSIONS = "SELECT version, checksum FROM schema_version";
+    public static final String ADD_SCHEMA_VERSION = "INSERT INTO schema_version (version, description, script, checksum) " +
+            "VALUES (?, ?, ?, ?)";
+    public static final String GET_MIGRATION_LOCK = "SELECT GET_LOCK('airline_schema_migration', ?)";
+    public static final String RELEASE_MIGRATION_LOCK = "SELECT RELEASE_LOCK('airline_schema_migration')";
+    public static final String EXPLAIN = "EXPLAIN ";
 }
@@ -1,5 +1,6 @@
 package by.htp.hermanovich.airline.controller;
 
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestExecutor;
 import by.htp.hermanovich.airline.utils.controllerUtils.RequestHandler;
 
 import javax.servlet.ServletException;
@@ -9,17 +10,29 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 /**
- * Description: This class describes main servlet of the application called FrontController
+ * Description: This class describes main servlet of the application called FrontController.
+ * The commands are executed asynchronously by the {@link RequestExecutor}, so the threads of the container
+ * are not blocked by database; if the asynchronous processing is switched off they are executed by the thread
+ * of the container.
  *
  * Created by Yauheni Hermanovich on 14.07.2017.
  */
 @SuppressWarnings("serial")
 public class FrontController extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        RequestHandler.processRequest(request, response);
+        process(request, response);
     }
 
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        RequestHandler.processRequest(request, response);
+        process(request, response);
+    }
+
+    private void process(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        RequestExecutor executor = RequestExecutor.getInstance();
+        if (executor.isAsync(request)) {
+            executor.execute(request, response);
+        } else {
+            RequestHandler.processRequest(request, response);
+        }
     }
 }
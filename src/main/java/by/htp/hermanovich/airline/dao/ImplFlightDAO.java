@@ -1,7 +1,8 @@
 package by.htp.hermanovich.airline.dao;
 
 import by.htp.hermanovich.airline.entities.Flight;
-import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.FlightFacets;
+import by.htp.hermanovich.airline.entities.FlightFilter;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import java.sql.Connection;
 import java.sql.Date;
@@ -16,39 +17,37 @@ import java.util.List;
 public interface ImplFlightDAO extends AbstractDAO<Flight> {
 
     /**
-     * This method describes actions to find the flights by the departure airport, arrival airport and the date of the flight.
+     * This method describes actions to find one page of the flights of the search. The flights are found
+     * by the departure airport together with the arrival airport, the date or both, pass the filters of the client
+     * and follow the cursor in the order of the filter.
      *
-     * @param depAirportForSearch   - departure airport for the search context;
-     * @param arrAirportForSearch   - arrival airport for the search context;
-     * @param dateForSearch         - date of flight for the search context;
+     * @param departureCode         - departure airport code for the search context;
+     * @param arrivalCode           - arrival airport code for the search context or <i>null</i>;
+     * @param dateForSearch         - date of flight for the search context or <i>null</i>;
+     * @param filter                - the filters and the order of the results;
+     * @param cursor                - a flight with the values of the cursor which the flights follow;
+     * @param limit                 - the maximum number of flights;
      * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return                      - a list of flights that is fulfilled of the condition.
+     * @return                      - a list of flights that is fulfilled of the condition sorted by the order of the filter.
      * @throws DAOException
      */
-    List<Flight> getFlightsByDepArrDate(Airport depAirportForSearch, Airport arrAirportForSearch,
-                                        Date dateForSearch, Connection connection) throws DAOException;
+    List<Flight> getFlightsPage(String departureCode, String arrivalCode, Date dateForSearch, FlightFilter filter,
+                                Flight cursor, int limit, Connection connection) throws DAOException;
 
     /**
-     * This method describes actions to find the flights by the departure and arrival airports of the flight.
+     * This method describes actions to count the flights of the search by the aircraft model and by the range
+     * of the price per seat regardless of the filters of the client.
      *
-     * @param depAirportForSearch   - departure airport for the search context;
-     * @param arrAirportForSearch   - arrival airport for the search context;
+     * @param departureCode         - departure airport code for the search context;
+     * @param arrivalCode           - arrival airport code for the search context or <i>null</i>;
+     * @param dateForSearch         - date of flight for the search context or <i>null</i>;
+     * @param priceBucketWidth      - the width of the ranges of the price per seat;
      * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return                      - a list of flights that is fulfilled of the condition.
+     * @return                      - the facet counts of all flights of the search.
      * @throws DAOException
      */
-    List<Flight> getFlightsByDepArr(Airport depAirportForSearch, Airport arrAirportForSearch, Connection connection) throws DAOException;
-
-    /**
-     * This method describes actions to find the flights by the departure airport and the date of the flight.
-     *
-     * @param depAirportForSearch   - departure airport for the search context;
-     * @param dateForSearch         - date of flight for the search context;
-     * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return                      - a list of flights that is fulfilled of the condition.
-     * @throws DAOException
-     */
-    List<Flight> getFlightsByDepDate(Airport depAirportForSearch, Date dateForSearch, Connection connection) throws DAOException;
+    FlightFacets getFlightFacets(String departureCode, String arrivalCode, Date dateForSearch, float priceBucketWidth,
+                                 Connection connection) throws DAOException;
 
     /**
      * This method creates an information about flight represented in <i>map</i> view.
@@ -0,0 +1,20 @@
+package by.htp.hermanovich.airline.dao;
+
+import by.htp.hermanovich.airline.entities.BaseEntity;
+
+import java.io.IOException;
+
+/**
+ * Description: This interface describes a receiver of the entities which are read from a database table row by row,
+ * so the result of a query is never kept in memory as a whole. The entity can be used only until the method returns.
+ */
+public interface RowHandler<T extends BaseEntity> {
+
+    /**
+     * This method receives the entity built from the current row of the result.
+     *
+     * @param entity        - an entity of the current row.
+     * @throws IOException
+     */
+    void handle(T entity) throws IOException;
+}
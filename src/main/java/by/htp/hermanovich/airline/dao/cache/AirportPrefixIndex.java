@@ -0,0 +1,126 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import by.htp.hermanovich.airline.entities.Airport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Description: This class describes an immutable prefix index of the airports. The index consists of two sorted
+ * arrays of terms: the codes of the airports and the words of the names and the cities together with the whole
+ * names and cities. The airports whose terms start with a prefix form one range of an array, which is found
+ * by a binary search, so a lookup does not depend on the number of the airports. The matches of the codes
+ * are given before the matches of the names and the cities.
+ */
+public class AirportPrefixIndex {
+    private static final String WORD_SEPARATORS = "[\\s\\-/(),.']+";
+
+    private final Term[] codes;
+    private final Term[] words;
+
+    /**
+     * @param airports  - the airports of the index.
+     */
+    public AirportPrefixIndex(Collection<Airport> airports) {
+        List<Term> codeTerms = new ArrayList<>(airports.size());
+        List<Term> wordTerms = new ArrayList<>(airports.size() * 4);
+        for (Airport airport : airports) {
+            if (airport.getAirportCode() != null) {
+                codeTerms.add(new Term(normalize(airport.getAirportCode()), airport));
+            }
+            Set<String> airportWords = new LinkedHashSet<>();
+            addWords(airport.getAirportName(), airportWords);
+            addWords(airport.getCity(), airportWords);
+            for (String word : airportWords) {
+                wordTerms.add(new Term(word, airport));
+            }
+        }
+        codes = codeTerms.toArray(new Term[codeTerms.size()]);
+        words = wordTerms.toArray(new Term[wordTerms.size()]);
+        Arrays.sort(codes);
+        Arrays.sort(words);
+    }
+
+    private static void addWords(String text, Set<String> airportWords) {
+        if (text == null) {
+            return;
+        }
+        String normalizedText = normalize(text);
+        if (normalizedText.isEmpty()) {
+            return;
+        }
+        airportWords.add(normalizedText);
+        for (String word : normalizedText.split(WORD_SEPARATORS)) {
+            if (!word.isEmpty()) {
+                airportWords.add(word);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * This method finds the airports whose code, a word of the name or a word of the city starts with the prefix.
+     * The case of the prefix is ignored.
+     *
+     * @param prefix    - a prefix typed by the user;
+     * @param limit     - the maximum number of airports.
+     * @return          - a list of the airports without duplicates.
+     */
+    public List<Airport> find(String prefix, int limit) {
+        if (prefix == null || limit < 1) {
+            return Collections.emptyList();
+        }
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Airport> found = new LinkedHashSet<>();
+        collect(codes, key, limit, found);
+        collect(words, key, limit, found);
+        return new ArrayList<>(found);
+    }
+
+    private static void collect(Term[] terms, String key, int limit, Set<Airport> found) {
+        int position = Arrays.binarySearch(terms, new Term(key, null));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        for (int i = position; i < terms.length && found.size() < limit && terms[i].text.startsWith(key); i++) {
+            found.add(terms[i].airport);
+        }
+    }
+
+    /**
+     * @return      - the number of terms of the index.
+     */
+    public int getTermCount() {
+        return codes.length + words.length;
+    }
+
+    /**
+     * Description: One term of the index and the airport which it belongs to.
+     */
+    private static final class Term implements Comparable<Term> {
+        private final String text;
+        private final Airport airport;
+
+        Term(String text, Airport airport) {
+            this.text = text;
+            this.airport = airport;
+        }
+
+        @Override
+        public int compareTo(Term term) {
+            return text.compareTo(term.text);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: This class describes the versions of the data which the responses of the application are built from.
+ * Every kind of data has a counter which is incremented after a transaction which has changed the data is committed,
+ * so a response built from the same versions of the data is the same. The versions start again when the application
+ * is restarted, therefore they are given together with the time of the start of the application. The time of the last
+ * change of every kind of data is kept as well, for the <i>Last-Modified</i> header of the responses.
+ * The versions are counted by every application node on its own and do not see the changes which have been committed
+ * by other nodes, so the entity tags which are built from them are valid for a single node only. Behind a load balancer
+ * the requests of a client have to be routed to the same node, otherwise a node may answer <i>304 Not Modified</i>
+ * to data which has been changed on another node.
+ */
+public class DataVersion {
+    private volatile static DataVersion instance;
+
+    /**
+     * Description: The kinds of the versioned data.
+     */
+    public enum Domain {
+        FLIGHTS, SEATS, TICKETS, REFERENCE_DATA
+    }
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Domain, AtomicLong> versions = new EnumMap<>(Domain.class);
+    private final Map<Domain, AtomicLong> changeTimes = new EnumMap<>(Domain.class);
+
+    private DataVersion() {
+        for (Domain domain : Domain.values()) {
+            versions.put(domain, new AtomicLong());
+            changeTimes.put(domain, new AtomicLong(epoch));
+        }
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static DataVersion getInstance() {
+        if (instance == null) {
+            synchronized (DataVersion.class) {
+                if (instance == null) {
+                    instance = new DataVersion();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method is called after the data has been changed.
+     *
+     * @param domain    - the kind of the changed data.
+     */
+    public void increment(Domain domain) {
+        changeTimes.get(domain).set(System.currentTimeMillis());
+        versions.get(domain).incrementAndGet();
+    }
+
+    public long get(Domain domain) {
+        return versions.get(domain).get();
+    }
+
+    /**
+     * This method gives the time of the last change of the data of the given kinds.
+     *
+     * @param domains   - the kinds of the data.
+     * @return          - the time in milliseconds, or the time of the start of the application if the data
+     *                      has not been changed since.
+     */
+    public long getLastModified(Domain... domains) {
+        long lastModified = epoch;
+        for (Domain domain : domains) {
+            lastModified = Math.max(lastModified, changeTimes.get(domain).get());
+        }
+        return lastModified;
+    }
+
+    /**
+     * @return      - the time of the start of the application in milliseconds.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+}
@@ -0,0 +1,275 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.dao.implementations.FlightDAO;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import org.apache.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Description: This class describes an in-memory index of the flights which answers the searches of the clients
+ * without queries to database. The flights are grouped by the departure airport and the arrival airport, and the
+ * flights of every route are kept in a map sorted by the date of departure. The index is loaded when the application
+ * is started and a new flight is added to it after the transaction which has created the flight is committed.
+ * A refresh builds the new index aside and replaces the whole index at once, so the searches use the previous index
+ * while the flights are loaded. A refresh and the addition of a flight hold the same lock, so a flight which is added
+ * during a refresh is added to the new index after it has been loaded.
+ * The index can be switched off with the <i>flight.search.index.enabled</i> property of the <i>application.properties</i>
+ * resource file, then the searches are executed by database.
+ * The indexed flights are shared between requests and must not be modified, so the flights which are given
+ * to the pages are copied.
+ */
+public class FlightIndex {
+    private static final Logger logger = Logger.getLogger(FlightIndex.class);
+
+    private volatile static FlightIndex instance;
+
+    private final boolean enabled;
+    private volatile ConcurrentMap<String, ConcurrentMap<String, NavigableMap<Date, List<Flight>>>> routes =
+            new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private FlightIndex() {
+        enabled = Boolean.parseBoolean(ConfigManagerApp.getInstance().getProperty(ConfigConstant.FLIGHT_SEARCH_INDEX_ENABLED));
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static FlightIndex getInstance() {
+        if (instance == null) {
+            synchronized (FlightIndex.class) {
+                if (instance == null) {
+                    instance = new FlightIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method loads all flights from database. If database is not available the index stays unloaded
+     * and the searches go to database.
+     */
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+            List<Flight> flights = FlightDAO.getInstance().getAll(connection);
+            ConcurrentMap<String, ConcurrentMap<String, NavigableMap<Date, List<Flight>>>> newRoutes =
+                    new ConcurrentHashMap<>();
+            for (Flight flight : flights) {
+                addFlight(newRoutes, flight);
+            }
+            routes = newRoutes;
+            loaded = true;
+            logger.info(MessageConstants.FLIGHT_INDEX_LOADED + flights.size());
+        } catch (SQLException | DAOException e) {
+            loaded = false;
+            routes = new ConcurrentHashMap<>();
+            logger.error(MessageConstants.FLIGHT_INDEX_LOAD_ERROR, e);
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method checks if the searches can be answered by the index.
+     *
+     * @return      - boolean value of the condition.
+     */
+    public boolean isAvailable() {
+        return enabled && loaded;
+    }
+
+    /**
+     * This method adds the flight to the index. The flights of one day of the route are kept in an immutable list
+     * sorted by the id which is replaced when a flight is added, so the searches do not need locks. A flight which
+     * is already indexed, for example because it has been loaded by a refresh, is replaced.
+     *
+     * @param flight    - a flight with its aircraft and airports.
+     */
+    public synchronized void addFlight(Flight flight) {
+        if (!enabled) {
+            return;
+        }
+        addFlight(routes, flight);
+    }
+
+    private static void addFlight(ConcurrentMap<String, ConcurrentMap<String, NavigableMap<Date, List<Flight>>>> routes,
+                                  Flight flight) {
+        final Flight indexedFlight = new Flight(flight);
+        routesFrom(routes, flight.getDepartureAirport().getAirportCode())
+                .computeIfAbsent(flight.getArrivalAirport().getAirportCode(), code -> new ConcurrentSkipListMap<>())
+                .compute(flight.getSheduledDeparture(), (date, flights) -> {
+                    List<Flight> dayFlights = flights == null ? new ArrayList<>(1) : new ArrayList<>(flights);
+                    int position = dayFlights.size();
+                    while (position > 0 && dayFlights.get(position - 1).getId() > indexedFlight.getId()) {
+                        position--;
+                    }
+                    if (position > 0 && dayFlights.get(position - 1).getId() == indexedFlight.getId()) {
+                        dayFlights.set(position - 1, indexedFlight);
+                    } else {
+                        dayFlights.add(position, indexedFlight);
+                    }
+                    return Collections.unmodifiableList(dayFlights);
+                });
+    }
+
+    /**
+     * This method finds all flights of the search without copying them, so the results can be scanned
+     * without allocations. The search has three options following bellow:
+     *          - the departure airport, the arrival airport and the date: one day of one route;
+     *          - the departure airport and the arrival airport: the whole route sorted by the date of departure;
+     *          - the departure airport and the date: one day of every route from the airport.
+     * The flights are shared and must not be modified.
+     *
+     * @param departureCode     - departure airport code;
+     * @param arrivalCode       - arrival airport code or <i>null</i>;
+     * @param date              - date of flight or <i>null</i>.
+     * @return                  - a list of the flights.
+     */
+    public List<Flight> findFlights(String departureCode, String arrivalCode, Date date) {
+        List<Flight> flights = new ArrayList<>();
+        Map<String, NavigableMap<Date, List<Flight>>> arrivals = arrivalsFrom(departureCode);
+        if (arrivalCode != null) {
+            NavigableMap<Date, List<Flight>> route = arrivals.get(arrivalCode);
+            if (route != null && date != null) {
+                flights.addAll(route.getOrDefault(date, Collections.<Flight>emptyList()));
+            } else if (route != null) {
+                for (List<Flight> dayFlights : route.values()) {
+                    flights.addAll(dayFlights);
+                }
+            }
+        } else if (date != null) {
+            for (NavigableMap<Date, List<Flight>> route : arrivals.values()) {
+                flights.addAll(route.getOrDefault(date, Collections.<Flight>emptyList()));
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * This method finds the cheapest flights of the route on the date which arrive not later than the given date.
+     *
+     * @param departureCode     - departure airport code;
+     * @param arrivalCode       - arrival airport code;
+     * @param date              - date of flight;
+     * @param latestArrival     - the latest date of arrival;
+     * @param limit             - the maximum number of flights.
+     * @return                  - a list of copies of the flights sorted by the price per seat.
+     */
+    public List<Flight> findCheapest(String departureCode, String arrivalCode, Date date, Date latestArrival, int limit) {
+        List<Flight> dayFlights = new ArrayList<>();
+        NavigableMap<Date, List<Flight>> route = arrivalsFrom(departureCode).get(arrivalCode);
+        if (route != null) {
+            for (Flight flight : route.getOrDefault(date, Collections.<Flight>emptyList())) {
+                if (flight.getSheduledArrival().compareTo(latestArrival) <= 0) {
+                    dayFlights.add(flight);
+                }
+            }
+        }
+        dayFlights.sort(Comparator.comparingDouble(Flight::getPricePerSeat).thenComparingInt(Flight::getId));
+        List<Flight> result = new ArrayList<>(Math.min(limit, dayFlights.size()));
+        addCopies(dayFlights.subList(0, Math.min(limit, dayFlights.size())), result);
+        return result;
+    }
+
+    /**
+     * This method gives all indexed flights. The flights are shared and must not be modified.
+     *
+     * @return                  - a list of the flights.
+     */
+    public List<Flight> getFlights() {
+        List<Flight> flights = new ArrayList<>();
+        for (Map<String, NavigableMap<Date, List<Flight>>> arrivals : routes.values()) {
+            for (NavigableMap<Date, List<Flight>> route : arrivals.values()) {
+                for (List<Flight> dayFlights : route.values()) {
+                    flights.addAll(dayFlights);
+                }
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * This method finds the cheapest price per seat of every date of the route in the window of dates
+     * by one scan of the range of the route.
+     *
+     * @param departureCode     - departure airport code;
+     * @param arrivalCode       - arrival airport code;
+     * @param firstDate         - the first date of the window;
+     * @param lastDate          - the last date of the window.
+     * @return                  - a <i>map</i> where the key is a date and the value is the cheapest price per seat.
+     */
+    public Map<Date, Float> findCheapestFares(String departureCode, String arrivalCode, Date firstDate, Date lastDate) {
+        Map<Date, Float> cheapestFares = new HashMap<>();
+        NavigableMap<Date, List<Flight>> route = arrivalsFrom(departureCode).get(arrivalCode);
+        if (route != null) {
+            for (Map.Entry<Date, List<Flight>> day : route.subMap(firstDate, true, lastDate, true).entrySet()) {
+                float cheapestPrice = Float.MAX_VALUE;
+                for (Flight flight : day.getValue()) {
+                    cheapestPrice = Math.min(cheapestPrice, flight.getPricePerSeat());
+                }
+                cheapestFares.put(day.getKey(), cheapestPrice);
+            }
+        }
+        return cheapestFares;
+    }
+
+    private static ConcurrentMap<String, NavigableMap<Date, List<Flight>>> routesFrom(
+            ConcurrentMap<String, ConcurrentMap<String, NavigableMap<Date, List<Flight>>>> routes, String departureCode) {
+        ConcurrentMap<String, NavigableMap<Date, List<Flight>>> arrivals = routes.get(departureCode);
+        if (arrivals == null) {
+            arrivals = routes.computeIfAbsent(departureCode, code -> new ConcurrentHashMap<>());
+        }
+        return arrivals;
+    }
+
+    private Map<String, NavigableMap<Date, List<Flight>>> arrivalsFrom(String departureCode) {
+        Map<String, NavigableMap<Date, List<Flight>>> arrivals = routes.get(departureCode);
+        return arrivals != null ? arrivals : Collections.<String, NavigableMap<Date, List<Flight>>>emptyMap();
+    }
+
+    private void addCopies(List<Flight> flights, List<Flight> result) {
+        if (flights != null) {
+            for (Flight flight : flights) {
+                result.add(new Flight(flight));
+            }
+        }
+    }
+
+    /**
+     * @return      - the number of routes in the index.
+     */
+    public int getRouteCount() {
+        int routeCount = 0;
+        for (Map<String, NavigableMap<Date, List<Flight>>> arrivals : routes.values()) {
+            routeCount += arrivals.size();
+        }
+        return routeCount;
+    }
+}
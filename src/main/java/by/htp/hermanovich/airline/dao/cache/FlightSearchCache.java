@@ -0,0 +1,291 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.FlightFacets;
+import by.htp.hermanovich.airline.entities.FlightFilter;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: This class describes a cache of the results of the flight searches which are executed by database.
+ * The results are kept for a limited time under the normalized search conditions: the pages of flights together with
+ * the filters and the cursor of the page, and the facet counts of the whole search.
+ * Concurrent identical searches which miss the cache are coalesced: the first search loads the result and the
+ * others wait for it, so database executes one query for all of them. The results of a route are removed after
+ * a flight of the route has been created. Every result is tagged with the generation of the cache in which its load
+ * has been started, and a load which has been overtaken by an invalidation is not kept, because it can have read
+ * the flights before the change. The number of the cached results is bounded; when the bound is exceeded
+ * the expired results and then the oldest results are removed.
+ * The cached results are shared between requests and must not be modified.
+ */
+public class FlightSearchCache {
+    private volatile static FlightSearchCache instance;
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final ConcurrentHashMap<SearchKey, CachedSearch> searches = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Description: The search which loads the result from database when the result is not in the cache.
+     */
+    public interface SearchLoader<T> {
+        T load() throws SQLException;
+    }
+
+    private FlightSearchCache() {
+        ConfigManagerApp config = ConfigManagerApp.getInstance();
+        enabled = Boolean.parseBoolean(config.getProperty(ConfigConstant.FLIGHT_SEARCH_CACHE_ENABLED));
+        ttlMillis = Long.parseLong(config.getProperty(ConfigConstant.FLIGHT_SEARCH_CACHE_TTL));
+        maxEntries = Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_SEARCH_CACHE_SIZE));
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static FlightSearchCache getInstance() {
+        if (instance == null) {
+            synchronized (FlightSearchCache.class) {
+                if (instance == null) {
+                    instance = new FlightSearchCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method gives one page of the flights of the search from the cache. If the page is not cached or has expired
+     * it is loaded by the loader; if the same page is being loaded by another request the method waits
+     * for that result. A result which could not be loaded is not cached.
+     *
+     * @param searchConditions  - the <i>searchConditions</i> map with corresponding values;
+     * @param filter            - the filters and the order of the results;
+     * @param cursor            - a flight with the values of the cursor of the page;
+     * @param limit             - the maximum number of flights;
+     * @param loader            - the search which loads the flights from database.
+     * @return                  - an unmodifiable list of the flights or <i>null</i> if the loader has given no result.
+     * @throws SQLException
+     */
+    public List<Flight> getPage(Map<String, String> searchConditions, FlightFilter filter, Flight cursor, int limit,
+                                final SearchLoader<List<Flight>> loader) throws SQLException {
+        SearchKey key = new SearchKey(searchConditions, filter.getSort(), filter.getMinPrice(), filter.getMaxPrice(),
+                filter.getAircraftModel(), cursor.getSheduledDeparture(), cursor.getPricePerSeat(), cursor.getId(), limit);
+        return get(key, () -> {
+            List<Flight> flights = loader.load();
+            return flights != null ? Collections.unmodifiableList(new ArrayList<>(flights)) : null;
+        });
+    }
+
+    /**
+     * This method gives the facet counts of all results of the search from the cache in the same way as the pages.
+     *
+     * @param searchConditions  - the <i>searchConditions</i> map with corresponding values;
+     * @param loader            - the search which counts the flights in database.
+     * @return                  - the facet counts or <i>null</i> if the loader has given no result.
+     * @throws SQLException
+     */
+    public FlightFacets getFacets(Map<String, String> searchConditions, SearchLoader<FlightFacets> loader)
+            throws SQLException {
+        return get(new SearchKey(searchConditions), loader);
+    }
+
+    private <T> T get(SearchKey key, SearchLoader<T> loader) throws SQLException {
+        if (!enabled) {
+            return loader.load();
+        }
+        long now = System.currentTimeMillis();
+        CachedSearch cached = searches.get(key);
+        if (cached != null && cached.expiresAt <= now) {
+            searches.remove(key, cached);
+            cached = null;
+        }
+        if (cached == null) {
+            CachedSearch created = new CachedSearch(now + ttlMillis, generation.get());
+            cached = searches.putIfAbsent(key, created);
+            if (cached == null) {
+                misses.incrementAndGet();
+                evictIfFull(now);
+                return load(key, created, loader);
+            }
+        }
+        if (cached.result.isDone()) {
+            hits.incrementAndGet();
+        } else {
+            coalesced.incrementAndGet();
+        }
+        return await(cached);
+    }
+
+    private <T> T load(SearchKey key, CachedSearch created, SearchLoader<T> loader) throws SQLException {
+        T result;
+        try {
+            result = loader.load();
+        } catch (SQLException | RuntimeException e) {
+            searches.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+        if (result == null || created.generation != generation.get()) {
+            searches.remove(key, created);
+        }
+        created.result.complete(result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(CachedSearch cached) throws SQLException {
+        try {
+            return (T) cached.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(MessageConstants.FLIGHT_SEARCH_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(MessageConstants.EXECUTE_QUERY_ERROR, e.getCause());
+        }
+    }
+
+    /**
+     * This method removes the expired results when the cache is full, and then the oldest results
+     * if the cache is still full.
+     */
+    private void evictIfFull(long now) {
+        if (searches.size() <= maxEntries) {
+            return;
+        }
+        searches.entrySet().removeIf(entry -> entry.getValue().expiresAt <= now);
+        int excess = searches.size() - maxEntries;
+        if (excess > 0) {
+            List<Map.Entry<SearchKey, CachedSearch>> entries = new ArrayList<>(searches.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+            for (int i = 0; i < excess && i < entries.size(); i++) {
+                searches.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        }
+    }
+
+    /**
+     * This method removes the results of the searches which can contain the flight: the searches by the route
+     * of the flight and the searches by the departure airport and the date of the flight.
+     *
+     * @param flight    - a flight which has been created or changed.
+     */
+    public void invalidate(Flight flight) {
+        String departureCode = normalize(flight.getDepartureAirport().getAirportCode());
+        String arrivalCode = normalize(flight.getArrivalAirport().getAirportCode());
+        Date date = flight.getSheduledDeparture();
+        generation.incrementAndGet();
+        searches.keySet().removeIf(key -> key.departureCode.equals(departureCode)
+                && (key.arrivalCode == null || key.arrivalCode.equals(arrivalCode))
+                && (key.date == null || key.date.equals(date)));
+    }
+
+    /**
+     * This method removes all cached results.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        searches.clear();
+    }
+
+    private static String normalize(String code) {
+        return code != null && !code.trim().isEmpty() ? code.trim().toUpperCase() : null;
+    }
+
+    /**
+     * Description: The normalized conditions of the search together with the filters and the cursor of the page,
+     * which are absent from the key of the facet counts.
+     */
+    private static final class SearchKey {
+        private final String departureCode;
+        private final String arrivalCode;
+        private final Date date;
+        private final Object[] page;
+        private final int hash;
+
+        SearchKey(Map<String, String> searchConditions, Object... page) {
+            this.departureCode = String.valueOf(normalize(searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT)));
+            this.arrivalCode = normalize(searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT));
+            String dateOfFlight = searchConditions.get(Parameters.DATE_OF_FLIGHT);
+            this.date = dateOfFlight != null ? Date.valueOf(dateOfFlight.trim()) : null;
+            this.page = page;
+            this.hash = Objects.hash(departureCode, arrivalCode, date) * 31 + Arrays.hashCode(page);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SearchKey)) {
+                return false;
+            }
+            SearchKey key = (SearchKey) o;
+            return departureCode.equals(key.departureCode) && Objects.equals(arrivalCode, key.arrivalCode)
+                    && Objects.equals(date, key.date) && Arrays.equals(page, key.page);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Description: The result of one search which is completed when it has been loaded.
+     */
+    private static final class CachedSearch {
+        private final long expiresAt;
+        private final long generation;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        CachedSearch(long expiresAt, long generation) {
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return      - the number of searches which have waited for the same search of another request.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public int getSize() {
+        return searches.size();
+    }
+}
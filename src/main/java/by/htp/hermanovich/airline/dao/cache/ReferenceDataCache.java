@@ -0,0 +1,396 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.dao.implementations.AircraftDAO;
+import by.htp.hermanovich.airline.dao.implementations.AirportDAO;
+import by.htp.hermanovich.airline.dao.implementations.LuggageDAO;
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Luggage;
+import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
+import org.apache.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Description: This class describes an in-process cache of the reference data of the application: airports,
+ * aircrafts and luggage types. Every table is kept as an immutable snapshot which is replaced as a whole when
+ * the table is refreshed, so lookups are lock-free. The snapshots are loaded when the application is started
+ * and refreshed after an administrator has changed the corresponding table. After every refresh a new
+ * {@link ReferenceDataSnapshot} is published to the subscribers.
+ * If a table can not be loaded the previous snapshot of the table is kept. A table which has never been loaded
+ * is loaded again on the next lookup, but not more often than once per retry period.
+ * The cached entities are shared between requests and must not be modified.
+ */
+public class ReferenceDataCache {
+    private static final Logger logger = Logger.getLogger(ReferenceDataCache.class);
+
+    private volatile static ReferenceDataCache instance;
+
+    private volatile CachedTable<String, Airport> airports;
+    private volatile CachedTable<String, Aircraft> aircrafts;
+    private volatile CachedTable<Integer, Luggage> luggage;
+    private volatile Map<String, Luggage> luggageByType;
+    private volatile AirportPrefixIndex airportPrefixIndex;
+    private final Statistics airportStatistics = new Statistics();
+    private final Statistics aircraftStatistics = new Statistics();
+    private final Statistics luggageStatistics = new Statistics();
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final List<Consumer<ReferenceDataSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(0, null, null, null);
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final long retryPeriod;
+    private volatile long nextRetry;
+
+    private ReferenceDataCache() {
+        retryPeriod = Long.parseLong(ConfigManagerApp.getInstance().getProperty(ConfigConstant.REFERENCE_CACHE_RETRY_PERIOD));
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static ReferenceDataCache getInstance() {
+        if (instance == null) {
+            synchronized (ReferenceDataCache.class) {
+                if (instance == null) {
+                    instance = new ReferenceDataCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method loads all tables of the cache from database.
+     */
+    public synchronized void refresh() {
+        boolean loaded = loadAirports();
+        loaded &= loadAircrafts();
+        loaded &= loadLuggage();
+        publishSnapshot();
+        scheduleRetry(loaded);
+    }
+
+    /**
+     * This method reloads airports from database. If database is not available the previously cached airports
+     * are kept.
+     */
+    public synchronized void refreshAirports() {
+        scheduleRetry(loadAirports());
+        publishSnapshot();
+    }
+
+    /**
+     * This method loads the tables which have not been loaded yet. It is invoked by the lookups and does nothing
+     * until the retry period after the last failed load has passed or while another thread is loading.
+     */
+    private void loadMissing() {
+        if (System.currentTimeMillis() < nextRetry || !reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                boolean loaded = airports != null || loadAirports();
+                loaded &= aircrafts != null || loadAircrafts();
+                loaded &= luggage != null || loadLuggage();
+                publishSnapshot();
+                scheduleRetry(loaded);
+            }
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    private void scheduleRetry(boolean loaded) {
+        nextRetry = loaded ? 0 : System.currentTimeMillis() + retryPeriod;
+    }
+
+    private boolean loadAirports() {
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+            Map<String, Airport> airportsByCode = new LinkedHashMap<>();
+            for (Airport airport : AirportDAO.getInstance().getAll(connection)) {
+                airportsByCode.put(airport.getAirportCode(), airport);
+            }
+            airportPrefixIndex = new AirportPrefixIndex(airportsByCode.values());
+            airports = new CachedTable<>(airportsByCode);
+            return true;
+        } catch (SQLException | DAOException e) {
+            logger.error(MessageConstants.CACHE_REFRESH_ERROR, e);
+            return false;
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method reloads aircrafts from database. If database is not available the previously cached aircrafts
+     * are kept.
+     */
+    public synchronized void refreshAircrafts() {
+        scheduleRetry(loadAircrafts());
+        publishSnapshot();
+    }
+
+    private boolean loadAircrafts() {
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+            Map<String, Aircraft> aircraftsByCode = new LinkedHashMap<>();
+            for (Aircraft aircraft : AircraftDAO.getInstance().getAll(connection)) {
+                aircraftsByCode.put(aircraft.getAircraftCode(), aircraft);
+            }
+            aircrafts = new CachedTable<>(aircraftsByCode);
+            return true;
+        } catch (SQLException | DAOException e) {
+            logger.error(MessageConstants.CACHE_REFRESH_ERROR, e);
+            return false;
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method reloads luggage types from database. If database is not available the previously cached
+     * luggage types are kept.
+     */
+    public synchronized void refreshLuggage() {
+        scheduleRetry(loadLuggage());
+        publishSnapshot();
+    }
+
+    private boolean loadLuggage() {
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+            Map<Integer, Luggage> luggageById = new LinkedHashMap<>();
+            Map<String, Luggage> typeIndex = new LinkedHashMap<>();
+            for (Luggage luggageType : LuggageDAO.getInstance().getAll(connection)) {
+                luggageById.put(luggageType.getId(), luggageType);
+                typeIndex.put(luggageType.getLuggageType(), luggageType);
+            }
+            luggageByType = Collections.unmodifiableMap(typeIndex);
+            luggage = new CachedTable<>(luggageById);
+            return true;
+        } catch (SQLException | DAOException e) {
+            logger.error(MessageConstants.CACHE_REFRESH_ERROR, e);
+            return false;
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method registers a subscriber which receives the current snapshot of the reference data
+     * immediately and every new snapshot after a refresh.
+     *
+     * @param subscriber    - a subscriber of the snapshots.
+     */
+    public void subscribe(Consumer<ReferenceDataSnapshot> subscriber) {
+        subscribers.add(subscriber);
+        subscriber.accept(snapshot);
+    }
+
+    /**
+     * @return      - the current snapshot of the reference data.
+     */
+    public ReferenceDataSnapshot getSnapshot() {
+        airportTable();
+        aircraftTable();
+        luggageTable();
+        return snapshot;
+    }
+
+    private void publishSnapshot() {
+        CachedTable<String, Airport> airportTable = airports;
+        CachedTable<String, Aircraft> aircraftTable = aircrafts;
+        CachedTable<Integer, Luggage> luggageTable = luggage;
+        snapshot = new ReferenceDataSnapshot(snapshotVersion.incrementAndGet(),
+                airportTable == null ? null : airportTable.values,
+                aircraftTable == null ? null : aircraftTable.values,
+                luggageTable == null ? null : luggageTable.values);
+        DataVersion.getInstance().increment(DataVersion.Domain.REFERENCE_DATA);
+        for (Consumer<ReferenceDataSnapshot> subscriber : subscribers) {
+            subscriber.accept(snapshot);
+        }
+    }
+
+    /**
+     * This method schedules the refresh of airports after the transaction of the current request is committed.
+     */
+    public void invalidateAirports() {
+        UnitOfWork.runAfterCommit(this::refreshAirports);
+    }
+
+    /**
+     * This method schedules the refresh of aircrafts after the transaction of the current request is committed.
+     */
+    public void invalidateAircrafts() {
+        UnitOfWork.runAfterCommit(this::refreshAircrafts);
+    }
+
+    /**
+     * This method schedules the refresh of luggage types after the transaction of the current request is committed.
+     */
+    public void invalidateLuggage() {
+        UnitOfWork.runAfterCommit(this::refreshLuggage);
+    }
+
+    /**
+     * @param airportCode   - a code of the airport.
+     * @return              - the cached airport or <i>null</i> if it is not cached.
+     */
+    public Airport getAirport(String airportCode) {
+        CachedTable<String, Airport> table = airportTable();
+        return airportStatistics.record(table == null ? null : table.byKey.get(airportCode));
+    }
+
+    /**
+     * @param prefix        - a prefix of the code, a word of the name or a word of the city of the airport;
+     * @param limit         - the maximum number of airports.
+     * @return              - a list of the matching airports or <i>null</i> if airports are not cached.
+     */
+    public List<Airport> findAirports(String prefix, int limit) {
+        AirportPrefixIndex index = airportTable() == null ? null : airportPrefixIndex;
+        return airportStatistics.record(index == null ? null : index.find(prefix, limit));
+    }
+
+    /**
+     * @param aircraftCode  - a code of the aircraft.
+     * @return              - the cached aircraft or <i>null</i> if it is not cached.
+     */
+    public Aircraft getAircraft(String aircraftCode) {
+        CachedTable<String, Aircraft> table = aircraftTable();
+        return aircraftStatistics.record(table == null ? null : table.byKey.get(aircraftCode));
+    }
+
+    /**
+     * @param id            - an id of the luggage type.
+     * @return              - the cached luggage type or <i>null</i> if it is not cached.
+     */
+    public Luggage getLuggage(int id) {
+        CachedTable<Integer, Luggage> table = luggageTable();
+        return luggageStatistics.record(table == null ? null : table.byKey.get(id));
+    }
+
+    /**
+     * @param luggageType   - a name of the luggage type.
+     * @return              - the cached luggage type or <i>null</i> if it is not cached.
+     */
+    public Luggage getLuggage(String luggageType) {
+        Map<String, Luggage> typeIndex = luggageTable() == null ? null : luggageByType;
+        return luggageStatistics.record(typeIndex == null ? null : typeIndex.get(luggageType));
+    }
+
+    /**
+     * @return      - an unmodifiable list of all airports or <i>null</i> if airports are not cached.
+     */
+    public List<Airport> getAllAirports() {
+        CachedTable<String, Airport> table = airportTable();
+        return airportStatistics.record(table == null ? null : table.values);
+    }
+
+    /**
+     * @return      - an unmodifiable list of all aircrafts or <i>null</i> if aircrafts are not cached.
+     */
+    public List<Aircraft> getAllAircrafts() {
+        CachedTable<String, Aircraft> table = aircraftTable();
+        return aircraftStatistics.record(table == null ? null : table.values);
+    }
+
+    /**
+     * @return      - an unmodifiable list of all luggage types or <i>null</i> if luggage types are not cached.
+     */
+    public List<Luggage> getAllLuggage() {
+        CachedTable<Integer, Luggage> table = luggageTable();
+        return luggageStatistics.record(table == null ? null : table.values);
+    }
+
+    private CachedTable<String, Airport> airportTable() {
+        if (airports == null) {
+            loadMissing();
+        }
+        return airports;
+    }
+
+    private CachedTable<String, Aircraft> aircraftTable() {
+        if (aircrafts == null) {
+            loadMissing();
+        }
+        return aircrafts;
+    }
+
+    private CachedTable<Integer, Luggage> luggageTable() {
+        if (luggage == null) {
+            loadMissing();
+        }
+        return luggage;
+    }
+
+    /**
+     * @return      - the hit and miss counters of the lookups by the names of the cached tables.
+     */
+    public Map<String, Statistics> getStatistics() {
+        Map<String, Statistics> statistics = new LinkedHashMap<>();
+        statistics.put("airports", airportStatistics);
+        statistics.put("aircrafts", aircraftStatistics);
+        statistics.put("luggage", luggageStatistics);
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Description: An immutable snapshot of one cached table.
+     */
+    private static class CachedTable<K, V> {
+        private final Map<K, V> byKey;
+        private final List<V> values;
+
+        CachedTable(Map<K, V> byKey) {
+            this.byKey = Collections.unmodifiableMap(byKey);
+            this.values = Collections.unmodifiableList(new ArrayList<>(byKey.values()));
+        }
+    }
+
+    /**
+     * Description: Hit and miss counters of one cached table.
+     */
+    public static class Statistics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private <T> T record(T value) {
+            if (value != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+            return value;
+        }
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getMisses() {
+            return misses.get();
+        }
+    }
+}
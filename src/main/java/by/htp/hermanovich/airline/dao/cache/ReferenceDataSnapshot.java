@@ -0,0 +1,43 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Luggage;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description: This class describes an immutable versioned snapshot of the reference data of the application.
+ * One snapshot is shared by all users: it is published as an attribute of the servlet context and is replaced
+ * as a whole with a snapshot of a higher version when an administrator changes the reference data.
+ */
+public final class ReferenceDataSnapshot {
+    private final long version;
+    private final List<Airport> airports;
+    private final List<Aircraft> aircrafts;
+    private final List<Luggage> luggageTypes;
+
+    ReferenceDataSnapshot(long version, List<Airport> airports, List<Aircraft> aircrafts, List<Luggage> luggageTypes) {
+        this.version = version;
+        this.airports = airports != null ? airports : Collections.<Airport>emptyList();
+        this.aircrafts = aircrafts != null ? aircrafts : Collections.<Aircraft>emptyList();
+        this.luggageTypes = luggageTypes != null ? luggageTypes : Collections.<Luggage>emptyList();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Airport> getAirports() {
+        return airports;
+    }
+
+    public List<Aircraft> getAircrafts() {
+        return aircrafts;
+    }
+
+    public List<Luggage> getLuggageTypes() {
+        return luggageTypes;
+    }
+}
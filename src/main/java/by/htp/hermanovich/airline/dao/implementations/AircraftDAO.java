@@ -3,6 +3,7 @@ package by.htp.hermanovich.airline.dao.implementations;
 import by.htp.hermanovich.airline.entities.Aircraft;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.constants.QueriesDB;
 import by.htp.hermanovich.airline.dao.ImplAircraftDAO;
 import by.htp.hermanovich.airline.exceptions.DAOException;
@@ -52,6 +53,7 @@ public class AircraftDAO implements ImplAircraftDAO {
             statement = connection.prepareStatement(QueriesDB.ADD_AIRCRAFT);
             statement.setString(1, aircraft.getAircraftCode());
             statement.setString(2, aircraft.getModel());
+            ConnectorDB.setInteger(statement, 3, aircraft.getSeats());
             statement.executeUpdate();
         } catch (SQLException e) {
             String message = "An error was occurred while executing the request to add the aircraft.";
@@ -209,6 +211,7 @@ public class AircraftDAO implements ImplAircraftDAO {
     private Aircraft createAircraft(ResultSet resultSet, Aircraft aircraft) throws SQLException {
         aircraft.setAircraftCode(resultSet.getString("aircraft_code"));
         aircraft.setModel(resultSet.getString("model"));
+        aircraft.setSeats(ConnectorDB.getInteger(resultSet, Parameters.AIRCRAFT_SEATS_DB));
         return aircraft;
     }
 }
@@ -4,16 +4,24 @@ import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.constants.MessageConstants;
 import by.htp.hermanovich.airline.constants.QueriesDB;
 import by.htp.hermanovich.airline.dao.ImplFlightDAO;
+import by.htp.hermanovich.airline.dao.RowHandler;
+import by.htp.hermanovich.airline.entities.Aircraft;
 import by.htp.hermanovich.airline.entities.Airport;
 import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.FlightFacets;
+import by.htp.hermanovich.airline.entities.FlightFilter;
+import by.htp.hermanovich.airline.entities.FlightSort;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
 import org.apache.log4j.Logger;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Description: This class contains implementation of interface methods which works with <i>flights</i> database table.
@@ -23,6 +31,8 @@ import java.util.List;
 public class FlightDAO implements ImplFlightDAO {
     private static final Logger logger = Logger.getLogger(FlightDAO.class);
 
+    private static final AtomicLong roundTrips = new AtomicLong();
+
     private volatile static FlightDAO instance;
 
     private FlightDAO() {
@@ -45,28 +55,58 @@ public class FlightDAO implements ImplFlightDAO {
     }
 
     /**
-     * This method creates and inserts an entity in a database table.
+     * This method creates and inserts an entity in a database table. The number of available seats of the flight
+     * is copied from the aircraft by database, so the generated id and the number of available seats which has been
+     * written are set to the flight.
      *
      * @param flight     - the current flight which has been created.
      * @param connection - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @throws DAOException - if the aircraft of the flight does not exist.
      */
     @Override
     public void add(Flight flight, Connection connection) throws DAOException {
         PreparedStatement statement = null;
+        ResultSet generatedKeys = null;
         try {
-            statement = connection.prepareStatement(QueriesDB.ADD_FLIGHT);
-            statement.setString(1, flight.getAircraft().getAircraftCode());
-            statement.setString(2, flight.getFlightNumber());
-            statement.setString(3, flight.getDepartureAirport().getAirportCode());
-            statement.setString(4, flight.getArrivalAirport().getAirportCode());
-            statement.setDate(5, flight.getSheduledDeparture());
-            statement.setDate(6, flight.getSheduledArrival());
-            statement.setFloat(7, flight.getPricePerSeat());
-            statement.executeUpdate();
+            statement = connection.prepareStatement(QueriesDB.ADD_FLIGHT, Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, flight.getFlightNumber());
+            statement.setString(2, flight.getDepartureAirport().getAirportCode());
+            statement.setString(3, flight.getArrivalAirport().getAirportCode());
+            statement.setDate(4, flight.getSheduledDeparture());
+            statement.setDate(5, flight.getSheduledArrival());
+            statement.setFloat(6, flight.getPricePerSeat());
+            statement.setString(7, flight.getAircraft().getAircraftCode());
+            int addedRows = statement.executeUpdate();
+            roundTrips.incrementAndGet();
+            if (addedRows != 1) {
+                logger.error(MessageConstants.FLIGHT_AIRCRAFT_NOT_FOUND);
+                throw new DAOException(MessageConstants.FLIGHT_AIRCRAFT_NOT_FOUND);
+            }
+            generatedKeys = statement.getGeneratedKeys();
+            if (generatedKeys.next()) {
+                flight.setId(generatedKeys.getInt(1));
+            }
+            flight.setAvailableSeats(getAvailableSeats(flight.getId(), connection));
         } catch (SQLException e) {
             logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
             throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
         } finally {
+            ConnectorDB.closeResultSet(generatedKeys);
+            ConnectorDB.closeStatement(statement);
+        }
+    }
+
+    private Integer getAvailableSeats(int id, Connection connection) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_AVAILABLE_SEATS_BY_ID);
+            statement.setInt(1, id);
+            resultSet = statement.executeQuery();
+            roundTrips.incrementAndGet();
+            return resultSet.next() ? ConnectorDB.getInteger(resultSet, Parameters.AVAILABLE_SEATS_DB) : null;
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
             ConnectorDB.closeStatement(statement);
         }
     }
@@ -87,6 +127,7 @@ public class FlightDAO implements ImplFlightDAO {
             statement = connection.prepareStatement(QueriesDB.GET_FLIGHT_BY_ID);
             statement.setInt(1, id);
             resultSet = statement.executeQuery();
+            roundTrips.incrementAndGet();
             while (resultSet.next()) {
                 flightInfoMap.put(Parameters.FLIGHT_ID, String.valueOf(resultSet.getInt(Parameters.ID)));
                 flightInfoMap.put(Parameters.AIRCRAFT_FOR_FLIGHT, resultSet.getString(Parameters.AIRCRAFTS_AIRCRAFT_CODE_DB));
@@ -107,38 +148,107 @@ public class FlightDAO implements ImplFlightDAO {
     }
 
     /**
-     * This method describes actions to find the flights by the departure airport, arrival airport and the date of the flight.
+     * An additional method. Not from interface.
+     * This method reads the flight with its aircraft and airports by one query. The row of the flight is not locked:
+     * a seat is taken later by the conditional update of {@link #takeAvailableSeat(int, Connection)}, so the number
+     * of available seats which has been read may already be outdated.
      *
-     * @param depAirportForSearch   - departure airport for the search context;
-     * @param arrAirportForSearch   - arrival airport for the search context;
-     * @param dateForSearch         - date of flight for the search context;
+     * @param id                    - flight id;
      * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return                      - a list of flights that is fulfilled of the condition.
+     * @return                      - the flight or <i>null</i> if it does not exist.
      * @throws DAOException
      */
-    @Override
-    public List<Flight> getFlightsByDepArrDate(Airport depAirportForSearch, Airport arrAirportForSearch, Date dateForSearch, Connection connection) throws DAOException {
-        List<Flight> flightsFromDB = null;
+    public Flight getFlightForBooking(int id, Connection connection) throws DAOException {
+        Flight flight = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_FLIGHT_FOR_BOOKING);
+            statement.setInt(1, id);
+            resultSet = statement.executeQuery();
+            roundTrips.incrementAndGet();
+            if (resultSet.next()) {
+                flight = buildFlight(resultSet);
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+        return flight;
+    }
+
+    /**
+     * An additional method. Not from interface.
+     * This method finds the cheapest price per seat of every date of the route in the window of dates
+     * by one range query.
+     *
+     * @param departureCode         - departure airport code;
+     * @param arrivalCode           - arrival airport code;
+     * @param firstDate             - the first date of the window;
+     * @param lastDate              - the last date of the window;
+     * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @return                      - a <i>map</i> where the key is a date and the value is the cheapest price per seat.
+     * @throws DAOException
+     */
+    public Map<Date, Float> getCheapestFares(String departureCode, String arrivalCode, Date firstDate, Date lastDate,
+                                             Connection connection) throws DAOException {
+        Map<Date, Float> cheapestFares = new HashMap<>();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_CHEAPEST_FARES_BY_DEP_ARR);
+            statement.setString(1, departureCode);
+            statement.setString(2, arrivalCode);
+            statement.setDate(3, firstDate);
+            statement.setDate(4, lastDate);
+            resultSet = statement.executeQuery();
+            roundTrips.incrementAndGet();
+            while (resultSet.next()) {
+                cheapestFares.put(resultSet.getDate(Parameters.SHEDULED_DEPARTURE_DB),
+                        resultSet.getFloat(Parameters.MIN_PRICE_DB));
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+        return cheapestFares;
+    }
+
+    /**
+     * An additional method. Not from interface.
+     * This method finds the cheapest flights of the route on the date which arrive not later than the given date.
+     *
+     * @param departureCode         - departure airport code;
+     * @param arrivalCode           - arrival airport code;
+     * @param date                  - date of flight;
+     * @param latestArrival         - the latest date of arrival;
+     * @param limit                 - the maximum number of flights;
+     * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @return                      - a list of flights sorted by the price per seat.
+     * @throws DAOException
+     */
+    public List<Flight> getCheapestFlights(String departureCode, String arrivalCode, Date date, Date latestArrival,
+                                           int limit, Connection connection) throws DAOException {
+        List<Flight> flightsFromDB = new ArrayList<>();
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         try {
-            statement = connection.prepareStatement(QueriesDB.GET_FLIGHTS_BY_DEP_ARR_DATE);
-            statement.setString(1, depAirportForSearch.getAirportCode());
-            statement.setString(2, arrAirportForSearch.getAirportCode());
-            statement.setDate(3, dateForSearch);
+            statement = connection.prepareStatement(QueriesDB.GET_CHEAPEST_FLIGHTS_BY_DEP_ARR_DATE);
+            statement.setString(1, departureCode);
+            statement.setString(2, arrivalCode);
+            statement.setDate(3, date);
+            statement.setDate(4, latestArrival);
+            statement.setInt(5, limit);
             resultSet = statement.executeQuery();
-            flightsFromDB = new ArrayList<Flight>();
+            roundTrips.incrementAndGet();
             while (resultSet.next()) {
-                Flight flight = new Flight();
-                flight.setId(resultSet.getInt(Parameters.ID));
-                flight.setFlightNumber(resultSet.getString(Parameters.FLIGHT_NUMBER_DB));
-                flight.setDepartureAirport(depAirportForSearch);
-                flight.setArrivalAirport(arrAirportForSearch);
-                flight.setSheduledDeparture(dateForSearch);
-                flight.setSheduledArrival(dateForSearch);
-                flight.setAircraft(AircraftDAO.getInstance().getByCode(resultSet.getString(Parameters.AIRCRAFTS_AIRCRAFT_CODE_DB), connection));
-                flight.setPricePerSeat(resultSet.getFloat(Parameters.PRICE_PER_SEAT_DB));
-                flightsFromDB.add(flight);
+                flightsFromDB.add(buildFlight(resultSet));
             }
         } catch (SQLException e) {
             logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
@@ -151,36 +261,102 @@ public class FlightDAO implements ImplFlightDAO {
     }
 
     /**
-     * This method describes actions to find the flights by the departure and arrival airports of the flight.
+     * An additional method. Not from interface.
+     * This method takes one available seat of the flight by one conditional update, so database decides whether
+     * a seat is left even if the flight is booked by several application nodes. The seats of a flight without
+     * a counter of available seats are not checked.
      *
-     * @param depAirportForSearch   - departure airport for the search context;
-     * @param arrAirportForSearch   - arrival airport for the search context;
+     * @param id                    - flight id;
+     * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @return                      - <i>false</i> if there are no available seats to the flight.
+     * @throws DAOException
+     */
+    public boolean takeAvailableSeat(int id, Connection connection) throws DAOException {
+        return updateAvailableSeats(QueriesDB.TAKE_AVAILABLE_SEAT, id, connection) == 1;
+    }
+
+    /**
+     * An additional method. Not from interface.
+     * This method gives one seat back to the flight if the flight has a counter of available seats.
+     *
+     * @param id                    - flight id;
      * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return                      - a list of flights that is fulfilled of the condition.
+     * @throws DAOException
+     */
+    public void returnAvailableSeat(int id, Connection connection) throws DAOException {
+        updateAvailableSeats(QueriesDB.RETURN_AVAILABLE_SEAT, id, connection);
+    }
+
+    private int updateAvailableSeats(String query, int id, Connection connection) throws DAOException {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(query);
+            statement.setInt(1, id);
+            int updatedRows = statement.executeUpdate();
+            roundTrips.incrementAndGet();
+            return updatedRows;
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeStatement(statement);
+        }
+    }
+
+    /**
+     * This method describes actions to find one page of the flights of the search. The query is composed
+     * of the conditions of the search, the filters of the client and the keyset cursor of the order of the filter,
+     * so database reads only the flights of the page and one flight more.
+     *
+     * @param departureCode         - departure airport code for the search context;
+     * @param arrivalCode           - arrival airport code for the search context or <i>null</i>;
+     * @param dateForSearch         - date of flight for the search context or <i>null</i>;
+     * @param filter                - the filters and the order of the results;
+     * @param cursor                - a flight with the values of the cursor which the flights follow;
+     * @param limit                 - the maximum number of flights;
+     * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @return                      - a list of flights that is fulfilled of the condition sorted by the order of the filter.
      * @throws DAOException
      */
     @Override
-    public List<Flight> getFlightsByDepArr(Airport depAirportForSearch, Airport arrAirportForSearch, Connection connection) throws DAOException {
-        List<Flight> flightsFromDB = null;
+    public List<Flight> getFlightsPage(String departureCode, String arrivalCode, Date dateForSearch, FlightFilter filter,
+                                       Flight cursor, int limit, Connection connection) throws DAOException {
+        List<Flight> flightsFromDB = new ArrayList<Flight>();
+        StringBuilder query = new StringBuilder(QueriesDB.GET_FLIGHTS_BY_DEP);
+        List<Object> parameters = new ArrayList<Object>();
+        addSearchConditions(query, parameters, departureCode, arrivalCode, dateForSearch);
+        if (filter.getMinPrice() != null) {
+            query.append(QueriesDB.AND_MIN_PRICE_PER_SEAT);
+            parameters.add(filter.getMinPrice().doubleValue());
+        }
+        if (filter.getMaxPrice() != null) {
+            query.append(QueriesDB.AND_MAX_PRICE_PER_SEAT);
+            parameters.add(filter.getMaxPrice().doubleValue());
+        }
+        if (filter.getAircraftModel() != null) {
+            query.append(QueriesDB.AND_AIRCRAFT_MODEL);
+            parameters.add(filter.getAircraftModel());
+        }
+        if (filter.getSort() == FlightSort.PRICE) {
+            query.append(QueriesDB.AFTER_FLIGHTS_PRICE_CURSOR);
+            parameters.add((double) cursor.getPricePerSeat());
+            parameters.add((double) cursor.getPricePerSeat());
+        } else {
+            query.append(QueriesDB.AFTER_FLIGHTS_CURSOR);
+            parameters.add(cursor.getSheduledDeparture());
+            parameters.add(cursor.getSheduledDeparture());
+        }
+        parameters.add(cursor.getId());
+        parameters.add(limit);
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         try {
-            statement = connection.prepareStatement(QueriesDB.GET_FLIGHTS_BY_DEP_ARR);
-            statement.setString(1, depAirportForSearch.getAirportCode());
-            statement.setString(2, arrAirportForSearch.getAirportCode());
+            statement = connection.prepareStatement(query.toString());
+            setParameters(statement, parameters);
             resultSet = statement.executeQuery();
-            flightsFromDB = new ArrayList<Flight>();
+            roundTrips.incrementAndGet();
             while (resultSet.next()) {
-                Flight flight = new Flight();
-                flight.setId(resultSet.getInt(Parameters.ID));
-                flight.setFlightNumber(resultSet.getString(Parameters.FLIGHT_NUMBER_DB));
-                flight.setDepartureAirport(depAirportForSearch);
-                flight.setArrivalAirport(arrAirportForSearch);
-                flight.setSheduledDeparture(Date.valueOf(resultSet.getString(Parameters.SHEDULED_DEPARTURE_DB)));
-                flight.setSheduledArrival(Date.valueOf(resultSet.getString(Parameters.SHEDULED_ARRIVAL_DB)));
-                flight.setAircraft(AircraftDAO.getInstance().getByCode(resultSet.getString(Parameters.AIRCRAFTS_AIRCRAFT_CODE_DB), connection));
-                flight.setPricePerSeat(resultSet.getFloat(Parameters.PRICE_PER_SEAT_DB));
-                flightsFromDB.add(flight);
+                flightsFromDB.add(buildFlight(resultSet));
             }
         } catch (SQLException e) {
             logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
@@ -193,36 +369,37 @@ public class FlightDAO implements ImplFlightDAO {
     }
 
     /**
-     * This method describes actions to find the flights by the departure airport and the date of the flight.
+     * This method describes actions to count the flights of the search by the aircraft model and by the range
+     * of the price per seat. The flights are counted by database with one grouped query, so the counts cover
+     * all flights of the search and no flight is read.
      *
-     * @param depAirportForSearch   - departure airport for the search context;
-     * @param dateForSearch         - date of flight for the search context;
+     * @param departureCode         - departure airport code for the search context;
+     * @param arrivalCode           - arrival airport code for the search context or <i>null</i>;
+     * @param dateForSearch         - date of flight for the search context or <i>null</i>;
+     * @param priceBucketWidth      - the width of the ranges of the price per seat;
      * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return                      - a list of flights that is fulfilled of the condition.
+     * @return                      - the facet counts of all flights of the search.
      * @throws DAOException
      */
     @Override
-    public List<Flight> getFlightsByDepDate(Airport depAirportForSearch, Date dateForSearch, Connection connection) throws DAOException {
-        List<Flight> flightsFromDB = null;
+    public FlightFacets getFlightFacets(String departureCode, String arrivalCode, Date dateForSearch, float priceBucketWidth,
+                                        Connection connection) throws DAOException {
+        FlightFacets facets = new FlightFacets(priceBucketWidth);
+        StringBuilder query = new StringBuilder(QueriesDB.GET_FLIGHT_FACETS_BY_DEP);
+        List<Object> parameters = new ArrayList<Object>();
+        parameters.add((double) priceBucketWidth);
+        addSearchConditions(query, parameters, departureCode, arrivalCode, dateForSearch);
+        query.append(QueriesDB.GROUP_BY_FLIGHT_FACETS);
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         try {
-            statement = connection.prepareStatement(QueriesDB.GET_FLIGHTS_BY_DEP_DATE);
-            statement.setString(1, depAirportForSearch.getAirportCode());
-            statement.setDate(2, dateForSearch);
+            statement = connection.prepareStatement(query.toString());
+            setParameters(statement, parameters);
             resultSet = statement.executeQuery();
-            flightsFromDB = new ArrayList<Flight>();
+            roundTrips.incrementAndGet();
             while (resultSet.next()) {
-                Flight flight = new Flight();
-                flight.setId(resultSet.getInt(Parameters.ID));
-                flight.setFlightNumber(resultSet.getString(Parameters.FLIGHT_NUMBER_DB));
-                flight.setDepartureAirport(depAirportForSearch);
-                flight.setArrivalAirport(AirportDAO.getInstance().getByCode(resultSet.getString(Parameters.ARRIVAL_AIRPORT_DB), connection));
-                flight.setSheduledDeparture(dateForSearch);
-                flight.setSheduledArrival(dateForSearch);
-                flight.setAircraft(AircraftDAO.getInstance().getByCode(resultSet.getString(Parameters.AIRCRAFTS_AIRCRAFT_CODE_DB), connection));
-                flight.setPricePerSeat(resultSet.getFloat(Parameters.PRICE_PER_SEAT_DB));
-                flightsFromDB.add(flight);
+                facets.add(resultSet.getString(Parameters.AIRCRAFT_MODEL_DB), resultSet.getInt(Parameters.PRICE_BUCKET_DB),
+                        resultSet.getInt(Parameters.FLIGHTS_COUNT_DB));
             }
         } catch (SQLException e) {
             logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
@@ -231,18 +408,199 @@ public class FlightDAO implements ImplFlightDAO {
             ConnectorDB.closeResultSet(resultSet);
             ConnectorDB.closeStatement(statement);
         }
-        return flightsFromDB;
+        return facets;
+    }
+
+    /**
+     * This method appends the conditions of the search to the query which selects the flights by the departure
+     * airport: the arrival airport, the date or both.
+     *
+     * @param query                 - a query which ends with the condition on the departure airport;
+     * @param parameters            - the parameters of the query;
+     * @param departureCode         - departure airport code;
+     * @param arrivalCode           - arrival airport code or <i>null</i>;
+     * @param dateForSearch         - date of flight or <i>null</i>.
+     */
+    private void addSearchConditions(StringBuilder query, List<Object> parameters, String departureCode,
+                                     String arrivalCode, Date dateForSearch) {
+        parameters.add(departureCode);
+        if (arrivalCode != null) {
+            query.append(QueriesDB.AND_ARRIVAL_AIRPORT);
+            parameters.add(arrivalCode);
+        }
+        if (dateForSearch != null) {
+            query.append(QueriesDB.AND_DEPARTURE_DATE);
+            parameters.add(dateForSearch);
+        }
+    }
+
+    /**
+     * This method sets the parameters of a composed query in their order. The prices are passed as the double
+     * values of the floats, which are equal to the values of the <i>FLOAT</i> column, so a price of a flight
+     * which has been read is found again by the cursor.
+     *
+     * @param statement             - a statement of the query;
+     * @param parameters            - the parameters of the query.
+     * @throws SQLException
+     */
+    private void setParameters(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
     }
 
     /**
-     * ***NOT USED***
-     * This method reads and returns information from all records (rows) of a database table.
+     * An additional method. Not from interface.
+     * This method reads the flights of the search row by row and passes every flight to the handler, so the result
+     * is never kept in memory as a whole. The query is chosen like the search queries: by the departure airport
+     * together with the arrival airport, the date or both. The driver is asked to stream the rows instead of
+     * reading the whole result, therefore the connection is busy until the last row has been handled.
+     *
+     * @param depAirportForSearch   - departure airport for the search context;
+     * @param arrAirportForSearch   - arrival airport for the search context or <i>null</i>;
+     * @param dateForSearch         - date of flight for the search context or <i>null</i>;
+     * @param afterDate             - the date of departure of the cursor which the flights follow;
+     * @param afterId               - the id of the flight of the cursor which the flights follow;
+     * @param limit                 - the maximum number of flights;
+     * @param handler               - a receiver of the flights sorted by the date of departure and the id;
+     * @param connection            - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @throws DAOException
+     * @throws IOException          - if the handler has failed.
+     */
+    public void streamFlights(Airport depAirportForSearch, Airport arrAirportForSearch, Date dateForSearch,
+                              Date afterDate, int afterId, int limit, RowHandler<Flight> handler,
+                              Connection connection) throws DAOException, IOException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            int index = 1;
+            if (arrAirportForSearch != null && dateForSearch != null) {
+                statement = prepareStreamingStatement(QueriesDB.GET_FLIGHTS_BY_DEP_ARR_DATE, connection);
+            } else if (arrAirportForSearch != null) {
+                statement = prepareStreamingStatement(QueriesDB.GET_FLIGHTS_BY_DEP_ARR, connection);
+            } else {
+                statement = prepareStreamingStatement(QueriesDB.GET_FLIGHTS_BY_DEP_DATE, connection);
+            }
+            statement.setString(index++, depAirportForSearch.getAirportCode());
+            if (arrAirportForSearch != null) {
+                statement.setString(index++, arrAirportForSearch.getAirportCode());
+            }
+            if (dateForSearch != null) {
+                statement.setDate(index++, dateForSearch);
+            }
+            setFlightsCursor(statement, index, afterDate, afterId, limit);
+            resultSet = statement.executeQuery();
+            roundTrips.incrementAndGet();
+            while (resultSet.next()) {
+                handler.handle(buildFlight(resultSet));
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+    }
+
+    /**
+     * This method prepares a forward-only read-only statement whose rows are streamed by the driver one by one.
+     *
+     * @param query                 - a query;
+     * @param connection            - the current connection to a database.
+     * @return                      - a statement.
+     * @throws SQLException
+     */
+    private PreparedStatement prepareStreamingStatement(String query, Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(Integer.MIN_VALUE);
+        return statement;
+    }
+
+    /**
+     * This method sets the parameters of the keyset cursor of the search queries.
+     *
+     * @param statement             - a statement of the search query;
+     * @param index                 - the index of the first parameter of the cursor;
+     * @param afterDate             - the date of departure of the cursor;
+     * @param afterId               - the id of the flight of the cursor;
+     * @param limit                 - the maximum number of flights.
+     * @throws SQLException
+     */
+    private void setFlightsCursor(PreparedStatement statement, int index, Date afterDate, int afterId, int limit)
+            throws SQLException {
+        statement.setDate(index, afterDate);
+        statement.setDate(index + 1, afterDate);
+        statement.setInt(index + 2, afterId);
+        statement.setInt(index + 3, limit);
+    }
+
+    /**
+     * This method builds the flight object with its aircraft and airports from the current row of the result
+     * of the joined query.
+     *
+     * @param resultSet             - the result of the query which is positioned on the current row.
+     * @return                      - a flight object.
+     * @throws SQLException
+     */
+    private Flight buildFlight(ResultSet resultSet) throws SQLException {
+        Flight flight = new Flight();
+        flight.setId(resultSet.getInt(Parameters.ID));
+        flight.setFlightNumber(resultSet.getString(Parameters.FLIGHT_NUMBER_DB));
+        flight.setDepartureAirport(new Airport(resultSet.getString(Parameters.DEPARTURE_AIRPORT_DB_AS),
+                resultSet.getString(Parameters.DEPARTURE_AIRPORT_NAME_DB_AS),
+                resultSet.getString(Parameters.DEPARTURE_AIRPORT_CITY_DB_AS)));
+        flight.setArrivalAirport(new Airport(resultSet.getString(Parameters.ARRIVAL_AIRPORT_DB_AS),
+                resultSet.getString(Parameters.ARRIVAL_AIRPORT_NAME_DB_AS),
+                resultSet.getString(Parameters.ARRIVAL_AIRPORT_CITY_DB_AS)));
+        flight.setSheduledDeparture(resultSet.getDate(Parameters.SHEDULED_DEPARTURE_DB));
+        flight.setSheduledArrival(resultSet.getDate(Parameters.SHEDULED_ARRIVAL_DB));
+        Aircraft aircraft = new Aircraft(resultSet.getString(Parameters.AIRCRAFT_CODE_DB),
+                resultSet.getString(Parameters.AIRCRAFT_MODEL_DB));
+        aircraft.setSeats(ConnectorDB.getInteger(resultSet, Parameters.AIRCRAFT_SEATS_DB));
+        flight.setAircraft(aircraft);
+        flight.setPricePerSeat(resultSet.getFloat(Parameters.PRICE_PER_SEAT_DB));
+        flight.setAvailableSeats(ConnectorDB.getInteger(resultSet, Parameters.AVAILABLE_SEATS_DB));
+        return flight;
+    }
+
+    /**
+     * This method gives the number of queries which have been executed by the class. The searches of flights
+     * are executed with one query each.
+     *
+     * @return                      - the number of round trips to database.
+     */
+    public static long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    /**
+     * This method reads and returns information from all records (rows) of a database table. The flights
+     * are read with their aircrafts and airports by one query and are sorted by the date of departure.
      *
      * @param connection - the current connection to a database. Transmitted from the service module to provide transactions.
      * @return - list of all entities from a database table.
      */
     @Override
     public List<Flight> getAll(Connection connection) throws DAOException {
-        return null;
+        List<Flight> flightsFromDB = new ArrayList<Flight>();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_ALL_FLIGHTS);
+            resultSet = statement.executeQuery();
+            roundTrips.incrementAndGet();
+            while (resultSet.next()) {
+                flightsFromDB.add(buildFlight(resultSet));
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+        return flightsFromDB;
     }
 }
\ No newline at end of file
@@ -3,14 +3,19 @@ package by.htp.hermanovich.airline.dao.implementations;
 import by.htp.hermanovich.airline.constants.MessageConstants;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.dao.ImplTicketDAO;
+import by.htp.hermanovich.airline.dao.RowHandler;
 import by.htp.hermanovich.airline.entities.*;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
 import by.htp.hermanovich.airline.constants.QueriesDB;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import org.apache.log4j.Logger;
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Description: This class contains implementation of interface methods which works with <i>tickets</i> database table.
@@ -87,6 +92,36 @@ public class TicketDAO implements ImplTicketDAO {
         }
     }
 
+    /**
+     * An additional method. Not from interface.
+     * This method reads id of the flight which the ticket has been booked to.
+     *
+     * @param ticketNumber  - a ticket number;
+     * @param connection    - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @return              - flight id or <i>0</i> if the ticket does not exist.
+     * @throws DAOException
+     */
+    public int getFlightIdByNumber(String ticketNumber, Connection connection) throws DAOException {
+        int flightId = 0;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_FLIGHT_ID_BY_TICKET_NUMBER);
+            statement.setString(1, ticketNumber);
+            resultSet = statement.executeQuery();
+            if (resultSet.next()) {
+                flightId = resultSet.getInt(1);
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+        return flightId;
+    }
+
     /**
      * This method reads and returns information about user's tickets from a database table.
      *
@@ -116,6 +151,40 @@ public class TicketDAO implements ImplTicketDAO {
         return ticketsList;
     }
 
+    /**
+     * An additional method. Not from interface.
+     * This method reads the user's tickets row by row and passes every ticket to the handler, so the tickets
+     * are never kept in memory as a whole. One ticket object is reused for all rows.
+     *
+     * @param user          - an user object with necessary fields;
+     * @param handler       - a receiver of the tickets;
+     * @param connection    - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @throws DAOException
+     * @throws IOException  - if the handler has failed.
+     */
+    public void streamAllUsersTickets(User user, RowHandler<Ticket> handler, Connection connection)
+            throws DAOException, IOException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_ALL_TICKETS_BY_USER, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setInt(1, user.getId());
+            resultSet = statement.executeQuery();
+            Ticket ticket = new Ticket();
+            while (resultSet.next()) {
+                handler.handle(createTicketFromDB(user, resultSet, ticket));
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+    }
+
     /**
      * An additional method. Not from interface.
      * This method creates an entity of ticket from resultSet.
@@ -249,34 +318,78 @@ public class TicketDAO implements ImplTicketDAO {
 
     /**
      * An additional method. Not from interface.
-     * This method checks the uniqueness of the ticket number.
+     * This method reserves a block of sequence values for ticket numbers. The sequence table is created by
+     * the schema migration. The value of the sequence is increased atomically by database, so the blocks which
+     * are reserved by different application nodes never overlap.
      *
-     * @param number        - a ticket number that will be processed.
-     * @param connection    - the current connection to a database. Transmitted from the service module to provide transactions.
-     * @return              - a boolean value of the condition.
+     * @param blockSize     - the number of sequence values in the block.
+     * @param connection    - a connection to a database in the autocommit mode, so the block is reserved
+     *                      independently from the transaction of the booking.
+     * @return              - the end of the reserved block (exclusive); the block starts at <i>end - blockSize</i>.
      * @throws DAOException
      */
-    public boolean checkUniqueNumber(String number, Connection connection) throws DAOException {
-        boolean isUnique = true;
+    public long reserveNumberBlock(int blockSize, Connection connection) throws DAOException {
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         try {
-            statement = connection.prepareStatement(QueriesDB.GET_TICKET_BY_NUMBER);
-            statement.setString(1, number);
+            statement = connection.prepareStatement(QueriesDB.RESERVE_TICKET_NUMBER_BLOCK);
+            statement.setInt(1, blockSize);
+            statement.executeUpdate();
+            ConnectorDB.closeStatement(statement);
+            statement = connection.prepareStatement(QueriesDB.GET_LAST_INSERT_ID);
             resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                isUnique = false;
-            }
+            resultSet.next();
+            return resultSet.getLong(1);
         } catch (SQLException e) {
-            logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
             throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
         } finally {
             ConnectorDB.closeResultSet(resultSet);
             ConnectorDB.closeStatement(statement);
         }
-        return isUnique;
     }
 
+    /**
+     * An additional method. Not from interface.
+     * This method finds which of the given ticket numbers are already used by tickets in database, for example
+     * by the tickets which have been issued before the ticket numbers were taken from the sequence.
+     *
+     * @param ticketNumbers - ticket numbers which will be checked.
+     * @param connection    - the current connection to a database.
+     * @return              - a set of the ticket numbers which are already used.
+     * @throws DAOException
+     */
+    public Set<String> getExistingTicketNumbers(Collection<String> ticketNumbers, Connection connection) throws DAOException {
+        Set<String> existingNumbers = new HashSet<>();
+        if (ticketNumbers.isEmpty()) {
+            return existingNumbers;
+        }
+        StringBuilder query = new StringBuilder(QueriesDB.GET_EXISTING_TICKET_NUMBERS);
+        for (int i = 0; i < ticketNumbers.size(); i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(')');
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(query.toString());
+            int index = 1;
+            for (String ticketNumber : ticketNumbers) {
+                statement.setString(index++, ticketNumber);
+            }
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                existingNumbers.add(resultSet.getString(1));
+            }
+            return existingNumbers;
+        } catch (SQLException e) {
+            logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+            throw new DAOException(MessageConstants.EXECUTE_QUERY_ERROR, e);
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+    }
 
     /**
      * ***NOT USED***
@@ -0,0 +1,235 @@
+package by.htp.hermanovich.airline.dao.search;
+
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.Itinerary;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Description: This class describes a search engine of the itineraries with connections. The engine keeps
+ * a time-expanded graph of the flights: every airport has its departures sorted by the date, so the flights which
+ * can continue an itinerary from the airport are found by one range of dates. The range starts after the minimum
+ * connection time and ends with the maximum connection time. The times of the flights are kept in database as dates,
+ * so the connection times are measured in days.
+ * The graph is immutable, so one engine can serve concurrent searches. A new engine is built when the flights change.
+ */
+public class ConnectionSearchEngine {
+
+    /**
+     * The itineraries are ranked by the total price, then by the duration and then by the number of stops.
+     */
+    public static final Comparator<Itinerary> RANKING = Comparator.comparingDouble(Itinerary::getTotalPrice)
+            .thenComparingLong(Itinerary::getDurationDays)
+            .thenComparingInt(Itinerary::getStops);
+
+    private final Map<String, NavigableMap<Date, List<Flight>>> departures = new HashMap<>();
+    private final Map<String, Map<String, NavigableMap<Date, List<Flight>>>> routes = new HashMap<>();
+    private final Map<String, Set<String>> feeders = new HashMap<>();
+    private final int minConnectionDays;
+    private final int maxConnectionDays;
+    private final int flightCount;
+
+    /**
+     * @param flights               - all flights of the graph; the flights must not be modified while the engine is used;
+     * @param minConnectionDays     - the minimum number of days between the arrival and the next departure;
+     * @param maxConnectionDays     - the maximum number of days between the arrival and the next departure.
+     */
+    public ConnectionSearchEngine(Collection<Flight> flights, int minConnectionDays, int maxConnectionDays) {
+        this.minConnectionDays = minConnectionDays;
+        this.maxConnectionDays = maxConnectionDays;
+        this.flightCount = flights.size();
+        for (Flight flight : flights) {
+            String departureCode = flight.getDepartureAirport().getAirportCode();
+            String arrivalCode = flight.getArrivalAirport().getAirportCode();
+            addToDay(departures.computeIfAbsent(departureCode, code -> new TreeMap<>()), flight);
+            addToDay(routes.computeIfAbsent(departureCode, code -> new HashMap<>())
+                    .computeIfAbsent(arrivalCode, code -> new TreeMap<>()), flight);
+            feeders.computeIfAbsent(arrivalCode, code -> new HashSet<>()).add(departureCode);
+        }
+        Comparator<Flight> byPrice = Comparator.comparingDouble(Flight::getPricePerSeat);
+        for (NavigableMap<Date, List<Flight>> airportDepartures : departures.values()) {
+            for (List<Flight> dayFlights : airportDepartures.values()) {
+                dayFlights.sort(byPrice);
+            }
+        }
+        for (Map<String, NavigableMap<Date, List<Flight>>> arrivals : routes.values()) {
+            for (NavigableMap<Date, List<Flight>> route : arrivals.values()) {
+                for (List<Flight> dayFlights : route.values()) {
+                    dayFlights.sort(byPrice);
+                }
+            }
+        }
+    }
+
+    private static void addToDay(NavigableMap<Date, List<Flight>> days, Flight flight) {
+        days.computeIfAbsent(flight.getSheduledDeparture(), date -> new ArrayList<>(2)).add(flight);
+    }
+
+    /**
+     * This method finds the itineraries with one or more stops from the origin to the destination which depart
+     * on the date. An airport is never visited twice by one itinerary. The search uses the following rules
+     * to skip the branches which can not give a better itinerary:
+     *      - the last leg is taken from the flights of the route to the destination only;
+     *      - the last but one leg is taken only to an airport which has direct flights to the destination;
+     *      - the flights of every day are sorted by the price, so the flights are skipped as soon as the price
+     *          of the itinerary exceeds the price of the worst of the best itineraries found so far.
+     *
+     * @param originCode        - departure airport code;
+     * @param destinationCode   - arrival airport code;
+     * @param date              - date of departure of the first leg;
+     * @param maxStops          - the maximum number of stops;
+     * @param limit             - the maximum number of itineraries.
+     * @return                  - the best itineraries sorted by the {@link #RANKING}.
+     */
+    public List<Itinerary> search(String originCode, String destinationCode, Date date, int maxStops, int limit) {
+        Set<String> feedersOfDestination = feeders.get(destinationCode);
+        NavigableMap<Date, List<Flight>> originDepartures = departures.get(originCode);
+        if (maxStops < 1 || limit < 1 || feedersOfDestination == null || originDepartures == null
+                || originCode.equals(destinationCode)) {
+            return new ArrayList<>();
+        }
+        Search search = new Search(originCode, destinationCode, feedersOfDestination, maxStops, limit);
+        for (Flight firstLeg : originDepartures.getOrDefault(date, Collections.<Flight>emptyList())) {
+            if (!search.isAffordable(firstLeg)) {
+                break;
+            }
+            String hubCode = firstLeg.getArrivalAirport().getAirportCode();
+            if (!hubCode.equals(destinationCode) && search.canReach(hubCode, maxStops)) {
+                search.visit(firstLeg);
+            }
+        }
+        List<Itinerary> result = new ArrayList<>(search.best);
+        result.sort(RANKING);
+        return result;
+    }
+
+    private NavigableMap<Date, List<Flight>> window(NavigableMap<Date, List<Flight>> days, Date arrival) {
+        Date earliest = Date.valueOf(arrival.toLocalDate().plusDays(minConnectionDays));
+        Date latest = Date.valueOf(arrival.toLocalDate().plusDays(maxConnectionDays));
+        return days.subMap(earliest, true, latest, true);
+    }
+
+    /**
+     * Description: The state of one search: the current path of legs and the best itineraries found so far.
+     */
+    private class Search {
+        private final String originCode;
+        private final String destinationCode;
+        private final Set<String> feedersOfDestination;
+        private final int maxLegs;
+        private final int limit;
+        private final PriorityQueue<Itinerary> best;
+        private final List<Flight> path;
+        private float pathPrice;
+
+        Search(String originCode, String destinationCode, Set<String> feedersOfDestination, int maxStops, int limit) {
+            this.originCode = originCode;
+            this.destinationCode = destinationCode;
+            this.feedersOfDestination = feedersOfDestination;
+            this.maxLegs = maxStops + 1;
+            this.limit = limit;
+            this.best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            this.path = new ArrayList<>(maxLegs);
+        }
+
+        /**
+         * This method adds the leg to the path, continues the path from the arrival airport of the leg
+         * and removes the leg from the path.
+         */
+        void visit(Flight leg) {
+            path.add(leg);
+            pathPrice += leg.getPricePerSeat();
+            String hubCode = leg.getArrivalAirport().getAirportCode();
+            int remainingLegs = maxLegs - path.size();
+            Map<String, NavigableMap<Date, List<Flight>>> hubRoutes = routes.get(hubCode);
+            NavigableMap<Date, List<Flight>> lastLegs = hubRoutes != null ? hubRoutes.get(destinationCode) : null;
+            if (lastLegs != null) {
+                for (List<Flight> dayFlights : window(lastLegs, leg.getSheduledArrival()).values()) {
+                    for (Flight lastLeg : dayFlights) {
+                        if (!isAffordable(lastLeg)) {
+                            break;
+                        }
+                        path.add(lastLeg);
+                        offer(new Itinerary(path));
+                        path.remove(path.size() - 1);
+                    }
+                }
+            }
+            NavigableMap<Date, List<Flight>> hubDepartures = departures.get(hubCode);
+            if (remainingLegs > 1 && hubDepartures != null) {
+                for (List<Flight> dayFlights : window(hubDepartures, leg.getSheduledArrival()).values()) {
+                    for (Flight nextLeg : dayFlights) {
+                        if (!isAffordable(nextLeg)) {
+                            break;
+                        }
+                        String nextCode = nextLeg.getArrivalAirport().getAirportCode();
+                        if (!nextCode.equals(destinationCode) && !isVisited(nextCode)
+                                && canReach(nextCode, remainingLegs - 1)) {
+                            visit(nextLeg);
+                        }
+                    }
+                }
+            }
+            pathPrice -= leg.getPricePerSeat();
+            path.remove(path.size() - 1);
+        }
+
+        /**
+         * This method checks if the destination can be reached from the airport with the given number of legs.
+         * With one leg left the airport must have direct flights to the destination.
+         */
+        boolean canReach(String airportCode, int remainingLegs) {
+            if (remainingLegs == 1) {
+                return feedersOfDestination.contains(airportCode);
+            }
+            return departures.containsKey(airportCode);
+        }
+
+        /**
+         * This method checks if the itinerary with the leg can still be better than the worst of the best itineraries.
+         */
+        boolean isAffordable(Flight leg) {
+            return best.size() < limit || pathPrice + leg.getPricePerSeat() <= best.peek().getTotalPrice();
+        }
+
+        private boolean isVisited(String airportCode) {
+            if (originCode.equals(airportCode)) {
+                return true;
+            }
+            for (Flight leg : path) {
+                if (leg.getArrivalAirport().getAirportCode().equals(airportCode)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void offer(Itinerary itinerary) {
+            if (best.size() < limit) {
+                best.add(itinerary);
+            } else if (RANKING.compare(itinerary, best.peek()) < 0) {
+                best.poll();
+                best.add(itinerary);
+            }
+        }
+    }
+
+    /**
+     * @return      - the number of flights in the graph.
+     */
+    public int getFlightCount() {
+        return flightCount;
+    }
+}
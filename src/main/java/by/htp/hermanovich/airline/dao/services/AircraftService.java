@@ -1,8 +1,12 @@
 package by.htp.hermanovich.airline.dao.services;
 
 import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.MetricConstants;
 import by.htp.hermanovich.airline.dao.implementations.AircraftDAO;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import org.apache.log4j.Logger;
@@ -42,33 +46,29 @@ public class AircraftService {
     }
 
     /**
-     * This method checks the uniqueness of the aircraft. This method implements work with transaction support.
+     * This method checks the uniqueness of the aircraft. This method works in the read-only mode.
      *
      * @param aircraft      - an airport object with fields will be checked.
      * @return              - boolean value of the condition.
      * @throws SQLException
      */
     public boolean isUniqueAircraft(Aircraft aircraft) throws SQLException {
-        boolean isUnique = false;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            if (AircraftDAO.getInstance().checkUniqueAircraft(aircraft.getAircraftCode(), connection)) {
-                isUnique = true;
-            }
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.AIRCRAFT_SERVICE_IS_UNIQUE_AIRCRAFT, () -> {
+            boolean isUnique = false;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                if (AircraftDAO.getInstance().checkUniqueAircraft(aircraft.getAircraftCode(), connection)) {
+                    isUnique = true;
+                }
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return isUnique;
+            return isUnique;
+        });
     }
 
     /**
@@ -78,75 +78,77 @@ public class AircraftService {
      * @throws SQLException
      */
     public void createAircraft(Aircraft aircraft) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            AircraftDAO.getInstance().add(aircraft, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.AIRCRAFT_SERVICE_CREATE_AIRCRAFT, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                AircraftDAO.getInstance().add(aircraft, connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
-     * This method receives all aircrafts from database. This method implements work with transaction support.
+     * This method receives all aircrafts from database. This method works in the read-only mode.
      *
      * @return          - a list of aircrafts from the database.
      * @throws SQLException
      */
     public List<Aircraft> showAllAircrafts() throws SQLException {
-        List<Aircraft> aircraftList;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            aircraftList = AircraftDAO.getInstance().getAll(connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.AIRCRAFT_SERVICE_SHOW_ALL_AIRCRAFTS, () -> {
+            List<Aircraft> cachedAircrafts = ReferenceDataCache.getInstance().getAllAircrafts();
+            if (cachedAircrafts != null) {
+                return cachedAircrafts;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return aircraftList;
+            List<Aircraft> aircraftList;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                aircraftList = AircraftDAO.getInstance().getAll(connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return aircraftList;
+        });
     }
 
     /**
-     * This method receive an aircraft from database by code. This method implements work with transaction support.
+     * This method receive an aircraft from database by code. This method works in the read-only mode.
      *
      * @param aircraftCode      - an aircraftCode for query to database to find an aircraft in the database.
      * @return                  - an entity of aircraft from database.
      */
     public Aircraft getAircraftFromDB(String aircraftCode) throws SQLException {
-        Aircraft aircraftFromDB;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            aircraftFromDB = AircraftDAO.getInstance().getByCode(aircraftCode, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.AIRCRAFT_SERVICE_GET_AIRCRAFT_FROM_DB, () -> {
+            Aircraft cachedAircraft = ReferenceDataCache.getInstance().getAircraft(aircraftCode);
+            if (cachedAircraft != null) {
+                return cachedAircraft;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return aircraftFromDB;
+            Aircraft aircraftFromDB;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                aircraftFromDB = AircraftDAO.getInstance().getByCode(aircraftCode, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return aircraftFromDB;
+        });
     }
 }
\ No newline at end of file
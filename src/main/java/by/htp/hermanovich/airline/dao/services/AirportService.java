@@ -1,9 +1,14 @@
 package by.htp.hermanovich.airline.dao.services;
 
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.MetricConstants;
 import by.htp.hermanovich.airline.dao.implementations.AirportDAO;
 import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.dao.cache.AirportPrefixIndex;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
 import by.htp.hermanovich.airline.entities.Airport;
 import org.apache.log4j.Logger;
 import java.sql.Connection;
@@ -41,33 +46,29 @@ public class AirportService {
     }
 
     /**
-     * This method checks the uniqueness of the airport. This method implements work with transaction support.
+     * This method checks the uniqueness of the airport. This method works in the read-only mode.
      *
      * @param airport   - an airport object with fields will be checked.
      * @return          - boolean value of the condition.
      * @throws SQLException
      */
     public boolean isUniqueAirport(Airport airport) throws SQLException {
-        boolean isUnique = false;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            if (AirportDAO.getInstance().checkUniqueAirport(airport.getAirportCode(), connection)) {
-                isUnique = true;
-            }
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.AIRPORT_SERVICE_IS_UNIQUE_AIRPORT, () -> {
+            boolean isUnique = false;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                if (AirportDAO.getInstance().checkUniqueAirport(airport.getAirportCode(), connection)) {
+                    isUnique = true;
+                }
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return isUnique;
+            return isUnique;
+        });
     }
 
     /**
@@ -77,75 +78,98 @@ public class AirportService {
      * @throws SQLException
      */
     public void createAirport(Airport airport) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            AirportDAO.getInstance().add(airport, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.AIRPORT_SERVICE_CREATE_AIRPORT, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                AirportDAO.getInstance().add(airport, connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
-     * This method receives all airports from database. This method implements work with transaction support.
+     * This method receives all airports from database. This method works in the read-only mode.
      *
      * @return          - a list of airports received from database.
      * @throws SQLException
      */
     public List<Airport> showAllAirports() throws SQLException {
-        List<Airport> airportList;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            airportList = AirportDAO.getInstance().getAll(connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.AIRPORT_SERVICE_SHOW_ALL_AIRPORTS, () -> {
+            List<Airport> cachedAirports = ReferenceDataCache.getInstance().getAllAirports();
+            if (cachedAirports != null) {
+                return cachedAirports;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return airportList;
+            List<Airport> airportList;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                airportList = AirportDAO.getInstance().getAll(connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return airportList;
+        });
+    }
+
+    /**
+     * This method finds the airports for the autocomplete of the search form by a prefix of the code, a word
+     * of the name or a word of the city. The airports are found by the prefix index of the reference data cache;
+     * if airports are not cached the index is built from the airports of database.
+     *
+     * @param prefix        - a prefix typed by the user;
+     * @param limit         - the maximum number of airports.
+     * @return              - a list of the matching airports.
+     * @throws SQLException
+     */
+    public List<Airport> findAirportsByPrefix(String prefix, int limit) throws SQLException {
+        return MetricsRegistry.time(MetricConstants.AIRPORT_SERVICE_FIND_AIRPORTS_BY_PREFIX, () -> {
+            List<Airport> cachedAirports = ReferenceDataCache.getInstance().findAirports(prefix, limit);
+            if (cachedAirports != null) {
+                return cachedAirports;
+            }
+            return new AirportPrefixIndex(showAllAirports()).find(prefix, limit);
+        });
     }
 
     /**
-     * This method receives an entity of an airport from the database. This method implements work with transaction support.
+     * This method receives an entity of an airport from the database. This method works in the read-only mode.
      *
      * @param airportCode               - an airportCode for query to database to find an aircraft in the database.
      * @return                          - an entity of airport from database.
      * @throws SQLException
      */
     public Airport getAirportFromDB(String airportCode) throws SQLException {
-        Airport airport;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            airport = AirportDAO.getInstance().getByCode(airportCode, connection);
-            connection.commit();
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.AIRPORT_SERVICE_GET_AIRPORT_FROM_DB, () -> {
+            Airport cachedAirport = ReferenceDataCache.getInstance().getAirport(airportCode);
+            if (cachedAirport != null) {
+                return cachedAirport;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return airport;
+            Airport airport;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                airport = AirportDAO.getInstance().getByCode(airportCode, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return airport;
+        });
     }
 }
\ No newline at end of file
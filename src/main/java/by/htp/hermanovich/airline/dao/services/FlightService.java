@@ -1,18 +1,45 @@
 package by.htp.hermanovich.airline.dao.services;
 
+import by.htp.hermanovich.airline.constants.ConfigConstant;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.MetricConstants;
 import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.RowHandler;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.cache.FlightIndex;
+import by.htp.hermanovich.airline.dao.cache.FlightSearchCache;
 import by.htp.hermanovich.airline.dao.implementations.FlightDAO;
+import by.htp.hermanovich.airline.dao.search.ConnectionSearchEngine;
 import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.FareCalendar;
+import by.htp.hermanovich.airline.entities.FlightFacets;
+import by.htp.hermanovich.airline.entities.FlightFilter;
+import by.htp.hermanovich.airline.entities.FlightSort;
+import by.htp.hermanovich.airline.entities.FlightsPage;
+import by.htp.hermanovich.airline.entities.Itinerary;
+import by.htp.hermanovich.airline.entities.RoundTrip;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
 import by.htp.hermanovich.airline.entities.Flight;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
 import by.htp.hermanovich.airline.entities.Airport;
 import org.apache.log4j.Logger;
 
+import java.io.IOException;
 import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 /**
  * Description: This class describes actions on the flight object.
@@ -24,6 +51,11 @@ public class FlightService {
 
     private volatile static FlightService instance;
 
+    private static final Date LATEST_DATE = Date.valueOf("9999-12-31");
+
+    private volatile ConnectionSearchEngine connectionEngine;
+    private volatile long connectionEngineVersion = -1;
+
     public FlightService() {
     }
 
@@ -45,28 +77,36 @@ public class FlightService {
 
     /**
      * This method registers new flight of the airline company.
-     * This method implements work with transaction support.
+     * This method implements work with transaction support. The flight is added to the flight index
+     * and the cached searches of its route are removed after the transaction is committed.
      *
      * @param flight   - a new flight object will be registered.
      * @throws SQLException
      */
-    public void addFlightToDB(Flight flight) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            FlightDAO.getInstance().add(flight, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+    public void addFlightToDB(final Flight flight) throws SQLException {
+        MetricsRegistry.timeAction(MetricConstants.FLIGHT_SERVICE_ADD_FLIGHT_TO_DB, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                FlightDAO.getInstance().add(flight, connection);
+                connection.commit();
+                UnitOfWork.runAfterCommit(() -> {
+                    FlightIndex.getInstance().addFlight(flight);
+                    FlightSearchCache.getInstance().invalidate(flight);
+                    DataVersion.getInstance().increment(DataVersion.Domain.FLIGHTS);
+                });
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
@@ -80,26 +120,22 @@ public class FlightService {
      * @throws SQLException
      */
     public Flight getFlightById(int id) throws SQLException {
-        Flight flight = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            HashMap<String, String> flightInfoMap = FlightDAO.getInstance().getFlightInfoById(id, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-            flight = buildFlightFromMap(flightInfoMap);
-            flight.setId(Integer.parseInt(flightInfoMap.get(Parameters.FLIGHT_ID)));
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.FLIGHT_SERVICE_GET_FLIGHT_BY_ID, () -> {
+            Flight flight = null;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                HashMap<String, String> flightInfoMap = FlightDAO.getInstance().getFlightInfoById(id, connection);
+                flight = buildFlightFromMap(flightInfoMap);
+                flight.setId(Integer.parseInt(flightInfoMap.get(Parameters.FLIGHT_ID)));
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return flight;
+            return flight;
+        });
     }
 
     /**
@@ -115,145 +151,440 @@ public class FlightService {
      * @throws SQLException
      */
     public Flight buildFlightFromMap(HashMap<String, String> flightInfoMap) throws SQLException {
-        Flight flight = new Flight();
-        try {
-            Aircraft aircraftForFlight = AircraftService.getInstance().getAircraftFromDB(flightInfoMap.get(Parameters.AIRCRAFT_FOR_FLIGHT));
-            Airport departureForFlight = AirportService.getInstance().getAirportFromDB(flightInfoMap.get(Parameters.DEPARTURE_FOR_FLIGHT));
-            Airport arrivalForFlight = AirportService.getInstance().getAirportFromDB(flightInfoMap.get(Parameters.ARRIVAL_FOR_FLIGHT));
-            if (aircraftForFlight != null && departureForFlight != null && arrivalForFlight != null) {
-                flight.setAircraft(aircraftForFlight);
-                flight.setFlightNumber(flightInfoMap.get(Parameters.FLIGHT_NUMBER_FOR_FLIGHT));
-                flight.setDepartureAirport(departureForFlight);
-                flight.setArrivalAirport(arrivalForFlight);
-                flight.setSheduledDeparture(Date.valueOf(flightInfoMap.get(Parameters.DATE_OF_FLIGHT)));
-                flight.setSheduledArrival(Date.valueOf(flightInfoMap.get(Parameters.DATE_OF_FLIGHT)));
-                flight.setPricePerSeat(Float.parseFloat(flightInfoMap.get(Parameters.PRICE_PER_SEAT)));
+        return MetricsRegistry.time(MetricConstants.FLIGHT_SERVICE_BUILD_FLIGHT_FROM_MAP, () -> {
+            Flight flight = new Flight();
+            try {
+                Aircraft aircraftForFlight = AircraftService.getInstance().getAircraftFromDB(flightInfoMap.get(Parameters.AIRCRAFT_FOR_FLIGHT));
+                Airport departureForFlight = AirportService.getInstance().getAirportFromDB(flightInfoMap.get(Parameters.DEPARTURE_FOR_FLIGHT));
+                Airport arrivalForFlight = AirportService.getInstance().getAirportFromDB(flightInfoMap.get(Parameters.ARRIVAL_FOR_FLIGHT));
+                if (aircraftForFlight != null && departureForFlight != null && arrivalForFlight != null) {
+                    flight.setAircraft(aircraftForFlight);
+                    flight.setFlightNumber(flightInfoMap.get(Parameters.FLIGHT_NUMBER_FOR_FLIGHT));
+                    flight.setDepartureAirport(departureForFlight);
+                    flight.setArrivalAirport(arrivalForFlight);
+                    flight.setSheduledDeparture(Date.valueOf(flightInfoMap.get(Parameters.DATE_OF_FLIGHT)));
+                    flight.setSheduledArrival(Date.valueOf(flightInfoMap.get(Parameters.DATE_OF_FLIGHT)));
+                    flight.setPricePerSeat(Float.parseFloat(flightInfoMap.get(Parameters.PRICE_PER_SEAT)));
+                }
+            } catch (SQLException e) {
+                logger.error(MessageConstants.DATABASE_ACCESS_ERROR);
+                throw new SQLException(MessageConstants.DATABASE_ACCESS_ERROR, e);
             }
-        } catch (SQLException e) {
-            logger.error(MessageConstants.DATABASE_ACCESS_ERROR);
-            throw new SQLException(MessageConstants.DATABASE_ACCESS_ERROR, e);
-        }
-        return flight;
+            return flight;
+        });
+    }
+
+    /**
+     * This method finds one page of the results of the flight search with the facet counts of all results.
+     * The search context is determined by the parameters in the <i>searchConditions</i> map: the departure airport
+     * together with the arrival airport, the date or both.
+     * If the flight index is available its flights of the search are scanned once: every flight is counted
+     * in the facets and the flights which pass the filters and follow the cursor in the order of the filter are offered
+     * to a heap which keeps the first flights of the page. Otherwise database reads only the page by one query with
+     * the filters and the keyset cursor and counts the facets by one grouped query; both are kept by
+     * the {@link FlightSearchCache}, the facets once per search. One flight more than the size of the page is taken to know if there
+     * is the next page.
+     *
+     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values;
+     * @param filter                - the filters and the order of the results;
+     * @param cursor                - a flight with the values of the cursor which the page starts after.
+     * @return                      - a page of flights.
+     * @throws SQLException
+     */
+    public FlightsPage identifySearchContext(HashMap<String, String> searchConditions, FlightFilter filter,
+                                             Flight cursor) throws SQLException {
+        return MetricsRegistry.time(MetricConstants.FLIGHT_SERVICE_IDENTIFY_SEARCH_CONTEXT, () -> {
+            ConfigManagerApp config = ConfigManagerApp.getInstance();
+            int pageSize = Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_SEARCH_PAGE_SIZE));
+            float priceStep = Float.parseFloat(config.getProperty(ConfigConstant.FLIGHT_SEARCH_FACETS_PRICE_STEP));
+            String departureCode = searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT);
+            String arrivalCode = searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT);
+            String dateOfFlight = searchConditions.get(Parameters.DATE_OF_FLIGHT);
+            Date dateForSearch = dateOfFlight != null ? Date.valueOf(dateOfFlight) : null;
+            List<Flight> firstFlights = Collections.emptyList();
+            FlightFacets facets = new FlightFacets(priceStep);
+            if (departureCode != null && (arrivalCode != null || dateForSearch != null)) {
+                if (FlightIndex.getInstance().isAvailable()) {
+                    firstFlights = findPageInIndex(departureCode, arrivalCode, dateForSearch, filter, cursor,
+                            pageSize + 1, facets);
+                } else {
+                    firstFlights = findPageInDB(searchConditions, departureCode, arrivalCode, dateForSearch, filter,
+                            cursor, pageSize + 1);
+                    facets = findFacetsInDB(searchConditions, departureCode, arrivalCode, dateForSearch, priceStep);
+                }
+            }
+            boolean hasNextPage = firstFlights.size() > pageSize;
+            List<Flight> pageFlights = new ArrayList<>(pageSize);
+            for (Flight flight : firstFlights.subList(0, Math.min(pageSize, firstFlights.size()))) {
+                pageFlights.add(new Flight(flight));
+            }
+            applySeatInventory(pageFlights);
+            return new FlightsPage(departureCode, arrivalCode, dateOfFlight, filter, cursor, pageFlights, hasNextPage, facets);
+        });
     }
 
     /**
-     * This method identifies a search context. The method determines the context according to the
-     * parameters in the <i>searchConditions</i> map with corresponding values. The search context has
-     * three search options following bellow:
-     *          - the <i>searchConditions</i> has departure, arrival and date keys;
-     *          - the <i>searchConditions</i> has departure and arrival keys;
-     *          - the <i>searchConditions</i> has departure and date keys.
-     * Each option means calling to the corresponding method of the flight service module
+     * This method finds the first flights of the page in the flight index and counts all flights of the search
+     * in the facets by one scan of the flights of the search. The flights are shared and must not be modified.
      *
-     * @return                      - a result list of flights.
-     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values.
+     * @param departureCode         - departure airport code;
+     * @param arrivalCode           - arrival airport code or <i>null</i>;
+     * @param dateForSearch         - date of flight or <i>null</i>;
+     * @param filter                - the filters and the order of the results;
+     * @param cursor                - a flight with the values of the cursor which the page starts after;
+     * @param limit                 - the maximum number of flights;
+     * @param facets                - the facet counts which the flights of the search are added to.
+     * @return                      - a list of flights sorted by the order of the filter.
      */
-    public List<Flight> identifySearchContext(HashMap<String, String> searchConditions) throws SQLException {
-        List<Flight> flightsFromDB = null;
-        try {
-            if (searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
-                    && searchConditions.containsKey(Parameters.ARRIVAL_FOR_FLIGHT)
-                    && searchConditions.containsKey(Parameters.DATE_OF_FLIGHT)) {
-                flightsFromDB = getFlightsByDepArrDateFromDB(searchConditions);
-            } else if (searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
-                    && searchConditions.containsKey(Parameters.ARRIVAL_FOR_FLIGHT)) {
-                flightsFromDB = getFlightsByDepArrFromDB(searchConditions);
-            } else if (searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
-                    && searchConditions.containsKey(Parameters.DATE_OF_FLIGHT)) {
-                flightsFromDB = getFlightsByDepDateFromDB(searchConditions);
+    private List<Flight> findPageInIndex(String departureCode, String arrivalCode, Date dateForSearch, FlightFilter filter,
+                                         Flight cursor, int limit, FlightFacets facets) {
+        Comparator<Flight> order = filter.getSort().getOrder();
+        PriorityQueue<Flight> firstFlights = new PriorityQueue<>(limit + 1, order.reversed());
+        for (Flight flight : FlightIndex.getInstance().findFlights(departureCode, arrivalCode, dateForSearch)) {
+            facets.add(flight);
+            if (filter.accepts(flight) && order.compare(flight, cursor) > 0) {
+                if (firstFlights.size() < limit) {
+                    firstFlights.add(flight);
+                } else if (order.compare(flight, firstFlights.peek()) < 0) {
+                    firstFlights.poll();
+                    firstFlights.add(flight);
+                }
             }
-        } catch (SQLException e) {
-            logger.error(MessageConstants.DATABASE_ACCESS_ERROR);
-            throw new SQLException(MessageConstants.DATABASE_ACCESS_ERROR, e);
         }
-        return flightsFromDB;
+        List<Flight> sortedFlights = new ArrayList<>(firstFlights);
+        sortedFlights.sort(order);
+        return sortedFlights;
     }
 
     /**
-     * This method describes actions to find the flights by the departure airport and the date of the flight.
+     * This method finds the first flights of the page in database through the {@link FlightSearchCache}.
+     * The filters and the cursor are conditions of the query, so only the flights of the page are read.
      *
-     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values.
-     * @return                      - a result list of flights.
+     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values;
+     * @param departureCode         - departure airport code;
+     * @param arrivalCode           - arrival airport code or <i>null</i>;
+     * @param dateForSearch         - date of flight or <i>null</i>;
+     * @param filter                - the filters and the order of the results;
+     * @param cursor                - a flight with the values of the cursor which the page starts after;
+     * @param limit                 - the maximum number of flights.
+     * @return                      - a list of flights sorted by the order of the filter.
      * @throws SQLException
      */
-    private List<Flight> getFlightsByDepDateFromDB(HashMap<String, String> searchConditions) throws SQLException {
-        List<Flight> flightsFromDB = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            Airport depAirportForSearch = AirportService.getInstance().getAirportFromDB(searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT));
-            Date dateForSearch = Date.valueOf(searchConditions.get(Parameters.DATE_OF_FLIGHT));
-            flightsFromDB = FlightDAO.getInstance().getFlightsByDepDate(depAirportForSearch, dateForSearch, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+    private List<Flight> findPageInDB(HashMap<String, String> searchConditions, final String departureCode,
+                                      final String arrivalCode, final Date dateForSearch, final FlightFilter filter,
+                                      final Flight cursor, final int limit) throws SQLException {
+        return FlightSearchCache.getInstance().getPage(searchConditions, filter, cursor, limit, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                return FlightDAO.getInstance().getFlightsPage(departureCode, arrivalCode, dateForSearch, filter,
+                        cursor, limit, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return flightsFromDB;
+        });
     }
 
     /**
-     * This method describes actions to find the flights by the departure airport, arrival airport of the flight.
+     * This method counts all flights of the search in database through the {@link FlightSearchCache}.
+     * The query of the page reads only the flights which pass the filters and follow the cursor, so it can not count
+     * all flights of the search, and the facets are counted by one grouped query instead. The facets are cached
+     * by the search conditions only, so the query is executed once per search and not for every page or filter.
      *
-     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values.
-     * @return                      - a result list of flights.
+     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values;
+     * @param departureCode         - departure airport code;
+     * @param arrivalCode           - arrival airport code or <i>null</i>;
+     * @param dateForSearch         - date of flight or <i>null</i>;
+     * @param priceStep             - the width of the ranges of the price per seat.
+     * @return                      - the facet counts of all flights of the search.
      * @throws SQLException
      */
-    private List<Flight> getFlightsByDepArrFromDB(HashMap<String, String> searchConditions) throws SQLException {
-        List<Flight> flightsFromDB = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            Airport depAirportForSearch = AirportService.getInstance().getAirportFromDB(searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT));
-            Airport arrAirportForSearch = AirportService.getInstance().getAirportFromDB(searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT));
-            flightsFromDB = FlightDAO.getInstance().getFlightsByDepArr(depAirportForSearch, arrAirportForSearch, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+    private FlightFacets findFacetsInDB(HashMap<String, String> searchConditions, final String departureCode,
+                                        final String arrivalCode, final Date dateForSearch, final float priceStep)
+            throws SQLException {
+        return FlightSearchCache.getInstance().getFacets(searchConditions, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                return FlightDAO.getInstance().getFlightFacets(departureCode, arrivalCode, dateForSearch, priceStep,
+                        connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-        } finally {
-            ConnectorDB.closeConnection(connection);
+        });
+    }
+
+    /**
+     * This method passes the flights of the search to the handler one by one without building the list
+     * of the results, so it suits the responses which are written straight to the stream. The flights are sorted
+     * by the date of departure and the id and follow the cursor. If the flight index is available its flights
+     * are passed without copying, otherwise the rows of the query are streamed from database. The flights
+     * are shared and must not be modified; the current number of seats is given by {@link #getAvailableSeats(Flight)}.
+     *
+     * @param searchConditions      - the <i>searchConditions</i> map with the departure airport and the arrival
+     *                                  airport, the date or both;
+     * @param afterDate             - the date of departure of the cursor which the flights follow;
+     * @param afterId               - the id of the flight of the cursor which the flights follow;
+     * @param limit                 - the maximum number of flights;
+     * @param handler               - a receiver of the flights.
+     * @throws SQLException
+     * @throws IOException          - if the handler has failed.
+     */
+    public void streamFlights(Map<String, String> searchConditions, Date afterDate, int afterId, int limit,
+                              RowHandler<Flight> handler) throws SQLException, IOException {
+        MetricsRegistry.timeAction(MetricConstants.FLIGHT_SERVICE_STREAM_FLIGHTS, () -> {
+            String departureCode = searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT);
+            String arrivalCode = searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT);
+            String dateOfFlight = searchConditions.get(Parameters.DATE_OF_FLIGHT);
+            Date dateForSearch = dateOfFlight != null ? Date.valueOf(dateOfFlight) : null;
+            FlightIndex flightIndex = FlightIndex.getInstance();
+            if (flightIndex.isAvailable()) {
+                List<Flight> flights = flightIndex.findFlights(departureCode, arrivalCode, dateForSearch);
+                Comparator<Flight> order = FlightSort.DEPARTURE.getOrder();
+                flights.sort(order);
+                Flight cursor = FlightsPage.cursorOf(afterDate, FlightsPage.FIRST_PAGE_PRICE, afterId);
+                int count = 0;
+                for (Flight flight : flights) {
+                    if (count == limit) {
+                        break;
+                    }
+                    if (order.compare(flight, cursor) > 0) {
+                        handler.handle(flight);
+                        count++;
+                    }
+                }
+                return;
+            }
+            AirportService airportService = AirportService.getInstance();
+            Airport depAirportForSearch = airportService.getAirportFromDB(departureCode);
+            Airport arrAirportForSearch = arrivalCode != null ? airportService.getAirportFromDB(arrivalCode) : null;
+            if (depAirportForSearch == null || arrivalCode != null && arrAirportForSearch == null) {
+                return;
+            }
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                FlightDAO.getInstance().streamFlights(depAirportForSearch, arrAirportForSearch, dateForSearch,
+                        afterDate, afterId, limit, handler, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+        });
+    }
+
+    /**
+     * This method replaces the number of available seats of the flights with the number which the seat inventory
+     * has seen last, because the flights of the flight index and of the cached searches are not read again
+     * after every booking.
+     *
+     * @param flights               - a result list of flights.
+     */
+    private void applySeatInventory(List<Flight> flights) {
+        if (flights == null) {
+            return;
         }
-        return flightsFromDB;
+        for (Flight flight : flights) {
+            flight.setAvailableSeats(getAvailableSeats(flight));
+        }
+    }
+
+    /**
+     * This method gives the number of available seats to the flight: the number which the seat inventory has seen
+     * last if the flight has been booked, otherwise the number which has been read from database.
+     *
+     * @param flight                - a flight.
+     * @return                      - the number of available seats or <i>null</i> if the seats are not checked.
+     */
+    public Integer getAvailableSeats(Flight flight) {
+        Integer availableSeats = SeatInventoryService.getInstance().getAvailableSeats(flight.getId());
+        return availableSeats != null ? availableSeats : flight.getAvailableSeats();
+    }
+
+    /**
+     * This method builds a calendar of the cheapest fares of the route around the searched date. The window
+     * of dates is either the whole month of the date or the given number of days before and after the date.
+     * The fares are found by one scan of the flight index if it is available, otherwise by one range query.
+     *
+     * @param searchConditions      - the <i>searchConditions</i> map with departure, arrival and date keys;
+     * @param flexibleDates         - <i>month</i> or the number of days before and after the date.
+     * @return                      - a calendar of the cheapest fares.
+     * @throws SQLException
+     */
+    public FareCalendar getFareCalendar(HashMap<String, String> searchConditions, String flexibleDates) throws SQLException {
+        return MetricsRegistry.time(MetricConstants.FLIGHT_SERVICE_GET_FARE_CALENDAR, () -> {
+            String departureCode = searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT);
+            String arrivalCode = searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT);
+            Date selectedDate = Date.valueOf(searchConditions.get(Parameters.DATE_OF_FLIGHT));
+            LocalDate firstDate;
+            LocalDate lastDate;
+            if (Parameters.FLEXIBLE_DATES_MONTH.equals(flexibleDates)) {
+                firstDate = selectedDate.toLocalDate().withDayOfMonth(1);
+                lastDate = firstDate.plusMonths(1).minusDays(1);
+            } else {
+                int days = Integer.parseInt(flexibleDates);
+                firstDate = selectedDate.toLocalDate().minusDays(days);
+                lastDate = selectedDate.toLocalDate().plusDays(days);
+            }
+            Map<Date, Float> fares;
+            FlightIndex flightIndex = FlightIndex.getInstance();
+            if (flightIndex.isAvailable()) {
+                fares = flightIndex.findCheapestFares(departureCode, arrivalCode, Date.valueOf(firstDate), Date.valueOf(lastDate));
+            } else {
+                Connection connection = null;
+                try {
+                    connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                    fares = FlightDAO.getInstance().getCheapestFares(departureCode, arrivalCode,
+                            Date.valueOf(firstDate), Date.valueOf(lastDate), connection);
+                } catch (SQLException | DAOException e) {
+                    logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                    throw new SQLException(e);
+                } finally {
+                    ConnectorDB.closeConnection(connection);
+                }
+            }
+            Map<LocalDate, Float> cheapestFares = new HashMap<>();
+            for (Map.Entry<Date, Float> fare : fares.entrySet()) {
+                cheapestFares.put(fare.getKey().toLocalDate(), fare.getValue());
+            }
+            return new FareCalendar(departureCode, arrivalCode, selectedDate, flexibleDates, firstDate, lastDate, cheapestFares);
+        });
     }
 
     /**
-     * This method describes actions to find the flights by the departure airport, arrival airport and the date of the flight.
+     * This method finds the itineraries with connections from the departure airport to the arrival airport
+     * which depart on the date. The itineraries are found by the {@link ConnectionSearchEngine} which is rebuilt
+     * only after a new flight has been registered.
      *
-     * @param searchConditions      - the <i>searchConditions</i> map with corresponding values.
-     * @return                      - a result list of flights.
+     * @param searchConditions      - the <i>searchConditions</i> map with departure, arrival and date keys.
+     * @return                      - the best itineraries with one or more stops.
      * @throws SQLException
      */
-    private List<Flight> getFlightsByDepArrDateFromDB(HashMap<String, String> searchConditions) throws SQLException {
-        List<Flight> flightsFromDB = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            Airport depAirportForSearch = AirportService.getInstance().getAirportFromDB(searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT));
-            Airport arrAirportForSearch = AirportService.getInstance().getAirportFromDB(searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT));
-            Date dateForSearch = Date.valueOf(searchConditions.get(Parameters.DATE_OF_FLIGHT));
-            flightsFromDB = FlightDAO.getInstance().getFlightsByDepArrDate(depAirportForSearch, arrAirportForSearch, dateForSearch, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+    public List<Itinerary> findConnections(HashMap<String, String> searchConditions) throws SQLException {
+        return MetricsRegistry.time(MetricConstants.FLIGHT_SERVICE_FIND_CONNECTIONS, () -> {
+            ConfigManagerApp config = ConfigManagerApp.getInstance();
+            return getConnectionEngine().search(searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT),
+                    searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT),
+                    Date.valueOf(searchConditions.get(Parameters.DATE_OF_FLIGHT)),
+                    Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_CONNECTION_STOPS_MAX)),
+                    Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_CONNECTION_RESULTS_MAX)));
+        });
+    }
+
+    /**
+     * This method finds the cheapest round trips: the outbound flights of the route on the date paired with the return
+     * flights of the reverse route on the return date. An outbound flight must arrive not later than the return date.
+     * The best <i>N</i> pairs consist only of the <i>N</i> cheapest flights of each direction, so only those flights
+     * are read. The pairs are produced in the order of the total price by a merge of the two lists sorted by the price:
+     * a heap keeps the cheapest pairs which have not been taken yet and every taken pair adds its two neighbours.
+     *
+     * @param searchConditions      - the <i>searchConditions</i> map with departure, arrival and date keys;
+     * @param returnDate            - the date of the return flight.
+     * @return                      - the cheapest round trips sorted by the total price.
+     * @throws SQLException
+     */
+    public List<RoundTrip> findRoundTrips(HashMap<String, String> searchConditions, Date returnDate) throws SQLException {
+        return MetricsRegistry.time(MetricConstants.FLIGHT_SERVICE_FIND_ROUND_TRIPS, () -> {
+            String departureCode = searchConditions.get(Parameters.DEPARTURE_FOR_FLIGHT);
+            String arrivalCode = searchConditions.get(Parameters.ARRIVAL_FOR_FLIGHT);
+            Date outboundDate = Date.valueOf(searchConditions.get(Parameters.DATE_OF_FLIGHT));
+            int limit = Integer.parseInt(ConfigManagerApp.getInstance().getProperty(ConfigConstant.FLIGHT_ROUND_TRIP_RESULTS_MAX));
+            List<RoundTrip> roundTrips = new ArrayList<>();
+            if (returnDate.before(outboundDate)) {
+                return roundTrips;
+            }
+            List<Flight> outboundFlights;
+            List<Flight> returnFlights;
+            FlightIndex flightIndex = FlightIndex.getInstance();
+            if (flightIndex.isAvailable()) {
+                outboundFlights = flightIndex.findCheapest(departureCode, arrivalCode, outboundDate, returnDate, limit);
+                returnFlights = flightIndex.findCheapest(arrivalCode, departureCode, returnDate, LATEST_DATE, limit);
+            } else {
+                Connection connection = null;
+                try {
+                    connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                    outboundFlights = FlightDAO.getInstance().getCheapestFlights(departureCode, arrivalCode,
+                            outboundDate, returnDate, limit, connection);
+                    returnFlights = FlightDAO.getInstance().getCheapestFlights(arrivalCode, departureCode,
+                            returnDate, LATEST_DATE, limit, connection);
+                } catch (SQLException | DAOException e) {
+                    logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                    throw new SQLException(e);
+                } finally {
+                    ConnectorDB.closeConnection(connection);
+                }
+            }
+            applySeatInventory(outboundFlights);
+            applySeatInventory(returnFlights);
+            if (outboundFlights.isEmpty() || returnFlights.isEmpty()) {
+                return roundTrips;
+            }
+            int returnCount = returnFlights.size();
+            PriorityQueue<int[]> candidates = new PriorityQueue<>(Comparator.<int[]>comparingDouble(pair ->
+                    outboundFlights.get(pair[0]).getPricePerSeat() + returnFlights.get(pair[1]).getPricePerSeat()));
+            Set<Integer> offered = new HashSet<>();
+            candidates.add(new int[]{0, 0});
+            offered.add(0);
+            while (roundTrips.size() < limit && !candidates.isEmpty()) {
+                int[] pair = candidates.poll();
+                roundTrips.add(new RoundTrip(outboundFlights.get(pair[0]), returnFlights.get(pair[1])));
+                if (pair[0] + 1 < outboundFlights.size() && offered.add((pair[0] + 1) * returnCount + pair[1])) {
+                    candidates.add(new int[]{pair[0] + 1, pair[1]});
+                }
+                if (pair[1] + 1 < returnCount && offered.add(pair[0] * returnCount + pair[1] + 1)) {
+                    candidates.add(new int[]{pair[0], pair[1] + 1});
+                }
+            }
+            return roundTrips;
+        });
+    }
+
+    /**
+     * This method gives the connection search engine which is built over the current flights. The flights are taken
+     * from the flight index if it is available, otherwise they are read from database.
+     *
+     * @return                      - a connection search engine.
+     * @throws SQLException
+     */
+    private ConnectionSearchEngine getConnectionEngine() throws SQLException {
+        long version = DataVersion.getInstance().get(DataVersion.Domain.FLIGHTS);
+        ConnectionSearchEngine engine = connectionEngine;
+        if (engine != null && connectionEngineVersion == version) {
+            return engine;
+        }
+        synchronized (this) {
+            if (connectionEngine == null || connectionEngineVersion != version) {
+                List<Flight> flights;
+                FlightIndex flightIndex = FlightIndex.getInstance();
+                if (flightIndex.isAvailable()) {
+                    flights = flightIndex.getFlights();
+                } else {
+                    Connection connection = null;
+                    try {
+                        connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                        flights = FlightDAO.getInstance().getAll(connection);
+                    } catch (SQLException | DAOException e) {
+                        logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                        throw new SQLException(e);
+                    } finally {
+                        ConnectorDB.closeConnection(connection);
+                    }
+                }
+                ConfigManagerApp config = ConfigManagerApp.getInstance();
+                connectionEngine = new ConnectionSearchEngine(flights,
+                        Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_CONNECTION_DAYS_MIN)),
+                        Integer.parseInt(config.getProperty(ConfigConstant.FLIGHT_CONNECTION_DAYS_MAX)));
+                connectionEngineVersion = version;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-        } finally {
-            ConnectorDB.closeConnection(connection);
+            return connectionEngine;
         }
-        return flightsFromDB;
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package by.htp.hermanovich.airline.dao.services;
 
 import by.htp.hermanovich.airline.dao.implementations.LuggageDAO;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.MetricConstants;
 import by.htp.hermanovich.airline.entities.Luggage;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import org.apache.log4j.Logger;
@@ -39,30 +43,27 @@ public class LuggageService {
     }
 
     /**
-     * This method checks the uniqueness of the luggage. This method implements work with transaction support.
+     * This method checks the uniqueness of the luggage. This method works in the read-only mode.
      *
      * @param luggage   - an luggage object with fields will be checked.
      * @return          - boolean value of the condition.
      */
     public boolean isUniqueLuggage(Luggage luggage) throws SQLException {
-        boolean isUnique = false;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            if (LuggageDAO.getInstance().checkUniqueLuggage(luggage.getLuggageType(), connection)) {
-                isUnique = true;
+        return MetricsRegistry.time(MetricConstants.LUGGAGE_SERVICE_IS_UNIQUE_LUGGAGE, () -> {
+            boolean isUnique = false;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                if (LuggageDAO.getInstance().checkUniqueLuggage(luggage.getLuggageType(), connection)) {
+                    isUnique = true;
+                }
+            } catch (SQLException | DAOException e) {
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
-            }
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-            throw new SQLException(e);
-        }
-        return isUnique;
+            return isUnique;
+        });
     }
 
     /**
@@ -72,22 +73,24 @@ public class LuggageService {
      * @throws SQLException
      */
     public void addLuggage(Luggage luggage) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            LuggageDAO.getInstance().add(luggage, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.LUGGAGE_SERVICE_ADD_LUGGAGE, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                LuggageDAO.getInstance().add(luggage, connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
@@ -96,22 +99,24 @@ public class LuggageService {
      * @param luggage   - a luggage type which will be deleted from database.
      */
     public void deleteLuggage(Luggage luggage) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            LuggageDAO.getInstance().deleteById(luggage.getId(), connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.LUGGAGE_SERVICE_DELETE_LUGGAGE, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                LuggageDAO.getInstance().deleteById(luggage.getId(), connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
@@ -122,24 +127,24 @@ public class LuggageService {
      * @throws SQLException
      */
     public Luggage getLuggageById(int id) throws SQLException {
-        Luggage luggage = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            luggage = LuggageDAO.getInstance().getById(id, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.LUGGAGE_SERVICE_GET_LUGGAGE_BY_ID, () -> {
+            Luggage cachedLuggage = ReferenceDataCache.getInstance().getLuggage(id);
+            if (cachedLuggage != null) {
+                return cachedLuggage;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return luggage;
+            Luggage luggage = null;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                luggage = LuggageDAO.getInstance().getById(id, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return luggage;
+        });
     }
 
     /**
@@ -150,23 +155,24 @@ public class LuggageService {
      * @throws SQLException
      */
     public Luggage getLuggageFromDB(Luggage luggage) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            luggage = LuggageDAO.getInstance().getByType(luggage.getLuggageType(), connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.LUGGAGE_SERVICE_GET_LUGGAGE_FROM_DB, () -> {
+            Luggage cachedLuggage = ReferenceDataCache.getInstance().getLuggage(luggage.getLuggageType());
+            if (cachedLuggage != null) {
+                return cachedLuggage;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return luggage;
+            Luggage luggageFromDB;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                luggageFromDB = LuggageDAO.getInstance().getByType(luggage.getLuggageType(), connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return luggageFromDB;
+        });
     }
 
     /**
@@ -176,24 +182,24 @@ public class LuggageService {
      * @throws SQLException
      */
     public List<Luggage> showAllLuggageTypes() throws SQLException {
-        List<Luggage> luggageTypesFromDB;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            luggageTypesFromDB = LuggageDAO.getInstance().getAll(connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.LUGGAGE_SERVICE_SHOW_ALL_LUGGAGE_TYPES, () -> {
+            List<Luggage> cachedLuggageTypes = ReferenceDataCache.getInstance().getAllLuggage();
+            if (cachedLuggageTypes != null) {
+                return cachedLuggageTypes;
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return luggageTypesFromDB;
+            List<Luggage> luggageTypesFromDB;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                luggageTypesFromDB = LuggageDAO.getInstance().getAll(connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+            return luggageTypesFromDB;
+        });
     }
 
     /**
@@ -203,21 +209,23 @@ public class LuggageService {
      * @throws SQLException
      */
     public void updateLuggage(Luggage luggage) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            LuggageDAO.getInstance().update(luggage, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        }  catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.LUGGAGE_SERVICE_UPDATE_LUGGAGE, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                LuggageDAO.getInstance().update(luggage, connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            }  catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 }
@@ -0,0 +1,109 @@
+package by.htp.hermanovich.airline.dao.services;
+
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.implementations.FlightDAO;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
+
+import java.sql.Connection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Description: This class describes the inventory of seats of the flights. The number of available seats of a flight
+ * is kept in the <i>available_seats</i> column of the <i>flights</i> database table. A seat is taken by a conditional
+ * update of the column in the transaction of the booking, so database decides whether a seat is left and a flight
+ * is not oversold even when several application nodes book it. A flight whose aircraft has no known number of seats
+ * has no counter and its seats are not checked.
+ * The numbers of available seats which the node has seen after its own committed bookings and returns are kept
+ * in memory, so the flights of the flight index and of the cached searches are shown with them.
+ */
+public class SeatInventoryService {
+    private volatile static SeatInventoryService instance;
+
+    private final ConcurrentHashMap<Integer, Integer> knownSeats = new ConcurrentHashMap<>();
+
+    private SeatInventoryService() {
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static SeatInventoryService getInstance() {
+        if (instance == null) {
+            synchronized (SeatInventoryService.class) {
+                if (instance == null) {
+                    instance = new SeatInventoryService();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method takes a seat of the flight in the transaction of the booking. The seat is given back by database
+     * if the transaction is rolled back.
+     *
+     * @param flight        - the flight which has been read in the transaction of the booking;
+     * @param connection    - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @return              - <i>false</i> if there are no available seats to the flight.
+     * @throws DAOException
+     */
+    public boolean reserveSeat(Flight flight, Connection connection) throws DAOException {
+        return FlightDAO.getInstance().takeAvailableSeat(flight.getId(), connection);
+    }
+
+    /**
+     * This method remembers the number of available seats of the flight after the transaction of the booking
+     * has been committed. The number is calculated from the unlocked read of the flight, so it is an estimate
+     * for the searches and database keeps the exact number.
+     *
+     * @param flight        - the flight which has been read in the transaction of the booking.
+     */
+    public void confirmSeat(Flight flight) {
+        final int flightId = flight.getId();
+        final Integer availableSeats = flight.getAvailableSeats();
+        UnitOfWork.runAfterCommit(() -> {
+            if (availableSeats != null) {
+                knownSeats.put(flightId, availableSeats - 1);
+            }
+            DataVersion.getInstance().increment(DataVersion.Domain.SEATS);
+        });
+    }
+
+    /**
+     * This method gives back the seat of the returned ticket in the transaction of the return.
+     *
+     * @param flightId      - flight id;
+     * @param connection    - the current connection to a database. Transmitted from the service module to provide transactions.
+     * @throws DAOException
+     */
+    public void returnSeat(final int flightId, Connection connection) throws DAOException {
+        FlightDAO.getInstance().returnAvailableSeat(flightId, connection);
+    }
+
+    /**
+     * This method updates the remembered number of available seats of the flight after the transaction
+     * of the return has been committed.
+     *
+     * @param flightId      - flight id.
+     */
+    public void confirmReturn(final int flightId) {
+        UnitOfWork.runAfterCommit(() -> {
+            knownSeats.computeIfPresent(flightId, (id, availableSeats) -> availableSeats + 1);
+            DataVersion.getInstance().increment(DataVersion.Domain.SEATS);
+        });
+    }
+
+    /**
+     * This method gives the number of available seats to the flight which the node has seen last.
+     *
+     * @param flightId      - flight id.
+     * @return              - the number of available seats or <i>null</i> if the flight has not been booked yet.
+     */
+    public Integer getAvailableSeats(int flightId) {
+        return knownSeats.get(flightId);
+    }
+}
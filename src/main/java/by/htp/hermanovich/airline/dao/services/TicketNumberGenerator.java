@@ -1,18 +1,49 @@
 package by.htp.hermanovich.airline.dao.services;
 
-import java.util.Random;
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.dao.implementations.TicketDAO;
+import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.managers.ConfigManagerDB;
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import org.apache.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Description: This class describes actions to generate an unique ticket number.
+ * A ticket number is six letters, so there are 26^6 different numbers. Every number is obtained from the value
+ * of a counter with a bijective permutation of the keyspace <i>(A * value + B) mod 26^6</i>, where <i>A</i> is coprime
+ * with 26, and is written in base 26. Different values of the counter always give different numbers, while consecutive
+ * numbers do not look sequential. The values of the counter are reserved by blocks in database, so every application
+ * node takes the numbers from its own block. The numbers of a new block are checked against the tickets in database
+ * with one query, and the numbers which have been issued by the former random generator are skipped.
  *
  * Created by Yauheni Hermanovich on 24.07.2017.
  */
 public class TicketNumberGenerator {
+    private static final Logger logger = Logger.getLogger(TicketNumberGenerator.class);
     private volatile static TicketNumberGenerator instance;
-    private static String charString = "abcdefghijklmnopqrstuvwxyz";
     private static final int ticketNumberLength = 6;
+    private static final int radix = 26;
+    private static final long keyspace = 308915776L;
+    private static final long multiplier = 179424691L;
+    private static final long increment = 104729L;
+
+    private final int blockSize;
+    private long nextValue;
+    private long blockEnd;
+    private long reservedValues;
+    private Set<String> usedNumbers = Collections.emptySet();
 
     public TicketNumberGenerator() {
+        blockSize = Integer.parseInt(ConfigManagerDB.getInstance().getProperty(ConfigConstant.DB_TICKET_NUMBER_BLOCK_SIZE));
     }
 
     /**
@@ -32,16 +63,91 @@ public class TicketNumberGenerator {
     }
 
     /**
-     * This method generates an unique ticket number for the client.
+     * This method generates an unique ticket number for the client. A new block of values is reserved
+     * in database only when the current block is exhausted.
      *
      * @return  - an unique string that means an unique ticket number.
+     * @throws SQLException
+     */
+    public synchronized String generateTicketNumber() throws SQLException {
+        String ticketNumber;
+        do {
+            if (nextValue >= blockEnd) {
+                reserveBlock();
+            }
+            ticketNumber = encode(nextValue++);
+        } while (usedNumbers.contains(ticketNumber));
+        return ticketNumber;
+    }
+
+    /**
+     * This method gives the number of ticket numbers which can still be generated. The values which have been
+     * reserved by other application nodes are considered as used.
+     *
+     * @return  - the number of remaining ticket numbers.
+     */
+    public synchronized long getRemainingKeyspace() {
+        return keyspace - reservedValues + (blockEnd - nextValue);
+    }
+
+    /**
+     * This method reserves the next block of values of the counter. The block is reserved on a connection which
+     * does not take part in the transaction of the booking, so it is not returned if the booking is rolled back.
+     * The numbers of the block which are already used by existing tickets are remembered and skipped.
+     *
+     * @throws SQLException
+     */
+    private void reserveBlock() throws SQLException {
+        long end;
+        Set<String> existingNumbers;
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getIndependentConnection(TransactionMode.READ_WRITE);
+            end = TicketDAO.getInstance().reserveNumberBlock(blockSize, connection);
+            if (end > keyspace) {
+                logger.error(MessageConstants.TICKET_NUMBERS_EXHAUSTED);
+                throw new SQLException(MessageConstants.TICKET_NUMBERS_EXHAUSTED);
+            }
+            existingNumbers = TicketDAO.getInstance().getExistingTicketNumbers(encodeBlock(end - blockSize, end), connection);
+        } catch (DAOException e) {
+            throw new SQLException(e);
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+        usedNumbers = existingNumbers;
+        nextValue = end - blockSize;
+        blockEnd = end;
+        reservedValues = end;
+        logger.info(MessageConstants.TICKET_NUMBER_BLOCK_RESERVED + nextValue + " - " + (blockEnd - 1)
+                + ", remaining keyspace: " + getRemainingKeyspace());
+    }
+
+    /**
+     * @param start     - the first value of the block;
+     * @param end       - the end of the block (exclusive).
+     * @return          - the ticket numbers of all values of the block.
+     */
+    static List<String> encodeBlock(long start, long end) {
+        List<String> ticketNumbers = new ArrayList<>((int) (end - start));
+        for (long value = start; value < end; value++) {
+            ticketNumbers.add(encode(value));
+        }
+        return ticketNumbers;
+    }
+
+    /**
+     * This method permutes the value of the counter and writes it with letters.
+     *
+     * @param value     - a value of the counter.
+     * @return          - a ticket number.
      */
-    public String generateTicketNumber() {
-        Random random = new Random();
+    static String encode(long value) {
+        long permuted = (multiplier * value + increment) % keyspace;
         char[] number = new char[ticketNumberLength];
-        for (int i = 0; i < ticketNumberLength; i++) {
-            number[i] = charString.charAt(random.nextInt(charString.length()));
+        for (int i = ticketNumberLength - 1; i >= 0; i--) {
+            number[i] = (char) ('A' + permuted % radix);
+            permuted /= radix;
         }
-        return String.valueOf(number).toUpperCase();
+        return String.valueOf(number);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,17 @@
 package by.htp.hermanovich.airline.dao.services;
 
-import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.entities.User;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.MetricConstants;
+import by.htp.hermanovich.airline.dao.RowHandler;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
+import by.htp.hermanovich.airline.dao.implementations.FlightDAO;
+import by.htp.hermanovich.airline.dao.implementations.LuggageDAO;
 import by.htp.hermanovich.airline.dao.implementations.TicketDAO;
 import by.htp.hermanovich.airline.entities.Flight;
 import by.htp.hermanovich.airline.entities.Luggage;
@@ -12,9 +20,9 @@ import by.htp.hermanovich.airline.exceptions.DAOException;
 import org.apache.log4j.Logger;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -47,94 +55,75 @@ public class TicketService {
     }
 
     /**
-     * This method create a new entity of ticket from a <i>map</i> of parameters.
-     * The map is passed the the method as a parameter. The method invokes and directs
-     * the control to other service classes of this module:
-     *      - UserService
-     *      - FlightService
-     *      - LuggageService
+     * This method books a ticket to the flight for the user. The booking is executed as a pipeline
+     * in one transaction with the following stages:
+     *      - the flight is read with its aircraft and airports by one query without a lock,
+     *          the luggage type is taken from the reference data cache;
+     *      - the total price of the ticket is calculated;
+     *      - an unique ticket number is allocated;
+     *      - a seat is taken in the {@link SeatInventoryService} by a conditional update of the row of the flight
+     *          and the ticket is inserted to database table. The seat is taken at the end of the transaction,
+     *          so the row of the flight is locked only from the update to the commit.
+     * The latency of every stage is recorded to the stage histograms of {@link MetricsRegistry}. If the booking takes
+     * part in a unit of work the commit is deferred to the end of the unit of work, which measures it.
      *
-     * @param ticketInfoMap     - a map with parameters.
-     * @return                  - an entity of ticket.
+     * @param user          - the user from the session who books the ticket.
+     * @param flightId      - flight id;
+     * @param luggageId     - luggage id;
+     * @return              - the booked ticket.
      * @throws SQLException
      */
-    public Ticket createTicket(HashMap<String, String> ticketInfoMap) throws SQLException {
-        Ticket ticket = new Ticket();
-        try {
-            User user = UserService.getInstance().getUserByLogin(ticketInfoMap.get(Parameters.LOGIN));
-            Flight flight = FlightService.getInstance().getFlightById(Integer.parseInt(ticketInfoMap.get(Parameters.FLIGHT_ID)));
-            Luggage luggage = LuggageService.getInstance().getLuggageById(Integer.parseInt(ticketInfoMap.get(Parameters.LUGGAGE_ID)));
-            String ticketNumber = createTicketNumber();
-            float totalPrice = (flight.getPricePerSeat() + luggage.getPrice());
-            if (user != null && flight != null && luggage != null
-                    && ticketNumber != null && !ticketNumber.isEmpty() ) {
-                ticket.setTicketNumber(ticketNumber);
+    public Ticket bookTicket(User user, int flightId, int luggageId) throws SQLException {
+        return MetricsRegistry.time(MetricConstants.TICKET_SERVICE_BOOK_TICKET, () -> {
+            SeatInventoryService seatInventory = SeatInventoryService.getInstance();
+            Ticket ticket = new Ticket();
+            Connection connection = null;
+            try {
+                long stageStart = System.nanoTime();
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                Flight flight = FlightDAO.getInstance().getFlightForBooking(flightId, connection);
+                Luggage luggage = ReferenceDataCache.getInstance().getLuggage(luggageId);
+                if (luggage == null) {
+                    luggage = LuggageDAO.getInstance().getById(luggageId, connection);
+                }
+                if (user == null || flight == null || luggage == null) {
+                    throw new SQLException(MessageConstants.BOOKING_VALIDATION_ERROR);
+                }
+                stageStart = MetricsRegistry.recordStage(MetricConstants.BOOKING_STAGE_VALIDATE, stageStart);
                 ticket.setUser(user);
                 ticket.setFlight(flight);
                 ticket.setLuggage(luggage);
-                ticket.setTotalPrice(totalPrice);
-            }
-        } catch (SQLException e) {
-            logger.error(MessageConstants.DATABASE_ACCESS_ERROR);
-            throw new SQLException(MessageConstants.DATABASE_ACCESS_ERROR, e);
-        }
-        return ticket;
-    }
-
-    /**
-     * This method create an unique ticket number for the client and checks this number for the uniqueness.
-     *
-     * @return  - an unique string that means an unique ticket number.
-     */
-    private String createTicketNumber() throws SQLException {
-        String number = "";
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            while (true) {
-                number = TicketNumberGenerator.getInstance().generateTicketNumber();
-                if (TicketDAO.getInstance().checkUniqueNumber(number, connection)) {
-                    break;
+                ticket.setTotalPrice(flight.getPricePerSeat() + luggage.getPrice());
+                stageStart = MetricsRegistry.recordStage(MetricConstants.BOOKING_STAGE_PRICE, stageStart);
+                ticket.setTicketNumber(TicketNumberGenerator.getInstance().generateTicketNumber());
+                stageStart = MetricsRegistry.recordStage(MetricConstants.BOOKING_STAGE_ALLOCATE_NUMBER, stageStart);
+                if (!seatInventory.reserveSeat(flight, connection)) {
+                    throw new SQLException(MessageConstants.NO_AVAILABLE_SEATS);
                 }
+                stageStart = MetricsRegistry.recordStage(MetricConstants.BOOKING_STAGE_RESERVE_SEAT, stageStart);
+                TicketDAO.getInstance().add(ticket, connection);
+                stageStart = MetricsRegistry.recordStage(MetricConstants.BOOKING_STAGE_INSERT, stageStart);
+                boolean deferredCommit = UnitOfWork.timeCommit(nanos -> MetricsRegistry.getInstance()
+                        .getStageLatency(MetricConstants.BOOKING_STAGE_COMMIT).recordNanos(nanos));
+                connection.commit();
+                if (!deferredCommit) {
+                    MetricsRegistry.recordStage(MetricConstants.BOOKING_STAGE_COMMIT, stageStart);
+                }
+                seatInventory.confirmSeat(flight);
+                UnitOfWork.runAfterCommit(() -> DataVersion.getInstance().increment(DataVersion.Domain.TICKETS));
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            connection.commit();
-            logger.error(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
-            }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return number;
-    }
-
-    /**
-     * This method add the current entity of the ticket to database table.
-     *
-     * @param ticket            - the current entity of the ticket.
-     * @throws SQLException
-     */
-    public void addTicketToDB(Ticket ticket) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            TicketDAO.getInstance().add(ticket, connection);
-            connection.commit();
-            logger.error(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
-            }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+            return ticket;
+        });
     }
 
     /**
@@ -146,47 +135,79 @@ public class TicketService {
      * @return
      */
     public List<Ticket> getTicketsFromDB(User user, HttpServletRequest request) throws SQLException {
-        List<Ticket> ticketsList = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            ticketsList = TicketDAO.getInstance().getAllUsersTickets(user, connection);
-            connection.commit();
-            logger.error(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.TICKET_SERVICE_GET_TICKETS_FROM_DB, () -> {
+            List<Ticket> ticketsList = null;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                ticketsList = TicketDAO.getInstance().getAllUsersTickets(user, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return ticketsList;
+            return ticketsList;
+        });
+    }
+
+    /**
+     * This method passes the user's tickets to the handler one by one without building the list of the tickets,
+     * so it suits the responses which are written straight to the stream. The handler receives the same ticket
+     * object for every row.
+     *
+     * @param user      - the user from the session;
+     * @param handler   - a receiver of the tickets.
+     * @throws SQLException
+     * @throws IOException  - if the handler has failed.
+     */
+    public void streamTickets(User user, RowHandler<Ticket> handler) throws SQLException, IOException {
+        MetricsRegistry.timeAction(MetricConstants.TICKET_SERVICE_STREAM_TICKETS, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                TicketDAO.getInstance().streamAllUsersTickets(user, handler, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
+            }
+        });
     }
 
     /**
-     * This method removes the shosen ticket from database table.
+     * This method removes the shosen ticket from database table. The seat of the ticket is given back
+     * to the flight in the same transaction.
      *
      * @param ticketNumber   - a ticket number.
      */
     public void deleteTicket(String ticketNumber) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            TicketDAO.getInstance().deleteByNumber(ticketNumber, connection);
-            connection.commit();
-            logger.error(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.TICKET_SERVICE_DELETE_TICKET, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                int flightId = TicketDAO.getInstance().getFlightIdByNumber(ticketNumber, connection);
+                TicketDAO.getInstance().deleteByNumber(ticketNumber, connection);
+                if (flightId != 0) {
+                    SeatInventoryService.getInstance().returnSeat(flightId, connection);
+                }
+                connection.commit();
+                if (flightId != 0) {
+                    SeatInventoryService.getInstance().confirmReturn(flightId);
+                }
+                UnitOfWork.runAfterCommit(() -> DataVersion.getInstance().increment(DataVersion.Domain.TICKETS));
+                logger.error(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 }
\ No newline at end of file
@@ -1,23 +1,20 @@
 package by.htp.hermanovich.airline.dao.services;
 
-import by.htp.hermanovich.airline.commands.implementations.airport.ShowAllAirportsCommand;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.entities.User;
-import by.htp.hermanovich.airline.commands.implementations.aircraft.ShowAllAircraftsCommand;
-import by.htp.hermanovich.airline.commands.implementations.luggage.ShowAllLuggageCommand;
 import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.MetricConstants;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
 import by.htp.hermanovich.airline.dao.implementations.UserDAO;
-import by.htp.hermanovich.airline.entities.Aircraft;
-import by.htp.hermanovich.airline.entities.Airport;
-import by.htp.hermanovich.airline.entities.Luggage;
 import by.htp.hermanovich.airline.exceptions.DAOException;
 import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
 import org.apache.log4j.Logger;
 
 import javax.servlet.http.HttpSession;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * Description: This class describes actions on the user object.
@@ -49,7 +46,7 @@ public class UserService {
     }
 
     /**
-     * This method checks if the user's login and password are correct. This method implements work with transaction support.
+     * This method checks if the user's login and password are correct. This method works in the read-only mode.
      *
      * @param login         - incoming user's login.
      * @param password      - incoming user's password.
@@ -57,51 +54,43 @@ public class UserService {
      * @throws SQLException
      */
     public boolean checkUserAuthorization(String login, String password) throws SQLException {
-        boolean isAuthorized = false;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            isAuthorized = UserDAO.getInstance().isAuthorized(login, password, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.USER_SERVICE_CHECK_USER_AUTHORIZATION, () -> {
+            boolean isAuthorized = false;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                isAuthorized = UserDAO.getInstance().isAuthorized(login, password, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR, e);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED, e);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return isAuthorized;
+            return isAuthorized;
+        });
     }
 
     /**
-     * This method receives user object. This method implements work with transaction support.
+     * This method receives user object. This method works in the read-only mode.
      *
      * @param login     - entered login.
      * @return          - User object.
      */
     public User getUserByLogin(String login) throws SQLException {
-        User user = null;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            user = UserDAO.getInstance().getByLogin(login, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.USER_SERVICE_GET_USER_BY_LOGIN, () -> {
+            User user = null;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                user = UserDAO.getInstance().getByLogin(login, connection);
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return user;
+            return user;
+        });
     }
 
     /**
@@ -111,52 +100,50 @@ public class UserService {
      * @throws SQLException
      */
     public void updateUser(User user) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            UserDAO.getInstance().update(user, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.USER_SERVICE_UPDATE_USER, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                UserDAO.getInstance().update(user, connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
-     * This method checks the uniqueness of the user. This method implements work with transaction support.
+     * This method checks the uniqueness of the user. This method works in the read-only mode.
      *
      * @param user      - an user object with fields will be checked.
      * @return          - boolean value of the condition.
      * @throws SQLException
      */
     public boolean isUniqueUser(User user) throws SQLException {
-        boolean isUnique = false;
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            if (UserDAO.getInstance().checkUniqueUser(user.getLogin(), connection)) {
-                isUnique = true;
-            }
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        return MetricsRegistry.time(MetricConstants.USER_SERVICE_IS_UNIQUE_USER, () -> {
+            boolean isUnique = false;
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+                if (UserDAO.getInstance().checkUniqueUser(user.getLogin(), connection)) {
+                    isUnique = true;
+                }
+            } catch (SQLException | DAOException e) {
+                logger.error(MessageConstants.EXECUTE_QUERY_ERROR);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
-        return isUnique;
+            return isUnique;
+        });
     }
 
     /**
@@ -166,45 +153,37 @@ public class UserService {
      * @throws SQLException
      */
     public void registerUser(User user) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = ConnectorDB.getConnection();
-            connection.setAutoCommit(false);
-            UserDAO.getInstance().add(user, connection);
-            connection.commit();
-            logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
-        } catch (SQLException | DAOException e) {
-            if (connection != null) {
-                connection.rollback();
+        MetricsRegistry.timeAction(MetricConstants.USER_SERVICE_REGISTER_USER, () -> {
+            Connection connection = null;
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+                connection.setAutoCommit(false);
+                UserDAO.getInstance().add(user, connection);
+                connection.commit();
+                logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+            } catch (SQLException | DAOException e) {
+                if (connection != null) {
+                    connection.rollback();
+                }
+                logger.error(MessageConstants.TRANSACTION_FAILED);
+                throw new SQLException(e);
+            } finally {
+                ConnectorDB.closeConnection(connection);
             }
-            logger.error(MessageConstants.TRANSACTION_FAILED);
-            throw new SQLException(e);
-        } finally {
-            ConnectorDB.closeConnection(connection);
-        }
+        });
     }
 
     /**
      * An additional accessory method that provides work with some attributes of the object of http session.
-     * This method sets user's parameters, lists of airports, aircrafts, luggage types to the session.
+     * This method sets user's parameters to the session. The lists of airports, aircrafts and luggage types
+     * are not copied to the session: they are shared by all users as the application-scoped attribute
+     * <i>referenceData</i>, which is loaded here if it could not be loaded when the application was started.
      *
      * @param session   - an object of the current session.
      */
     public void setParamToSession(User user, HttpSession session) {
         session.setAttribute(Parameters.USER, user);
         session.setAttribute(Parameters.USER_TYPE, String.valueOf(user.getUserType()));
-        List<Luggage> allLuggageTypes = ShowAllLuggageCommand.getAllLuggage();
-        session.setAttribute(Parameters.ALL_LUGGAGE_TYPES, allLuggageTypes);
-        List<Airport> airportList = ShowAllAirportsCommand.getAllAirports();
-        session.setAttribute(Parameters.ALL_AIRPORTS, airportList);
-        switch (user.getUserType()) {
-            case CLIENT:
-                break;
-            case ADMIN:
-                List<Aircraft> aircraftList = ShowAllAircraftsCommand.getAllAircrafts();
-                session.setAttribute(Parameters.ALL_AIRCRAFTS, aircraftList);
-                break;
-            default: break;
-        }
+        ReferenceDataCache.getInstance().getSnapshot();
     }
-}
\ No newline at end of file
+}
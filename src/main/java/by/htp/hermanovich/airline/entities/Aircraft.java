@@ -8,6 +8,7 @@ package by.htp.hermanovich.airline.entities;
 public class Aircraft extends BaseEntity {
     private String aircraftCode;
     private String model;
+    private Integer seats;
 
     public Aircraft() {
     }
@@ -33,6 +34,17 @@ public class Aircraft extends BaseEntity {
         this.model = model;
     }
 
+    /**
+     * @return      - the number of seats or <i>null</i> if it is not known, so the seats of the flights are not checked.
+     */
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public void setSeats(Integer seats) {
+        this.seats = seats;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,101 @@
+package by.htp.hermanovich.airline.entities;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description: This class describes a calendar of the cheapest fares of the route for a window of dates.
+ * The days of the window are arranged by weeks from Monday to Sunday; the days of the weeks which are out
+ * of the window are marked so they could be rendered empty.
+ */
+public class FareCalendar extends BaseEntity {
+    private final String departureAirportCode;
+    private final String arrivalAirportCode;
+    private final Date selectedDate;
+    private final String flexibleDates;
+    private final List<List<Day>> weeks;
+
+    /**
+     * @param departureAirportCode  - departure airport code;
+     * @param arrivalAirportCode    - arrival airport code;
+     * @param selectedDate          - the date which the client has searched;
+     * @param flexibleDates         - the mode of the window of dates;
+     * @param firstDate             - the first date of the window;
+     * @param lastDate              - the last date of the window;
+     * @param cheapestFares         - the cheapest price per seat of every date of the window which has flights.
+     */
+    public FareCalendar(String departureAirportCode, String arrivalAirportCode, Date selectedDate, String flexibleDates,
+                        LocalDate firstDate, LocalDate lastDate, Map<LocalDate, Float> cheapestFares) {
+        this.departureAirportCode = departureAirportCode;
+        this.arrivalAirportCode = arrivalAirportCode;
+        this.selectedDate = selectedDate;
+        this.flexibleDates = flexibleDates;
+        List<List<Day>> calendarWeeks = new ArrayList<>();
+        LocalDate date = firstDate.minusDays(firstDate.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
+        while (!date.isAfter(lastDate)) {
+            List<Day> week = new ArrayList<>(7);
+            for (int i = 0; i < 7; i++, date = date.plusDays(1)) {
+                boolean inWindow = !date.isBefore(firstDate) && !date.isAfter(lastDate);
+                week.add(new Day(Date.valueOf(date), inWindow, inWindow ? cheapestFares.get(date) : null));
+            }
+            calendarWeeks.add(Collections.unmodifiableList(week));
+        }
+        this.weeks = Collections.unmodifiableList(calendarWeeks);
+    }
+
+    public String getDepartureAirportCode() {
+        return departureAirportCode;
+    }
+
+    public String getArrivalAirportCode() {
+        return arrivalAirportCode;
+    }
+
+    public Date getSelectedDate() {
+        return selectedDate;
+    }
+
+    public String getFlexibleDates() {
+        return flexibleDates;
+    }
+
+    public List<List<Day>> getWeeks() {
+        return weeks;
+    }
+
+    /**
+     * Description: One day of the calendar with the cheapest price per seat or <i>null</i> if there are no flights.
+     */
+    public static class Day {
+        private final Date date;
+        private final boolean inWindow;
+        private final Float cheapestPrice;
+
+        Day(Date date, boolean inWindow, Float cheapestPrice) {
+            this.date = date;
+            this.inWindow = inWindow;
+            this.cheapestPrice = cheapestPrice;
+        }
+
+        public Date getDate() {
+            return date;
+        }
+
+        public int getDayOfMonth() {
+            return date.toLocalDate().getDayOfMonth();
+        }
+
+        public boolean isInWindow() {
+            return inWindow;
+        }
+
+        public Float getCheapestPrice() {
+            return cheapestPrice;
+        }
+    }
+}
@@ -16,6 +16,7 @@ public class Flight extends BaseEntity {
     private Date sheduledDeparture;
     private Date sheduledArrival;
     private float pricePerSeat;
+    private Integer availableSeats;
 
     public Flight(){
     }
@@ -31,6 +32,17 @@ public class Flight extends BaseEntity {
         this.pricePerSeat = pricePerSeat;
     }
 
+    /**
+     * This constructor creates a copy of the flight which shares the aircraft and the airports of the flight.
+     *
+     * @param flight    - a flight which will be copied.
+     */
+    public Flight(Flight flight) {
+        this(flight.id, flight.aircraft, flight.flightNumber, flight.departureAirport, flight.arrivalAirport,
+                flight.sheduledDeparture, flight.sheduledArrival, flight.pricePerSeat);
+        this.availableSeats = flight.availableSeats;
+    }
+
     public int getId() {
         return id;
     }
@@ -95,6 +107,17 @@ public class Flight extends BaseEntity {
         this.pricePerSeat = pricePerSeat;
     }
 
+    /**
+     * @return      - the number of available seats or <i>null</i> if the seats of the flight are not checked.
+     */
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,94 @@
+package by.htp.hermanovich.airline.entities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Description: This class describes the facet counts of the results of the flight search: the number of flights
+ * of every aircraft model and of every range of the price per seat. The counts are collected either flight by flight
+ * or from the counts which database has grouped, and show all results of the search regardless of the filters
+ * of the client.
+ */
+public class FlightFacets extends BaseEntity {
+    private final float priceBucketWidth;
+    private final Map<String, Integer> models = new TreeMap<>();
+    private final Map<Integer, Integer> priceBuckets = new TreeMap<>();
+
+    /**
+     * @param priceBucketWidth  - the width of the ranges of the price per seat.
+     */
+    public FlightFacets(float priceBucketWidth) {
+        this.priceBucketWidth = priceBucketWidth;
+    }
+
+    /**
+     * This method counts the flight in the facets.
+     *
+     * @param flight    - a flight of the results.
+     */
+    public void add(Flight flight) {
+        models.merge(flight.getAircraft().getModel(), 1, Integer::sum);
+        priceBuckets.merge((int) (flight.getPricePerSeat() / priceBucketWidth), 1, Integer::sum);
+    }
+
+    /**
+     * This method counts the flights of one aircraft model in one range of the price per seat.
+     *
+     * @param model         - an aircraft model;
+     * @param priceBucket   - the number of the range of the price per seat, which is the price divided by the width;
+     * @param count         - the number of flights.
+     */
+    public void add(String model, int priceBucket, int count) {
+        models.merge(model, count, Integer::sum);
+        priceBuckets.merge(priceBucket, count, Integer::sum);
+    }
+
+    /**
+     * @return      - a <i>map</i> where the key is an aircraft model and the value is the number of flights.
+     */
+    public Map<String, Integer> getModels() {
+        return Collections.unmodifiableMap(models);
+    }
+
+    /**
+     * @return      - the ranges of the price per seat which have flights sorted by the price.
+     */
+    public List<PriceBucket> getPriceBuckets() {
+        List<PriceBucket> buckets = new ArrayList<>(priceBuckets.size());
+        for (Map.Entry<Integer, Integer> bucket : priceBuckets.entrySet()) {
+            float minPrice = bucket.getKey() * priceBucketWidth;
+            buckets.add(new PriceBucket(minPrice, minPrice + priceBucketWidth, bucket.getValue()));
+        }
+        return buckets;
+    }
+
+    /**
+     * Description: One range of the price per seat with the number of flights. The range includes the minimum price.
+     */
+    public static class PriceBucket {
+        private final float minPrice;
+        private final float maxPrice;
+        private final int count;
+
+        PriceBucket(float minPrice, float maxPrice, int count) {
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.count = count;
+        }
+
+        public float getMinPrice() {
+            return minPrice;
+        }
+
+        public float getMaxPrice() {
+            return maxPrice;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
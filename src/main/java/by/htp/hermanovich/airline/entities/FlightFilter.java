@@ -0,0 +1,48 @@
+package by.htp.hermanovich.airline.entities;
+
+/**
+ * Description: This class describes the filters and the order of the results of the flight search which the client
+ * has chosen: a range of the price per seat and a model of the aircraft. The range includes the minimum price
+ * and excludes the maximum price, like the price ranges of the facets. The absent filters are <i>null</i>.
+ */
+public class FlightFilter extends BaseEntity {
+    private final FlightSort sort;
+    private final Float minPrice;
+    private final Float maxPrice;
+    private final String aircraftModel;
+
+    public FlightFilter(FlightSort sort, Float minPrice, Float maxPrice, String aircraftModel) {
+        this.sort = sort;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.aircraftModel = aircraftModel;
+    }
+
+    /**
+     * This method checks if the flight passes the filters.
+     *
+     * @param flight    - a flight of the results.
+     * @return          - boolean value of the condition.
+     */
+    public boolean accepts(Flight flight) {
+        return (minPrice == null || flight.getPricePerSeat() >= minPrice)
+                && (maxPrice == null || flight.getPricePerSeat() < maxPrice)
+                && (aircraftModel == null || aircraftModel.equals(flight.getAircraft().getModel()));
+    }
+
+    public FlightSort getSort() {
+        return sort;
+    }
+
+    public Float getMinPrice() {
+        return minPrice;
+    }
+
+    public Float getMaxPrice() {
+        return maxPrice;
+    }
+
+    public String getAircraftModel() {
+        return aircraftModel;
+    }
+}
@@ -0,0 +1,44 @@
+package by.htp.hermanovich.airline.entities;
+
+import java.util.Comparator;
+
+/**
+ * Description: This class contains constants which describe the orders of the results of the flight search.
+ * Every order ends with the id of the flight, so the order is total and a page can start after any flight.
+ */
+public enum FlightSort {
+    DEPARTURE(Comparator.comparing(Flight::getSheduledDeparture).thenComparingInt(Flight::getId)),
+    PRICE(Comparator.comparingDouble(Flight::getPricePerSeat).thenComparingInt(Flight::getId));
+
+    private final Comparator<Flight> order;
+
+    FlightSort(Comparator<Flight> order) {
+        this.order = order;
+    }
+
+    public Comparator<Flight> getOrder() {
+        return order;
+    }
+
+    /**
+     * This method defines the order by the value of a request parameter. The case of the value is ignored.
+     *
+     * @param value     - a value of the parameter.
+     * @return          - the order or the order by the date of departure if the value is unknown.
+     */
+    public static FlightSort fromParameter(String value) {
+        for (FlightSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        return DEPARTURE;
+    }
+
+    /**
+     * @return      - the value of the request parameter of the order.
+     */
+    public String getParameter() {
+        return name().toLowerCase();
+    }
+}
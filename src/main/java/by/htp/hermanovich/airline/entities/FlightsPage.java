@@ -0,0 +1,134 @@
+package by.htp.hermanovich.airline.entities;
+
+import java.sql.Date;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description: This class describes one page of the results of the flight search. The pages are taken by a keyset
+ * cursor: the flights are sorted by the order of the filter, which ends with the id of the flight, and the page
+ * starts after the flight with the date, the price and the id of the cursor. The cursor of the next page is
+ * the last flight of the page, so a page does not depend on the flights which have been shown before.
+ * The page also has the facet counts of all results of the search.
+ */
+public class FlightsPage extends BaseEntity {
+
+    /**
+     * The cursor of the first page is before any flight in every order.
+     */
+    public static final Date FIRST_PAGE_DATE = Date.valueOf("1000-01-01");
+    public static final float FIRST_PAGE_PRICE = -1;
+    public static final int FIRST_PAGE_ID = 0;
+
+    private final String departureAirportCode;
+    private final String arrivalAirportCode;
+    private final String dateOfFlight;
+    private final FlightFilter filter;
+    private final Flight cursor;
+    private final List<Flight> flights;
+    private final boolean hasNextPage;
+    private final FlightFacets facets;
+
+    /**
+     * @param departureAirportCode  - departure airport code of the search;
+     * @param arrivalAirportCode    - arrival airport code of the search or <i>null</i>;
+     * @param dateOfFlight          - date of flight of the search or <i>null</i>;
+     * @param filter                - the filters and the order of the results;
+     * @param cursor                - a flight with the date, the price and the id of the cursor which the page starts after;
+     * @param flights               - the flights of the page;
+     * @param hasNextPage           - if there are flights after the page;
+     * @param facets                - the facet counts of all results of the search.
+     */
+    public FlightsPage(String departureAirportCode, String arrivalAirportCode, String dateOfFlight, FlightFilter filter,
+                       Flight cursor, List<Flight> flights, boolean hasNextPage, FlightFacets facets) {
+        this.departureAirportCode = departureAirportCode;
+        this.arrivalAirportCode = arrivalAirportCode;
+        this.dateOfFlight = dateOfFlight;
+        this.filter = filter;
+        this.cursor = cursor;
+        this.flights = Collections.unmodifiableList(flights);
+        this.hasNextPage = hasNextPage;
+        this.facets = facets;
+    }
+
+    /**
+     * This method creates a flight which stands for the cursor of a page in the comparisons with the flights.
+     *
+     * @param cursorDate    - the date of departure of the cursor;
+     * @param cursorPrice   - the price per seat of the cursor;
+     * @param cursorId      - the id of the flight of the cursor.
+     * @return              - a flight with the values of the cursor.
+     */
+    public static Flight cursorOf(Date cursorDate, float cursorPrice, int cursorId) {
+        Flight cursor = new Flight();
+        cursor.setSheduledDeparture(cursorDate);
+        cursor.setPricePerSeat(cursorPrice);
+        cursor.setId(cursorId);
+        return cursor;
+    }
+
+    public String getDepartureAirportCode() {
+        return departureAirportCode;
+    }
+
+    public String getArrivalAirportCode() {
+        return arrivalAirportCode;
+    }
+
+    public String getDateOfFlight() {
+        return dateOfFlight;
+    }
+
+    public FlightFilter getFilter() {
+        return filter;
+    }
+
+    public Date getCursorDate() {
+        return cursor.getSheduledDeparture();
+    }
+
+    public float getCursorPrice() {
+        return cursor.getPricePerSeat();
+    }
+
+    public int getCursorId() {
+        return cursor.getId();
+    }
+
+    public List<Flight> getFlights() {
+        return flights;
+    }
+
+    public boolean isHasNextPage() {
+        return hasNextPage;
+    }
+
+    public FlightFacets getFacets() {
+        return facets;
+    }
+
+    /**
+     * @return      - the date of departure of the cursor of the next page.
+     */
+    public Date getNextCursorDate() {
+        return lastFlight().getSheduledDeparture();
+    }
+
+    /**
+     * @return      - the price per seat of the cursor of the next page.
+     */
+    public float getNextCursorPrice() {
+        return lastFlight().getPricePerSeat();
+    }
+
+    /**
+     * @return      - the id of the flight of the cursor of the next page.
+     */
+    public int getNextCursorId() {
+        return lastFlight().getId();
+    }
+
+    private Flight lastFlight() {
+        return flights.isEmpty() ? cursor : flights.get(flights.size() - 1);
+    }
+}
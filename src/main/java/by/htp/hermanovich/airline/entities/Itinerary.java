@@ -0,0 +1,61 @@
+package by.htp.hermanovich.airline.entities;
+
+import java.sql.Date;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description: This class describes an itinerary of the client which consists of one or more flights (legs).
+ * Every next leg departs from the arrival airport of the previous leg.
+ */
+public class Itinerary extends BaseEntity {
+    private final List<Flight> legs;
+    private final float totalPrice;
+
+    public Itinerary(List<Flight> legs) {
+        this.legs = Collections.unmodifiableList(new ArrayList<>(legs));
+        float price = 0;
+        for (Flight leg : legs) {
+            price += leg.getPricePerSeat();
+        }
+        this.totalPrice = price;
+    }
+
+    public List<Flight> getLegs() {
+        return legs;
+    }
+
+    public float getTotalPrice() {
+        return totalPrice;
+    }
+
+    public int getStops() {
+        return legs.size() - 1;
+    }
+
+    public Date getDepartureDate() {
+        return legs.get(0).getSheduledDeparture();
+    }
+
+    public Date getArrivalDate() {
+        return legs.get(legs.size() - 1).getSheduledArrival();
+    }
+
+    /**
+     * @return      - the number of days from the departure of the first leg to the arrival of the last leg.
+     */
+    public long getDurationDays() {
+        return ChronoUnit.DAYS.between(getDepartureDate().toLocalDate(), getArrivalDate().toLocalDate());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder route = new StringBuilder(legs.get(0).getDepartureAirport().getAirportCode());
+        for (Flight leg : legs) {
+            route.append(" > ").append(leg.getArrivalAirport().getAirportCode());
+        }
+        return route.toString();
+    }
+}
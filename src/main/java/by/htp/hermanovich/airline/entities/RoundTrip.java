@@ -0,0 +1,29 @@
+package by.htp.hermanovich.airline.entities;
+
+/**
+ * Description: This class describes a round trip of the client: an outbound flight and a return flight
+ * on the reverse route with the total price of both flights.
+ */
+public class RoundTrip extends BaseEntity {
+    private final Flight outboundFlight;
+    private final Flight returnFlight;
+    private final float totalPrice;
+
+    public RoundTrip(Flight outboundFlight, Flight returnFlight) {
+        this.outboundFlight = outboundFlight;
+        this.returnFlight = returnFlight;
+        this.totalPrice = outboundFlight.getPricePerSeat() + returnFlight.getPricePerSeat();
+    }
+
+    public Flight getOutboundFlight() {
+        return outboundFlight;
+    }
+
+    public Flight getReturnFlight() {
+        return returnFlight;
+    }
+
+    public float getTotalPrice() {
+        return totalPrice;
+    }
+}
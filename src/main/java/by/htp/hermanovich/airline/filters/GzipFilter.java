@@ -0,0 +1,110 @@
+package by.htp.hermanovich.airline.filters;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import org.apache.log4j.Logger;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Description: This filter compresses the text responses with gzip: the pages, the style sheets, the scripts and
+ * the JSON of the API. A response is compressed if the client accepts gzip, its type is listed in the
+ * <i>gzip.mime.types</i> property and its size reaches the <i>gzip.threshold</i> property. The response of an
+ * asynchronous request is finished when the request is completed.
+ */
+public class GzipFilter implements Filter {
+    private static final Logger logger = Logger.getLogger(GzipFilter.class);
+
+    private boolean enabled;
+    private int threshold;
+    private final Set<String> compressibleTypes = new HashSet<>();
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        ConfigManagerApp config = ConfigManagerApp.getInstance();
+        enabled = Boolean.parseBoolean(config.getProperty(ConfigConstant.GZIP_ENABLED));
+        threshold = Integer.parseInt(config.getProperty(ConfigConstant.GZIP_THRESHOLD));
+        for (String mimeType : config.getProperty(ConfigConstant.GZIP_MIME_TYPES).split(",")) {
+            compressibleTypes.add(mimeType.trim().toLowerCase());
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!enabled || !acceptsGzip(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        httpResponse.addHeader(Parameters.HEADER_VARY, Parameters.HEADER_ACCEPT_ENCODING);
+        final GzipResponseWrapper gzipResponse = new GzipResponseWrapper(httpResponse, threshold, compressibleTypes);
+        chain.doFilter(request, gzipResponse);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) throws IOException {
+                    finish(gzipResponse);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) throws IOException {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) throws IOException {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) throws IOException {
+                }
+            });
+        } else {
+            gzipResponse.finish();
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+    }
+
+    private static void finish(GzipResponseWrapper gzipResponse) {
+        try {
+            gzipResponse.finish();
+        } catch (IOException e) {
+            logger.error(MessageConstants.GZIP_FINISH_ERROR, e);
+        }
+    }
+
+    /**
+     * This method checks if the <i>Accept-Encoding</i> header of request lists gzip with a non-zero quality.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(Parameters.HEADER_ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (Parameters.GZIP_ENCODING.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
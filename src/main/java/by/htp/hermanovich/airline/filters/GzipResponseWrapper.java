@@ -0,0 +1,261 @@
+package by.htp.hermanovich.airline.filters;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Description: This class describes the response which compresses its content with gzip. The first bytes of the
+ * content are kept in a buffer until their number reaches the threshold: a small response and a response which is
+ * not text are written as they are, with their length, and a larger text response is compressed. A response which
+ * is flushed before the threshold is written as it is, because the bytes have to be sent at once.
+ */
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+    private final int threshold;
+    private final Set<String> compressibleTypes;
+    private GzipOutputStream stream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    GzipResponseWrapper(HttpServletResponse response, int threshold, Set<String> compressibleTypes) {
+        super(response);
+        this.threshold = threshold;
+        this.compressibleTypes = compressibleTypes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException();
+        }
+        return getStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (stream != null) {
+                throw new IllegalStateException();
+            }
+            writer = new PrintWriter(new OutputStreamWriter(getStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (stream != null && stream.target != null && !stream.compressed) {
+            super.setContentLengthLong(length);
+        } else {
+            contentLength = length;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (Parameters.HEADER_CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (Parameters.HEADER_CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (stream != null) {
+            stream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        clearBuffer();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        clearBuffer();
+        contentLength = -1;
+        super.reset();
+    }
+
+    /**
+     * This method writes the rest of the content and the end of the compressed stream. It is invoked
+     * when the response is completed and can be invoked more than once.
+     *
+     * @throws IOException
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream != null) {
+            stream.finish();
+        } else if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    private GzipOutputStream getStream() throws IOException {
+        if (stream == null) {
+            stream = new GzipOutputStream(super.getOutputStream());
+        }
+        return stream;
+    }
+
+    /**
+     * This method drops the content which has not been written yet. The content which has been written
+     * cannot be dropped, so the response is reset by the container only while it is not committed.
+     */
+    private void clearBuffer() {
+        if (stream != null && stream.target == null) {
+            if (writer != null) {
+                writer.flush();
+            }
+            stream.buffer.reset();
+        }
+    }
+
+    private boolean isCompressible() {
+        String contentType = getContentType();
+        if (contentType == null || containsHeader(Parameters.HEADER_CONTENT_ENCODING)) {
+            return false;
+        }
+        int status = getStatus();
+        if (status == SC_NO_CONTENT || status == SC_PARTIAL_CONTENT || status == SC_NOT_MODIFIED) {
+            return false;
+        }
+        int parametersStart = contentType.indexOf(';');
+        String mimeType = (parametersStart < 0 ? contentType : contentType.substring(0, parametersStart)).trim();
+        return compressibleTypes.contains(mimeType.toLowerCase());
+    }
+
+    /**
+     * Description: The stream of the content which decides if the content is compressed.
+     */
+    private class GzipOutputStream extends ServletOutputStream {
+        private final ServletOutputStream output;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+        private boolean compressed;
+        private boolean finished;
+
+        GzipOutputStream(ServletOutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target == null) {
+                buffer.write(b);
+                decideIfFull();
+            } else {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null) {
+                buffer.write(bytes, offset, length);
+                decideIfFull();
+            } else {
+                target.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (finished) {
+                return;
+            }
+            if (target == null) {
+                decide(false);
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return output.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            output.setWriteListener(writeListener);
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            if (target == null) {
+                decide(false);
+            }
+            if (compressed) {
+                ((GZIPOutputStream) target).finish();
+            }
+            target.flush();
+            finished = true;
+        }
+
+        private void decideIfFull() throws IOException {
+            if (buffer.size() >= threshold) {
+                decide(true);
+            }
+        }
+
+        /**
+         * This method chooses how the content is written and writes the buffered bytes.
+         *
+         * @param large     - <i>true</i> if the content has reached the threshold.
+         */
+        private void decide(boolean large) throws IOException {
+            compressed = large && isCompressible();
+            if (compressed) {
+                GzipResponseWrapper.super.setHeader(Parameters.HEADER_CONTENT_ENCODING, Parameters.GZIP_ENCODING);
+                target = new GZIPOutputStream(output, 8192, true);
+            } else {
+                if (contentLength >= 0) {
+                    GzipResponseWrapper.super.setContentLengthLong(contentLength);
+                }
+                target = output;
+            }
+            buffer.writeTo(target);
+            buffer = null;
+        }
+    }
+}
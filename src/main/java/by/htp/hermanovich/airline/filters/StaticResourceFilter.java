@@ -0,0 +1,106 @@
+package by.htp.hermanovich.airline.filters;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import by.htp.hermanovich.airline.utils.controllerUtils.ConditionalGet;
+import by.htp.hermanovich.airline.utils.controllerUtils.StaticResources;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Description: This filter provides caching of the static resources. A resource which is requested by its versioned
+ * path is kept by the browser for a long time without revalidation; a resource which is requested by the plain path,
+ * for example an image from a style sheet, is kept for a short time. Every resource is marked with an entity tag
+ * of its version, so a revalidation is answered with <i>304 Not Modified</i> without the content.
+ */
+public class StaticResourceFilter implements Filter {
+    private String versionedCacheControl;
+    private String cacheControl;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        ConfigManagerApp config = ConfigManagerApp.getInstance();
+        versionedCacheControl = "public, max-age=" + config.getProperty(ConfigConstant.STATIC_CACHE_MAX_AGE_VERSIONED)
+                + ", immutable";
+        cacheControl = "public, max-age=" + config.getProperty(ConfigConstant.STATIC_CACHE_MAX_AGE);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        String version = StaticResources.getInstance().getVersion(path);
+        if (version == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean versioned = version.equals(httpRequest.getParameter(Parameters.STATIC_RESOURCE_VERSION));
+        if (ConditionalGet.isNotModified(httpRequest, httpResponse, ConditionalGet.entityTag(version),
+                versioned ? versionedCacheControl : cacheControl)) {
+            return;
+        }
+        chain.doFilter(request, new CacheHeadersGuard(httpResponse));
+    }
+
+    @Override
+    public void destroy() {
+
+    }
+
+    /**
+     * Description: The response which keeps the caching headers of the filter: the headers of the same names
+     * which are set by the servlet of the container are ignored.
+     */
+    private static class CacheHeadersGuard extends HttpServletResponseWrapper {
+
+        CacheHeadersGuard(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!isCacheHeader(name)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!isCacheHeader(name)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            if (!isCacheHeader(name)) {
+                super.setDateHeader(name, date);
+            }
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            if (!isCacheHeader(name)) {
+                super.addDateHeader(name, date);
+            }
+        }
+
+        private static boolean isCacheHeader(String name) {
+            return Parameters.HEADER_ETAG.equalsIgnoreCase(name)
+                    || Parameters.HEADER_CACHE_CONTROL.equalsIgnoreCase(name)
+                    || Parameters.HEADER_LAST_MODIFIED.equalsIgnoreCase(name)
+                    || Parameters.HEADER_EXPIRES.equalsIgnoreCase(name);
+        }
+    }
+}
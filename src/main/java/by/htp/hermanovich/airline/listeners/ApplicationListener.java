@@ -0,0 +1,88 @@
+package by.htp.hermanovich.airline.listeners;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.cache.FlightIndex;
+import by.htp.hermanovich.airline.dao.cache.ReferenceDataCache;
+import by.htp.hermanovich.airline.managers.ConfigManagerDB;
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.controllerUtils.RequestExecutor;
+import by.htp.hermanovich.airline.utils.controllerUtils.StaticResources;
+import by.htp.hermanovich.airline.utils.migration.QueryPlanVerifier;
+import by.htp.hermanovich.airline.utils.migration.SchemaMigrator;
+import by.htp.hermanovich.airline.utils.pool.ConnectionPool;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import org.apache.log4j.Logger;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Description: This class listens to the lifecycle of the web application. It initializes the connection pool,
+ * migrates the schema of database and loads the reference data cache and the flight index when the application
+ * is started. When the application is stopped the request executor is stopped and the pool is closed.
+ * The snapshots of the reference data are published as the application-scoped attribute <i>referenceData</i>
+ * and the versioned paths of the static resources as the application-scoped attribute <i>staticResource</i>.
+ */
+public class ApplicationListener implements ServletContextListener {
+    private static final Logger logger = Logger.getLogger(ApplicationListener.class);
+
+    /**
+     * This method is invoked when the web application is started.
+     *
+     * @param event     - an event of the servlet context.
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        final ServletContext context = event.getServletContext();
+        StaticResources.getInstance().load(context);
+        ConnectionPool.getInstance();
+        migrateSchema();
+        ReferenceDataCache.getInstance().subscribe(snapshot -> context.setAttribute(Parameters.REFERENCE_DATA, snapshot));
+        ReferenceDataCache.getInstance().refresh();
+        FlightIndex.getInstance().refresh();
+    }
+
+    /**
+     * This method applies the pending scripts of the schema and checks the plans of the lookup queries.
+     * The application is not started if the schema could not be migrated, because the queries expect
+     * the migrated schema. The plans are only reported, so a failed check does not stop the application.
+     *
+     * @throws IllegalStateException    - if the schema could not be migrated.
+     */
+    private void migrateSchema() {
+        try {
+            SchemaMigrator.getInstance().migrate();
+        } catch (SQLException e) {
+            logger.fatal(MessageConstants.MIGRATION_ERROR, e);
+            throw new IllegalStateException(MessageConstants.MIGRATION_ERROR, e);
+        }
+        if (!Boolean.parseBoolean(ConfigManagerDB.getInstance().getProperty(ConfigConstant.DB_MIGRATION_VERIFY_PLANS))) {
+            return;
+        }
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+            new QueryPlanVerifier().verify(connection);
+        } catch (SQLException e) {
+            logger.error(MessageConstants.QUERY_PLAN_ERROR, e);
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method is invoked when the web application is stopped.
+     *
+     * @param event     - an event of the servlet context.
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        RequestExecutor.getInstance().shutdown();
+        ConnectionPool.getInstance().closePool();
+    }
+}
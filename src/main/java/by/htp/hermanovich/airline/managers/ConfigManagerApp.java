@@ -0,0 +1,42 @@
+package by.htp.hermanovich.airline.managers;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import java.util.ResourceBundle;
+
+/**
+ * Description: This class works with application config-property file which contains the switches of the features
+ * of the application.
+ */
+public class ConfigManagerApp {
+    private volatile static ConfigManagerApp instance;
+    private final ResourceBundle resourceBundle = ResourceBundle.getBundle(ConfigConstant.APPLICATION_PROPERTIES_SOURCE);
+
+    public ConfigManagerApp() {
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return       - an instance of the class.
+     */
+    public static ConfigManagerApp getInstance() {
+        if (instance == null) {
+            synchronized (ConfigManagerApp.class) {
+                if (instance == null) {
+                    instance = new ConfigManagerApp();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method provides getting a property from property file according to the incoming value.
+     *
+     * @param key   - incoming value of the key for getting a property.
+     * @return      - a property value.
+     */
+    public String getProperty(String key) {
+        return resourceBundle.getString(key);
+    }
+}
@@ -1,39 +1,91 @@
 package by.htp.hermanovich.airline.utils;
 
 import by.htp.hermanovich.airline.constants.MessageConstants;
-import by.htp.hermanovich.airline.managers.ConfigManagerDB;
+import by.htp.hermanovich.airline.utils.pool.ConnectionPool;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
 import org.apache.log4j.Logger;
 import java.sql.*;
 
 /**
- * Description: This class contains static method which executes reading parameters for connection to database from
- * resource file <i>database.managers</i> and receive a connection.
+ * Description: This class contains static methods which give a connection to database from the connection pool
+ * and release the resources after the queries have been executed.
  * Created by Yauheni Hermanovich on 10.07.2017.
  */
 public class ConnectorDB {
     private final static Logger logger = Logger.getLogger(ConnectorDB.class);
 
     /**
-     * This method provides making a connection to database using a property file.
+     * This method provides taking a connection to database from the connection pool in the read-write mode.
      *
-     * @return - connection to database.
+     * @return - connection to database; closing it returns the connection to the pool.
      * @throws SQLException
      */
     public static Connection getConnection() throws SQLException {
-        Connection connection = null;
-        try {
-            Class.forName(ConfigManagerDB.getInstance().getProperty("db.classforname"));
-            connection = DriverManager.getConnection(
-                    ConfigManagerDB.getInstance().getProperty("db.url"),
-                    ConfigManagerDB.getInstance().getProperty("db.user"),
-                    ConfigManagerDB.getInstance().getProperty("db.password")
-            );
-        } catch (ClassNotFoundException e) {
-            logger.error(MessageConstants.CLASS_FOR_NAME_ERROR, e);
+        return getConnection(TransactionMode.READ_WRITE);
+    }
+
+    /**
+     * This method provides taking a connection to database from the connection pool. The pool is configured
+     * with a property file. If a unit of work is bound to the current thread its connection is given instead,
+     * so all nested service calls of the request share one connection and one transaction.
+     * A read-only connection is left in the autocommit mode and is marked as read-only.
+     *
+     * @param mode - the mode in which the caller works with database.
+     * @return - connection to database; closing it returns the connection to the pool.
+     * @throws SQLException
+     */
+    public static Connection getConnection(TransactionMode mode) throws SQLException {
+        if (UnitOfWork.isActive()) {
+            return UnitOfWork.getConnection(mode);
         }
+        return getIndependentConnection(mode);
+    }
+
+    /**
+     * This method provides taking a connection to database from the connection pool which does not take part
+     * in the unit of work of the current thread, so its changes are not committed or rolled back together
+     * with the transaction of the request.
+     *
+     * @param mode - the mode in which the caller works with database.
+     * @return - connection to database; closing it returns the connection to the pool.
+     * @throws SQLException
+     */
+    public static Connection getIndependentConnection(TransactionMode mode) throws SQLException {
+        Connection connection = ConnectionPool.getInstance().takeConnection();
+        connection.setReadOnly(mode == TransactionMode.READ_ONLY);
         return connection;
     }
 
+    /**
+     * This method reads a nullable integer column.
+     *
+     * @param resultSet - the result from the query;
+     * @param column    - the name of the column.
+     * @return - the value or <i>null</i> if the column is NULL.
+     * @throws SQLException
+     */
+    public static Integer getInteger(ResultSet resultSet, String column) throws SQLException {
+        int value = resultSet.getInt(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * This method sets a nullable integer parameter.
+     *
+     * @param statement - a prepared statement;
+     * @param index     - the index of the parameter;
+     * @param value     - the value or <i>null</i>.
+     * @throws SQLException
+     */
+    public static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+
     /**
      * This method closes Statement after the queries have been executed.
      *
@@ -66,6 +118,7 @@ public class ConnectorDB {
 
     /**
      * This method closes Connection after queries have been executed and information have been processed.
+     * The physical connection is returned to the pool.
      *
      * @param connection - an using connection.
      */
@@ -0,0 +1,345 @@
+package by.htp.hermanovich.airline.utils.controllerUtils;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Description: This class describes the response which a command of an asynchronous request writes to. When the request
+ * has been abandoned by the command, because the container has finished it with the error page after the timeout,
+ * every change of the response is ignored, so the command can not write to a response which has been reset or given
+ * to another request. A change is checked and made under the lock of the request, therefore the request is not
+ * abandoned in the middle of a change.
+ */
+class AbandonableResponseWrapper extends HttpServletResponseWrapper {
+    private final Object lock;
+    private final BooleanSupplier abandoned;
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+
+    /**
+     * @param response      - the response of the request;
+     * @param lock          - the lock under which the request is abandoned;
+     * @param abandoned     - <i>true</i> if the request has been abandoned.
+     */
+    AbandonableResponseWrapper(HttpServletResponse response, Object lock, BooleanSupplier abandoned) {
+        super(response);
+        this.lock = lock;
+        this.abandoned = abandoned;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        synchronized (lock) {
+            if (stream == null) {
+                stream = new AbandonableOutputStream(abandoned.getAsBoolean() ? null : super.getOutputStream());
+            }
+            return stream;
+        }
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        synchronized (lock) {
+            if (writer == null) {
+                writer = new PrintWriter(new AbandonableWriter(abandoned.getAsBoolean() ? null : super.getWriter()));
+            }
+            return writer;
+        }
+    }
+
+    @Override
+    public void setStatus(int status) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setStatus(status);
+            }
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int status, String message) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setStatus(status, message);
+            }
+        }
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.sendError(status);
+            }
+        }
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.sendError(status, message);
+            }
+        }
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.sendRedirect(location);
+            }
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setHeader(name, value);
+            }
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.addHeader(name, value);
+            }
+        }
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setDateHeader(name, date);
+            }
+        }
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.addDateHeader(name, date);
+            }
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setIntHeader(name, value);
+            }
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.addIntHeader(name, value);
+            }
+        }
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.addCookie(cookie);
+            }
+        }
+    }
+
+    @Override
+    public void setContentType(String type) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setContentType(type);
+            }
+        }
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setCharacterEncoding(charset);
+            }
+        }
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setContentLength(length);
+            }
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setContentLengthLong(length);
+            }
+        }
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setLocale(locale);
+            }
+        }
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.setBufferSize(size);
+            }
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.reset();
+            }
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        synchronized (lock) {
+            if (!abandoned.getAsBoolean()) {
+                super.resetBuffer();
+            }
+        }
+    }
+
+    /**
+     * Description: The stream of the content which ignores the bytes after the request has been abandoned.
+     * The stream has no target if the request has been abandoned before the stream was requested.
+     */
+    private class AbandonableOutputStream extends ServletOutputStream {
+        private final ServletOutputStream output;
+
+        AbandonableOutputStream(ServletOutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.write(b);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.write(bytes, offset, length);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.flush();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.close();
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return output == null || output.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (output != null) {
+                output.setWriteListener(writeListener);
+            }
+        }
+    }
+
+    /**
+     * Description: The writer of the content which ignores the characters after the request has been abandoned.
+     */
+    private class AbandonableWriter extends Writer {
+        private final Writer output;
+
+        AbandonableWriter(Writer output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.write(chars, offset, length);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.flush();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (lock) {
+                if (output != null && !abandoned.getAsBoolean()) {
+                    output.close();
+                }
+            }
+        }
+    }
+}
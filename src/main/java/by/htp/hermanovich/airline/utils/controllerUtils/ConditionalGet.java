@@ -0,0 +1,137 @@
+package by.htp.hermanovich.airline.utils.controllerUtils;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Description: This class contains methods for the conditional requests. A response is marked with an entity tag
+ * built from the versions of the data which the response is built from; a client which sends the tag back
+ * receives the status <i>304 Not Modified</i> without a body while the data has not been changed.
+ * The tags are weak, because the bytes of the body can differ while the data is the same. A response may be marked
+ * with the time of the last change of its data as well, for the clients which revalidate by the date only.
+ * The versions of {@link by.htp.hermanovich.airline.dao.cache.DataVersion} are kept by every node on its own,
+ * so the tags are valid for a single node only.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * This method builds a weak entity tag from the parts which identify the versions of the data.
+     *
+     * @param parts     - the versions of the data.
+     * @return          - an entity tag.
+     */
+    public static String entityTag(Object... parts) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * This method marks the response with the entity tag and checks if the client already has the response.
+     * In that case the status <i>304 Not Modified</i> is set and nothing else has to be written.
+     *
+     * @param request       - an object of request;
+     * @param response      - an object of response;
+     * @param entityTag     - the entity tag of the response;
+     * @param privateData   - <i>true</i> if the response belongs to the user and must not be kept by shared caches.
+     * @return              - <i>true</i> if the response has not been modified.
+     */
+    public static boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String entityTag,
+                                        boolean privateData) {
+        return isNotModified(request, response, entityTag, privateData ? "private, no-cache" : "no-cache");
+    }
+
+    /**
+     * This method marks the response with the entity tag and the given caching policy and checks if the client
+     * already has the response.
+     *
+     * @param request       - an object of request;
+     * @param response      - an object of response;
+     * @param entityTag     - the entity tag of the response;
+     * @param cacheControl  - the value of the <i>Cache-Control</i> header.
+     * @return              - <i>true</i> if the response has not been modified.
+     */
+    public static boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String entityTag,
+                                        String cacheControl) {
+        response.setHeader(Parameters.HEADER_ETAG, entityTag);
+        response.setHeader(Parameters.HEADER_CACHE_CONTROL, cacheControl);
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        if (matches(request.getHeader(Parameters.HEADER_IF_NONE_MATCH), entityTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method marks the response with the entity tag and the time of the last change of the data and checks
+     * if the client already has the response. The time is compared only if the client has sent no entity tag.
+     *
+     * @param request       - an object of request;
+     * @param response      - an object of response;
+     * @param entityTag     - the entity tag of the response;
+     * @param lastModified  - the time of the last change of the data in milliseconds;
+     * @param privateData   - <i>true</i> if the response belongs to the user and must not be kept by shared caches.
+     * @return              - <i>true</i> if the response has not been modified.
+     */
+    public static boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String entityTag,
+                                        long lastModified, boolean privateData) {
+        response.setDateHeader(Parameters.HEADER_LAST_MODIFIED, lastModified);
+        if (isNotModified(request, response, entityTag, privateData)) {
+            return true;
+        }
+        if (request.getHeader(Parameters.HEADER_IF_NONE_MATCH) != null) {
+            return false;
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(Parameters.HEADER_IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method compares the tags of the <i>If-None-Match</i> header with the entity tag weakly,
+     * so the prefix of a weak tag is ignored.
+     */
+    private static boolean matches(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaque(entityTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmedTag = tag.trim();
+            if ("*".equals(trimmedTag) || opaque(trimmedTag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,290 @@
+package by.htp.hermanovich.airline.utils.controllerUtils;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.constants.PathPageConstants;
+import by.htp.hermanovich.airline.managers.ConfigManagerApp;
+import by.htp.hermanovich.airline.managers.ConfigManagerDB;
+import by.htp.hermanovich.airline.managers.ConfigManagerPages;
+import org.apache.log4j.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: This class executes the commands of the asynchronous requests. The commands are executed by a bounded
+ * pool of threads, so the threads of the container are not blocked by database and the static pages are served while
+ * database is slow. A request holds the connection of its unit of work and may take one independent connection more
+ * (a block of ticket numbers is reserved on it), therefore the pool has as many threads as the pool of connections
+ * has connections minus the number of the independent connections, so the threads never wait for each other's
+ * connections. The requests which wait for a thread are kept in a bounded queue. A request is rejected with
+ * <i>503 Service Unavailable</i> if the queue is full, and a request which has not been processed in time is forwarded
+ * to the error page; its command is interrupted and its transaction is rolled back.
+ */
+public class RequestExecutor {
+    private static final Logger logger = Logger.getLogger(RequestExecutor.class);
+
+    private volatile static RequestExecutor instance;
+
+    private final boolean enabled;
+    private final long timeout;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+
+    private RequestExecutor() {
+        ConfigManagerApp config = ConfigManagerApp.getInstance();
+        enabled = Boolean.parseBoolean(config.getProperty(ConfigConstant.REQUEST_ASYNC_ENABLED));
+        timeout = Long.parseLong(config.getProperty(ConfigConstant.REQUEST_ASYNC_TIMEOUT));
+        int queueSize = Integer.parseInt(config.getProperty(ConfigConstant.REQUEST_ASYNC_QUEUE_SIZE));
+        ConfigManagerDB configDB = ConfigManagerDB.getInstance();
+        int threads = Math.max(1, Integer.parseInt(configDB.getProperty(ConfigConstant.DB_POOL_MAX_SIZE))
+                - Integer.parseInt(configDB.getProperty(ConfigConstant.DB_POOL_INDEPENDENT_SIZE)));
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "request-executor-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static RequestExecutor getInstance() {
+        if (instance == null) {
+            synchronized (RequestExecutor.class) {
+                if (instance == null) {
+                    instance = new RequestExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method checks if the request can be processed asynchronously. The asynchronous processing can be
+     * switched off with the <i>request.async.enabled</i> property.
+     *
+     * @param request       - an object of request from a client.
+     * @return              - <i>true</i> if the request should be put into asynchronous mode.
+     */
+    public boolean isAsync(HttpServletRequest request) {
+        return enabled && request.isAsyncSupported();
+    }
+
+    /**
+     * This method puts the request into asynchronous mode and passes its command to the pool of threads.
+     * The thread of the container is released as soon as the method returns.
+     *
+     * @param request       - an object of request from a client.
+     * @param response      - an object of response from Controller.
+     */
+    public void execute(HttpServletRequest request, HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeout);
+        RequestTask task = new RequestTask(asyncContext);
+        asyncContext.addListener(task);
+        try {
+            task.future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedRequests.increment();
+            logger.warn(MessageConstants.REQUEST_QUEUE_FULL + executor.getQueue().size());
+            task.forwardToErrorPage(HttpServletResponse.SC_SERVICE_UNAVAILABLE, MessageConstants.REQUEST_REJECTED);
+        }
+    }
+
+    /**
+     * This method gives the number of the requests which have been rejected because the queue was full.
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * This method gives the number of the requests which have not been processed in time.
+     */
+    public long getTimedOutRequests() {
+        return timedOutRequests.sum();
+    }
+
+    /**
+     * This method gives the number of the requests which wait for a thread.
+     */
+    public int getQueuedRequests() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * This method gives the number of the threads which are executing commands.
+     */
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * This method stops the pool of threads. The commands which are being executed are interrupted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Description: The command of one asynchronous request. The request is finished either by the task
+     * or by the container after the timeout or an error, whichever takes the request first; the other one leaves
+     * the request as it is. A task which has timed out in the queue is not executed at all. The task takes
+     * the request right before the transaction of the command is committed, so a request which has been answered
+     * with the error page is rolled back and a committed request is not answered with the error page. When the
+     * container has taken the request the command is interrupted and its changes of the response are ignored.
+     */
+    private final class RequestTask implements Runnable, AsyncListener {
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private boolean taken;
+        private volatile Future<?> future;
+
+        RequestTask(AsyncContext asyncContext) {
+            this.asyncContext = asyncContext;
+        }
+
+        @Override
+        public void run() {
+            if (finished.get()) {
+                return;
+            }
+            HttpServletRequest request = (HttpServletRequest) asyncContext.getRequest();
+            HttpServletResponse response = new AbandonableResponseWrapper(
+                    (HttpServletResponse) asyncContext.getResponse(), this, this::isAbandoned);
+            String page;
+            try {
+                page = RequestHandler.executeCommand(request, response,
+                        () -> !Thread.currentThread().isInterrupted() && take());
+            } catch (ServletException | IOException | RuntimeException e) {
+                logger.error(MessageConstants.REQUEST_PROCESSING_ERROR, e);
+                if (take()) {
+                    showErrorPage(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, MessageConstants.REQUEST_PROCESSING_ERROR);
+                }
+                return;
+            }
+            if (take()) {
+                if (page != null) {
+                    asyncContext.dispatch(page);
+                } else {
+                    asyncContext.complete();
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (forwardToErrorPage(HttpServletResponse.SC_SERVICE_UNAVAILABLE, MessageConstants.REQUEST_TIMED_OUT)) {
+                timedOutRequests.increment();
+                logger.warn(MessageConstants.REQUEST_TIMED_OUT);
+                interrupt();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            if (abandon()) {
+                asyncContext.complete();
+                interrupt();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) throws IOException {
+        }
+
+        /**
+         * This method takes the request for the task. It is invoked only by the thread of the task.
+         *
+         * @return          - <i>false</i> if the request has been taken by the container.
+         */
+        private boolean take() {
+            if (!taken) {
+                taken = finished.compareAndSet(false, true);
+            }
+            return taken;
+        }
+
+        /**
+         * This method takes the request for the container. The request is taken under the lock of the response
+         * of the task, so the command is not in the middle of a change of the response.
+         *
+         * @return          - <i>false</i> if the request has been finished already.
+         */
+        private boolean abandon() {
+            synchronized (this) {
+                return finished.compareAndSet(false, true);
+            }
+        }
+
+        /**
+         * This method checks if the request has been taken by the container. It is invoked only by the thread of the task.
+         */
+        private boolean isAbandoned() {
+            return finished.get() && !taken;
+        }
+
+        /**
+         * This method interrupts the command which is being executed, so it stops waiting for database.
+         * The command which has not been started yet is removed from the queue.
+         */
+        private void interrupt() {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        /**
+         * This method finishes the request with the error page, unless the request has been finished already.
+         *
+         * @return          - <i>false</i> if the request has been finished already.
+         */
+        boolean forwardToErrorPage(int status, String message) {
+            if (!abandon()) {
+                return false;
+            }
+            showErrorPage(status, message);
+            return true;
+        }
+
+        /**
+         * This method forwards the request to the error page. If the command has started to write the response
+         * the request is only completed.
+         */
+        private void showErrorPage(int status, String message) {
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (response.isCommitted()) {
+                asyncContext.complete();
+                return;
+            }
+            response.reset();
+            response.setStatus(status);
+            asyncContext.getRequest().setAttribute(Parameters.ERROR_DATABASE, message);
+            asyncContext.dispatch(ConfigManagerPages.getInstance().getProperty(PathPageConstants.ERROR_PAGE_PATH));
+        }
+    }
+}
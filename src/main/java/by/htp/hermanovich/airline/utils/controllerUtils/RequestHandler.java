@@ -1,15 +1,25 @@
 package by.htp.hermanovich.airline.utils.controllerUtils;
 
 import by.htp.hermanovich.airline.commands.BasicCommand;
+import by.htp.hermanovich.airline.commands.ConditionalCommand;
+import by.htp.hermanovich.airline.commands.ResponseCommand;
+import by.htp.hermanovich.airline.commands.factory.CommandType;
 import by.htp.hermanovich.airline.commands.factory.CommandsFactory;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.managers.ConfigManagerPages;
+import by.htp.hermanovich.airline.utils.metrics.LatencyHistogram;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
 import by.htp.hermanovich.airline.constants.PathPageConstants;
+import by.htp.hermanovich.airline.utils.transaction.UnitOfWork;
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
 
 /**
  * Description: This class contains method that handles a request from a *.jsp page and defines a command
@@ -28,8 +38,10 @@ public class RequestHandler extends HttpServlet {
      * This method follows the next steps:
      *      - defines the command that received from a *.jsp page;
      *      - calls the implemented <i>execute()</i> method and passes parameters to the handler class,
-     *          which is related to a particular command;
+     *          which is related to a particular command, within a unit of work;
+     *      - completes the unit of work, so the transaction of the request is committed before the page is rendered;
      *      - redirects to the required page, it also might be an error page if the required page are not found.
+     * A {@link ResponseCommand} writes the response itself, so there is no page to direct the user to.
      *
      * @param request       - an object of request from a client.
      * @param response      - an object of response from Controller.
@@ -37,15 +49,111 @@ public class RequestHandler extends HttpServlet {
      * @throws IOException
      */
     public static void processRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        CommandsFactory factory = CommandsFactory.getInstance();
-        BasicCommand command = factory.defineCommand(request);
-        String page = command.execute(request);
+        String page = executeCommand(request, response);
         if (page != null) {
             RequestDispatcher dispatcher = request.getServletContext().getRequestDispatcher(page);
             dispatcher.forward(request, response);
-        } else {
-            page = ConfigManagerPages.getInstance().getProperty(PathPageConstants.INDEX_PAGE_PATH);
-            response.sendRedirect(request.getContextPath() + page);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * This method executes the command of request within a unit of work and gives the page to forward to.
+     * The page is not forwarded to here, so the asynchronous processing can dispatch to it from the container thread.
+     * The latency of the command, including the completion of its unit of work, is recorded to the {@link MetricsRegistry}.
+     * A {@link ConditionalCommand} is not executed if the browser already has its page: the status
+     * <i>304 Not Modified</i> is answered without database. A command which has changed the data gives no page
+     * and sets the path to redirect to, so the page after the change is requested by the browser again
+     * and a reload of it does not repeat the change.
+     *
+     * @param request       - an object of request from a client.
+     * @param response      - an object of response from Controller.
+     * @return              - the page to forward to, or <i>null</i> if the response has been written by the command
+     *                          or redirected.
+     * @throws ServletException
+     * @throws IOException
+     */
+    public static String executeCommand(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        return executeCommand(request, response, () -> true);
+    }
+
+    /**
+     * This method executes the command of request like {@link #executeCommand(HttpServletRequest, HttpServletResponse)},
+     * but the transaction of the command is committed only if the guard allows it right before the commit.
+     *
+     * @param request       - an object of request from a client;
+     * @param response      - an object of response from Controller;
+     * @param commitGuard   - <i>false</i> if the transaction must be rolled back because the request has been abandoned.
+     * @return              - the page to forward to, or <i>null</i> if the response has been written by the command
+     *                          or redirected.
+     * @throws ServletException
+     * @throws IOException
+     */
+    public static String executeCommand(HttpServletRequest request, HttpServletResponse response,
+                                        BooleanSupplier commitGuard) throws ServletException, IOException {
+        CommandsFactory factory = CommandsFactory.getInstance();
+        CommandType commandType = factory.defineCommandType(request);
+        BasicCommand command = factory.getCommand(commandType);
+        LatencyHistogram latency = MetricsRegistry.getInstance().getCommandLatency(commandType);
+        long start = System.nanoTime();
+        if (command instanceof ConditionalCommand && ConditionalGet.isNotModified(request, response,
+                ((ConditionalCommand) command).getEntityTag(request),
+                ((ConditionalCommand) command).getLastModified(request), true)) {
+            latency.record(start);
+            return null;
+        }
+        String page;
+        boolean succeeded = false;
+        UnitOfWork.begin();
+        try {
+            if (command instanceof ResponseCommand) {
+                ((ResponseCommand) command).execute(request, response);
+                page = null;
+            } else {
+                page = command.execute(request);
+            }
+            succeeded = true;
+        } finally {
+            try {
+                completeUnitOfWork(succeeded, commitGuard);
+            } catch (ServletException e) {
+                succeeded = false;
+                throw e;
+            } finally {
+                latency.record(start);
+                if (!succeeded) {
+                    latency.recordError();
+                }
+            }
+        }
+        if (command instanceof ResponseCommand) {
+            return null;
+        }
+        if (page == null) {
+            String redirectPath = (String) request.getAttribute(Parameters.REDIRECT_PATH);
+            if (redirectPath == null) {
+                redirectPath = ConfigManagerPages.getInstance().getProperty(PathPageConstants.INDEX_PAGE_PATH);
+            }
+            response.sendRedirect(request.getContextPath() + redirectPath);
+            return null;
+        }
+        if (command instanceof ConditionalCommand && request.getAttribute(Parameters.ERROR_DATABASE) != null) {
+            response.setHeader(Parameters.HEADER_CACHE_CONTROL, Parameters.CACHE_CONTROL_NO_STORE);
+        }
+        return page;
+    }
+
+    /**
+     * This method completes the unit of work of the request.
+     *
+     * @param succeeded     - <i>true</i> if the command has been executed without errors;
+     * @param commitGuard   - <i>false</i> if the transaction must be rolled back.
+     * @throws ServletException
+     */
+    private static void completeUnitOfWork(boolean succeeded, BooleanSupplier commitGuard) throws ServletException {
+        try {
+            UnitOfWork.end(succeeded, commitGuard);
+        } catch (SQLException e) {
+            throw new ServletException(MessageConstants.TRANSACTION_FAILED, e);
+        }
+    }
+}
@@ -4,7 +4,11 @@ import by.htp.hermanovich.airline.commands.factory.CommandType;
 import by.htp.hermanovich.airline.constants.Parameters;
 import by.htp.hermanovich.airline.entities.*;
 import javax.servlet.http.HttpServletRequest;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.sql.Date;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Description: This class identifies request parameters.
@@ -14,18 +18,17 @@ import java.util.HashMap;
 public class RequestParameterIdentifier {
 
     /**
-     * This method identifies a type command from request.
+     * This method identifies a type command from request. The name of the command is case-insensitive.
      *
      * @param request   - object of request.
-     * @return          - type of command that will be executed.
+     * @return          - type of command that will be executed; <i>null</i> if the command is unknown.
      */
     public static CommandType getCommandFromRequest(HttpServletRequest request) {
-        CommandType commandType = CommandType.DEFAULT;
-        if (request.getParameter(Parameters.COMMAND) != null
-                && !request.getParameter(Parameters.COMMAND).isEmpty()) {
-            commandType = CommandType.valueOf(request.getParameter(Parameters.COMMAND).toUpperCase());
+        String command = request.getParameter(Parameters.COMMAND);
+        if (command == null || command.isEmpty()) {
+            return CommandType.DEFAULT;
         }
-        return commandType;
+        return CommandType.fromName(command);
     }
 
     /**
@@ -193,17 +196,19 @@ public class RequestParameterIdentifier {
     /**
      * This method updates the fields of current luggage type according to the requests parameters.
      * This method receives a type of a luggage and price from request and sets this values
-     * to the corresponding fields of the luggage which is passed to the method as parameter.
+     * to the corresponding fields of a copy of the luggage which is passed to the method as parameter,
+     * so a luggage type from the reference data cache is not modified.
      *
      * @param request   - an object of request with necessary parameters.
      * @return          - a type of luggage from request that will be updated.
      */
     public static Luggage updateLuggageFromRequest(Luggage luggage, HttpServletRequest request) {
+        Luggage updatedLuggage = new Luggage(luggage.getId(), luggage.getLuggageType(), luggage.getPrice());
         String luggagePrice = request.getParameter(Parameters.LUGGAGE_PRICE);
         if (luggagePrice != null && !luggagePrice.isEmpty()) {
-            luggage.setPrice(Float.parseFloat(luggagePrice));
+            updatedLuggage.setPrice(Float.parseFloat(luggagePrice));
         }
-        return luggage;
+        return updatedLuggage;
     }
 
     /**
@@ -237,10 +242,13 @@ public class RequestParameterIdentifier {
         Aircraft aircraft = new Aircraft();
         String aircraftCode = request.getParameter(Parameters.AIRCRAFT_CODE);
         String aircraftModel = request.getParameter(Parameters.AIRCRAFT_MODEL);
+        String aircraftSeats = request.getParameter(Parameters.AIRCRAFT_SEATS);
         if (aircraftCode != null && !aircraftCode.isEmpty()
-                && aircraftModel != null && !aircraftModel.isEmpty()) {
+                && aircraftModel != null && !aircraftModel.isEmpty()
+                && aircraftSeats != null && aircraftSeats.matches("\\d{1,4}")) {
             aircraft.setAircraftCode(aircraftCode);
             aircraft.setModel(aircraftModel);
+            aircraft.setSeats(Integer.parseInt(aircraftSeats));
         }
         return aircraft;
     }
@@ -284,6 +292,125 @@ public class RequestParameterIdentifier {
         return flightInfoFromRequest;
     }
 
+    /**
+     * This method builds the path of the page of the flights which request has been sent from: the search conditions,
+     * the filters and the cursor of the page are taken from request.
+     *
+     * @param request       - an object of request.
+     * @return              - the path of the page inside the application.
+     */
+    public static String getFlightsPagePathFromRequest(HttpServletRequest request) {
+        StringBuilder path = new StringBuilder(Parameters.CONTROLLER_PATH).append('?').append(Parameters.COMMAND)
+                .append('=').append(CommandType.NEXTFLIGHTS.name().toLowerCase());
+        String[] names = {Parameters.DEPARTURE_FOR_FLIGHT, Parameters.ARRIVAL_FOR_FLIGHT, Parameters.DATE_OF_FLIGHT,
+                Parameters.CURSOR_DATE, Parameters.CURSOR_PRICE, Parameters.CURSOR_ID, Parameters.SORT_BY,
+                Parameters.MIN_PRICE, Parameters.MAX_PRICE, Parameters.AIRCRAFT_MODEL};
+        try {
+            for (String name : names) {
+                String value = request.getParameter(name);
+                if (value != null && !value.isEmpty()) {
+                    path.append('&').append(name).append('=').append(URLEncoder.encode(value, "UTF-8"));
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return path.toString();
+    }
+
+    /**
+     * This method receives the keyset cursor of the flight search from the request: the date of departure,
+     * the price per seat and the id of the last flight of the previous page. If the request has no valid cursor
+     * the cursor of the first page is returned.
+     *
+     * @param request       - an object of request.
+     * @return              - a flight with the values of the cursor.
+     */
+    public static Flight getCursorFromRequest(HttpServletRequest request) {
+        Date cursorDate = parseDate(request.getParameter(Parameters.CURSOR_DATE));
+        Float cursorPrice = parsePrice(request.getParameter(Parameters.CURSOR_PRICE));
+        String cursorId = request.getParameter(Parameters.CURSOR_ID);
+        if (cursorDate == null || cursorPrice == null || cursorId == null || !cursorId.matches("\\d{1,9}")) {
+            return FlightsPage.cursorOf(FlightsPage.FIRST_PAGE_DATE, FlightsPage.FIRST_PAGE_PRICE, FlightsPage.FIRST_PAGE_ID);
+        }
+        return FlightsPage.cursorOf(cursorDate, cursorPrice, Integer.parseInt(cursorId));
+    }
+
+    /**
+     * This method receives the filters and the order of the results of the flight search from the request.
+     * The filters which are absent or not valid are not applied.
+     *
+     * @param request       - an object of request.
+     * @return              - the filters and the order of the results.
+     */
+    public static FlightFilter getFlightFilterFromRequest(HttpServletRequest request) {
+        String aircraftModel = request.getParameter(Parameters.AIRCRAFT_MODEL);
+        return new FlightFilter(FlightSort.fromParameter(request.getParameter(Parameters.SORT_BY)),
+                parsePrice(request.getParameter(Parameters.MIN_PRICE)),
+                parsePrice(request.getParameter(Parameters.MAX_PRICE)),
+                aircraftModel != null && !aircraftModel.isEmpty() ? aircraftModel : null);
+    }
+
+    /**
+     * This method receives the date of the return flight of the round trip search from the request.
+     *
+     * @param request       - an object of request.
+     * @return              - the date of the return flight or <i>null</i> if the request has no valid date.
+     */
+    public static Date getReturnDateFromRequest(HttpServletRequest request) {
+        return parseDate(request.getParameter(Parameters.RETURN_DATE_OF_FLIGHT));
+    }
+
+    /**
+     * This method checks if the search conditions from request can be searched: the departure airport
+     * with the arrival airport, a valid date of flight or both.
+     *
+     * @param searchConditions  - the <i>searchConditions</i> map with corresponding values.
+     * @return                  - boolean value of the condition.
+     */
+    public static boolean isValidFlightSearch(Map<String, String> searchConditions) {
+        String dateOfFlight = searchConditions.get(Parameters.DATE_OF_FLIGHT);
+        if (dateOfFlight != null && parseDate(dateOfFlight) == null) {
+            return false;
+        }
+        return searchConditions.containsKey(Parameters.DEPARTURE_FOR_FLIGHT)
+                && (searchConditions.containsKey(Parameters.ARRIVAL_FOR_FLIGHT) || dateOfFlight != null);
+    }
+
+    /**
+     * This method receives the maximum number of results which the client asks for from request.
+     *
+     * @param request       - an object of request;
+     * @param defaultLimit  - the number of results if the request has no valid limit;
+     * @param maxLimit      - the greatest allowed number of results.
+     * @return              - the number of results.
+     */
+    public static int getLimitFromRequest(HttpServletRequest request, int defaultLimit, int maxLimit) {
+        String limit = request.getParameter(Parameters.API_LIMIT);
+        if (limit != null && limit.matches("\\d{1,9}")) {
+            return Math.max(1, Math.min(Integer.parseInt(limit), maxLimit));
+        }
+        return Math.min(defaultLimit, maxLimit);
+    }
+
+    private static Date parseDate(String date) {
+        if (date != null && date.matches("\\d{4}-\\d{2}-\\d{2}")) {
+            try {
+                return Date.valueOf(date);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Float parsePrice(String price) {
+        if (price != null && price.matches("-?\\d{1,7}(\\.\\d{1,9})?")) {
+            return Float.parseFloat(price);
+        }
+        return null;
+    }
+
     /**
      * This method fills a <i>map</i> of parameters of the flight with values from the request.
      *
@@ -292,13 +419,10 @@ public class RequestParameterIdentifier {
      */
     public static HashMap<String,String> getTicketInfoFromRequest(HttpServletRequest request) {
         HashMap<String, String> ticketInfoMap = new HashMap<>();
-        String userLogin = request.getParameter(Parameters.LOGIN);
         String flightId = request.getParameter(Parameters.FLIGHT_ID);
         String luggageId = request.getParameter(Parameters.LUGGAGE_ID);
-        if (userLogin != null && !userLogin.isEmpty()
-                && flightId != null && !flightId.isEmpty()
+        if (flightId != null && !flightId.isEmpty()
                 && luggageId != null && !luggageId.isEmpty()) {
-            ticketInfoMap.put(Parameters.LOGIN, userLogin);
             ticketInfoMap.put(Parameters.FLIGHT_ID, flightId);
             ticketInfoMap.put(Parameters.LUGGAGE_ID, luggageId);
         }
@@ -317,6 +441,17 @@ public class RequestParameterIdentifier {
         return user;
     }
 
+    /**
+     * This method receives the id of the user who has logged in from the session.
+     *
+     * @param request   - an object of request.
+     * @return          - the id of the user or <i>0</i> if no user has logged in.
+     */
+    public static int getUserIdFromSession(HttpServletRequest request) {
+        User user = getUserFromSession(request);
+        return user == null ? 0 : user.getId();
+    }
+
     /**
      * This method received a ticket number from request.
      *
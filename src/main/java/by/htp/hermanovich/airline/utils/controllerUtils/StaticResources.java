@@ -0,0 +1,111 @@
+package by.htp.hermanovich.airline.utils.controllerUtils;
+
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.Parameters;
+import org.apache.log4j.Logger;
+
+import javax.servlet.ServletContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Description: This class keeps the versions of the static resources of the application: the styles, the scripts
+ * and the images. The version of a resource is the checksum of its content, so it changes only when the file
+ * is changed. The pages refer to the resources by the versioned paths <i>css/login.css?v=&lt;version&gt;</i>,
+ * which are published as the application-scoped map <i>staticResource</i>; a response to a versioned path can be
+ * kept by the browser for a long time, because a changed file is requested by another path.
+ */
+public class StaticResources {
+    private static final Logger logger = Logger.getLogger(StaticResources.class);
+
+    private volatile static StaticResources instance;
+
+    private static final String[] RESOURCE_FOLDERS = {"/css/", "/js/", "/images/"};
+
+    private volatile Map<String, String> versions = Collections.emptyMap();
+
+    private StaticResources() {
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static StaticResources getInstance() {
+        if (instance == null) {
+            synchronized (StaticResources.class) {
+                if (instance == null) {
+                    instance = new StaticResources();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method reads the static resources of the application, computes their versions and publishes
+     * the versioned paths to the servlet context.
+     *
+     * @param context   - the servlet context of the application.
+     */
+    public void load(ServletContext context) {
+        Map<String, String> loadedVersions = new HashMap<>();
+        for (String folder : RESOURCE_FOLDERS) {
+            addFolder(context, folder, loadedVersions);
+        }
+        Map<String, String> versionedPaths = new HashMap<>();
+        for (Map.Entry<String, String> resource : loadedVersions.entrySet()) {
+            versionedPaths.put(resource.getKey().substring(1),
+                    resource.getKey().substring(1) + "?" + Parameters.STATIC_RESOURCE_VERSION + "=" + resource.getValue());
+        }
+        versions = Collections.unmodifiableMap(loadedVersions);
+        context.setAttribute(Parameters.STATIC_RESOURCE, Collections.unmodifiableMap(versionedPaths));
+        logger.info(MessageConstants.STATIC_RESOURCES_LOADED + loadedVersions.size());
+    }
+
+    /**
+     * This method gives the version of the static resource.
+     *
+     * @param path      - the path of the resource inside the application, for example <i>/css/login.css</i>.
+     * @return          - the version of the resource or <i>null</i> if it is not a known static resource.
+     */
+    public String getVersion(String path) {
+        return versions.get(path);
+    }
+
+    private void addFolder(ServletContext context, String folder, Map<String, String> loadedVersions) {
+        Set<String> paths = context.getResourcePaths(folder);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                addFolder(context, path, loadedVersions);
+                continue;
+            }
+            try (InputStream input = context.getResourceAsStream(path)) {
+                if (input != null) {
+                    loadedVersions.put(path, checksum(input));
+                }
+            } catch (IOException e) {
+                logger.error(MessageConstants.STATIC_RESOURCE_ERROR + path, e);
+            }
+        }
+    }
+
+    private static String checksum(InputStream input) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = input.read(buffer)) != -1) {
+            crc.update(buffer, 0, length);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
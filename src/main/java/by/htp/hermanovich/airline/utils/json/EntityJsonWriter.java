@@ -0,0 +1,101 @@
+package by.htp.hermanovich.airline.utils.json;
+
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.Luggage;
+import by.htp.hermanovich.airline.entities.Ticket;
+
+import java.io.IOException;
+
+/**
+ * Description: This class writes the entities of the application as JSON objects. The objects are written
+ * field by field to the {@link JsonWriter}, so no intermediate representation of the entities is built.
+ */
+public final class EntityJsonWriter {
+
+    private EntityJsonWriter() {
+    }
+
+    /**
+     * This method writes the flight with its airports and aircraft.
+     *
+     * @param json              - a writer of the document;
+     * @param flight            - a flight;
+     * @param availableSeats    - the current number of available seats to the flight or <i>null</i> if they are not checked.
+     * @throws IOException
+     */
+    public static void writeFlight(JsonWriter json, Flight flight, Integer availableSeats) throws IOException {
+        json.beginObject()
+                .name("id").value(flight.getId())
+                .name("flightNumber").value(flight.getFlightNumber());
+        json.name("departureAirport");
+        writeAirport(json, flight.getDepartureAirport());
+        json.name("arrivalAirport");
+        writeAirport(json, flight.getArrivalAirport());
+        json.name("departureDate").value(String.valueOf(flight.getSheduledDeparture()))
+                .name("arrivalDate").value(String.valueOf(flight.getSheduledArrival()));
+        json.name("aircraft");
+        writeAircraft(json, flight.getAircraft());
+        json.name("pricePerSeat").value(flight.getPricePerSeat())
+                .name("availableSeats").value(availableSeats)
+                .endObject();
+    }
+
+    /**
+     * This method writes the ticket with its flight and luggage. The owner of the ticket is not written.
+     *
+     * @param json              - a writer of the document;
+     * @param ticket            - a ticket.
+     * @throws IOException
+     */
+    public static void writeTicket(JsonWriter json, Ticket ticket) throws IOException {
+        Flight flight = ticket.getFlight();
+        json.beginObject()
+                .name("ticketNumber").value(ticket.getTicketNumber())
+                .name("flightNumber").value(flight.getFlightNumber());
+        json.name("departureAirport");
+        writeAirport(json, flight.getDepartureAirport());
+        json.name("arrivalAirport");
+        writeAirport(json, flight.getArrivalAirport());
+        json.name("departureDate").value(String.valueOf(flight.getSheduledDeparture()))
+                .name("arrivalDate").value(String.valueOf(flight.getSheduledArrival()))
+                .name("pricePerSeat").value(flight.getPricePerSeat())
+                .name("luggageType").value(ticket.getLuggage().getLuggageType())
+                .name("luggagePrice").value(ticket.getLuggage().getPrice())
+                .name("totalPrice").value(ticket.getTotalPrice())
+                .endObject();
+    }
+
+    public static void writeAirport(JsonWriter json, Airport airport) throws IOException {
+        if (airport == null) {
+            json.nullValue();
+            return;
+        }
+        json.beginObject()
+                .name("code").value(airport.getAirportCode())
+                .name("name").value(airport.getAirportName())
+                .name("city").value(airport.getCity())
+                .endObject();
+    }
+
+    public static void writeAircraft(JsonWriter json, Aircraft aircraft) throws IOException {
+        if (aircraft == null) {
+            json.nullValue();
+            return;
+        }
+        json.beginObject()
+                .name("code").value(aircraft.getAircraftCode())
+                .name("model").value(aircraft.getModel())
+                .name("seats").value(aircraft.getSeats())
+                .endObject();
+    }
+
+    public static void writeLuggage(JsonWriter json, Luggage luggage) throws IOException {
+        json.beginObject()
+                .name("id").value(luggage.getId())
+                .name("type").value(luggage.getLuggageType())
+                .name("price").value(luggage.getPrice())
+                .endObject();
+    }
+}
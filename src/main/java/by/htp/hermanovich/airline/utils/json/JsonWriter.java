@@ -0,0 +1,191 @@
+package by.htp.hermanovich.airline.utils.json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Description: This class writes a JSON document to a stream token by token, so the document is never kept
+ * in memory as a whole. The writer places the separators itself; the caller only opens and closes the objects
+ * and the arrays and writes the names and the values in order.
+ */
+public class JsonWriter {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final Deque<Boolean> scopes = new ArrayDeque<>();
+    private boolean afterName;
+
+    /**
+     * @param out       - a stream which the document is written to.
+     */
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        scopes.push(Boolean.FALSE);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        scopes.pop();
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        scopes.push(Boolean.FALSE);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        scopes.pop();
+        out.write(']');
+        return this;
+    }
+
+    /**
+     * This method writes the name of the next member of the current object.
+     *
+     * @param name      - a name of the member.
+     * @return          - the writer.
+     * @throws IOException
+     */
+    public JsonWriter name(String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(Integer value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return value(value.longValue());
+    }
+
+    /**
+     * This method writes a number. JSON has no literals for <i>NaN</i> and infinities, so they are written as <i>null</i>.
+     *
+     * @param value     - a number.
+     * @return          - the writer.
+     * @throws IOException
+     */
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value));
+        return this;
+    }
+
+    /**
+     * This method writes a number with the precision of <i>float</i>, so a price is not widened to a long fraction.
+     *
+     * @param value     - a number.
+     * @return          - the writer.
+     * @throws IOException
+     */
+    public JsonWriter value(float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(value == Math.rint(value) && Math.abs(value) < 1e7f ? Long.toString((long) value) : Float.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * This method writes the separator before a value or a name: nothing after a name or at the start of an object
+     * or an array, otherwise a comma.
+     */
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!scopes.isEmpty()) {
+            if (scopes.peek()) {
+                out.write(',');
+            } else {
+                scopes.pop();
+                scopes.push(Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * This method writes a quoted string. Besides the characters which JSON requires to escape, the angle brackets
+     * and the ampersand are escaped, so the document can be embedded into a page.
+     */
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement = null;
+            if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '\r') {
+                replacement = "\\r";
+            } else if (c == '\t') {
+                replacement = "\\t";
+            } else if (c < 0x20 || c == '<' || c == '>' || c == '&' || c == '\u2028' || c == '\u2029') {
+                replacement = "\\u" + HEX_DIGITS[c >> 12 & 0xF] + HEX_DIGITS[c >> 8 & 0xF]
+                        + HEX_DIGITS[c >> 4 & 0xF] + HEX_DIGITS[c & 0xF];
+            }
+            if (replacement != null) {
+                out.write(value, start, i - start);
+                out.write(replacement);
+                start = i + 1;
+            }
+        }
+        out.write(value, start, length - start);
+        out.write('"');
+    }
+}
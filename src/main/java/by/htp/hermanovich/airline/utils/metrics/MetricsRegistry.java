@@ -0,0 +1,194 @@
+package by.htp.hermanovich.airline.utils.metrics;
+
+import by.htp.hermanovich.airline.commands.factory.CommandType;
+import by.htp.hermanovich.airline.constants.QueriesDB;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Description: This class keeps the latency histograms of the application: one histogram for every command,
+ * for every method of the services, for every stage of the booking and for every query of {@link QueriesDB}.
+ * The queries are named after
+ * the constants of the {@link QueriesDB} class; a query which is not a constant is counted as <i>OTHER</i>,
+ * so the number of histograms does not depend on the requests.
+ */
+public class MetricsRegistry {
+    private volatile static MetricsRegistry instance;
+
+    public static final String OTHER_QUERY = "OTHER";
+
+    private final EnumMap<CommandType, LatencyHistogram> commandLatencies = new EnumMap<>(CommandType.class);
+    private final ConcurrentHashMap<String, LatencyHistogram> serviceLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> stageLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> queryLatencies = new ConcurrentHashMap<>();
+    private final Map<String, String> queryNames = new HashMap<>();
+
+    /**
+     * Description: A measured method of a service which gives a result. Besides the <i>SQLException</i> of
+     * the services it can throw one more checked exception.
+     */
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws SQLException, E;
+    }
+
+    /**
+     * Description: A measured method of a service which gives no result.
+     */
+    public interface TimedAction<E extends Exception> {
+        void run() throws SQLException, E;
+    }
+
+    private MetricsRegistry() {
+        for (CommandType commandType : CommandType.values()) {
+            commandLatencies.put(commandType, new LatencyHistogram());
+        }
+        for (Field field : QueriesDB.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    queryNames.put((String) field.get(null), field.getName());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public LatencyHistogram getCommandLatency(CommandType commandType) {
+        return commandLatencies.get(commandType);
+    }
+
+    /**
+     * This method gives the histogram of the method of a service.
+     *
+     * @param method    - the name of the method in the form <i>Service.method</i>.
+     * @return          - the histogram of the method; it is created when it is requested for the first time.
+     */
+    public LatencyHistogram getServiceLatency(String method) {
+        return histogramOf(serviceLatencies, method);
+    }
+
+    /**
+     * This method executes the method of a service and records its latency to the histogram of the method,
+     * whichever way the method returns. A method which has thrown an exception is counted as an error.
+     *
+     * @param method    - the name of the method from {@link by.htp.hermanovich.airline.constants.MetricConstants};
+     * @param call      - the body of the method.
+     * @return          - the result of the method.
+     * @throws SQLException
+     * @throws E        - the other checked exception of the method.
+     */
+    public static <T, E extends Exception> T time(String method, TimedCall<T, E> call) throws SQLException, E {
+        LatencyHistogram latency = getInstance().getServiceLatency(method);
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } catch (Exception e) {
+            latency.recordError();
+            throw e;
+        } finally {
+            latency.record(start);
+        }
+    }
+
+    /**
+     * This method executes the method of a service which gives no result like {@link #time(String, TimedCall)}.
+     *
+     * @param method    - the name of the method from {@link by.htp.hermanovich.airline.constants.MetricConstants};
+     * @param action    - the body of the method.
+     * @throws SQLException
+     * @throws E        - the other checked exception of the method.
+     */
+    public static <E extends Exception> void timeAction(String method, TimedAction<E> action) throws SQLException, E {
+        time(method, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * This method gives the histogram of a stage of the booking pipeline.
+     *
+     * @param stage     - the name of the stage from {@link by.htp.hermanovich.airline.constants.MetricConstants}.
+     * @return          - the histogram of the stage; it is created when it is requested for the first time.
+     */
+    public LatencyHistogram getStageLatency(String stage) {
+        return histogramOf(stageLatencies, stage);
+    }
+
+    /**
+     * This method records the latency of a stage of the booking pipeline which has been finished now.
+     *
+     * @param stage         - the name of the stage from {@link by.htp.hermanovich.airline.constants.MetricConstants};
+     * @param startNanos    - the value of <i>System.nanoTime()</i> when the stage was started.
+     * @return              - the current value of <i>System.nanoTime()</i>, which is the start of the next stage.
+     */
+    public static long recordStage(String stage, long startNanos) {
+        long now = System.nanoTime();
+        getInstance().getStageLatency(stage).recordNanos(now - startNanos);
+        return now;
+    }
+
+    /**
+     * This method gives the histogram of the query.
+     *
+     * @param sql       - the text of the query.
+     * @return          - the histogram of the constant of {@link QueriesDB} which has this text,
+     *                      or the histogram of the other queries.
+     */
+    public LatencyHistogram getQueryLatency(String sql) {
+        String name = queryNames.get(sql);
+        return histogramOf(queryLatencies, name != null ? name : OTHER_QUERY);
+    }
+
+    public Map<String, LatencyHistogram> getCommandLatencies() {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        for (Map.Entry<CommandType, LatencyHistogram> entry : commandLatencies.entrySet()) {
+            latencies.put(entry.getKey().name(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    public Map<String, LatencyHistogram> getServiceLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(serviceLatencies));
+    }
+
+    public Map<String, LatencyHistogram> getStageLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(stageLatencies));
+    }
+
+    public Map<String, LatencyHistogram> getQueryLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(queryLatencies));
+    }
+
+    private static LatencyHistogram histogramOf(ConcurrentHashMap<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+}
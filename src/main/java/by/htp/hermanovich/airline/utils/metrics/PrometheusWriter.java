@@ -0,0 +1,146 @@
+package by.htp.hermanovich.airline.utils.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Description: This class writes the metrics in the text exposition format of Prometheus. A latency histogram
+ * is written as a summary in seconds with the quantiles 0.5, 0.9, 0.99 and 0.999, the sum and the count,
+ * followed by the counter of the errors of the same operations.
+ */
+public class PrometheusWriter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double MICROS_IN_SECOND = 1000000.0;
+
+    private final Writer out;
+
+    /**
+     * @param out       - a stream which the metrics are written to.
+     */
+    public PrometheusWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * This method writes the histograms of one kind of operations.
+     *
+     * @param metric        - the name of the metric, without the unit.
+     * @param operations    - the description of the operations, for example <i>the commands</i>.
+     * @param label         - the name of the label which distinguishes the operations.
+     * @param histograms    - the histograms by the names of the operations.
+     * @return              - the writer.
+     * @throws IOException
+     */
+    public PrometheusWriter summaries(String metric, String operations, String label,
+                                      Map<String, LatencyHistogram> histograms) throws IOException {
+        String durationMetric = metric + "_duration_seconds";
+        header(durationMetric, "Latency of " + operations + ".", "summary");
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().getSnapshot();
+            for (double quantile : QUANTILES) {
+                out.write(durationMetric);
+                out.write('{');
+                label(label, entry.getKey());
+                out.write(",quantile=\"");
+                out.write(Double.toString(quantile));
+                out.write("\"} ");
+                out.write(Double.toString(snapshot.getValueAtQuantile(quantile) / MICROS_IN_SECOND));
+                out.write('\n');
+            }
+            sample(durationMetric + "_sum", label, entry.getKey(), snapshot.getTotalMicros() / MICROS_IN_SECOND);
+            sample(durationMetric + "_count", label, entry.getKey(), snapshot.getCount());
+        }
+        String errorsMetric = metric + "_errors_total";
+        header(errorsMetric, "Failed executions of " + operations + ".", "counter");
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            sample(errorsMetric, label, entry.getKey(), entry.getValue().getErrors());
+        }
+        return this;
+    }
+
+    /**
+     * This method writes a metric which has values for several operations.
+     *
+     * @param metric        - the name of the metric.
+     * @param help          - the description of the metric.
+     * @param type          - the type of the metric: <i>counter</i> or <i>gauge</i>.
+     * @param label         - the name of the label which distinguishes the operations.
+     * @param values        - the values by the names of the operations.
+     * @return              - the writer.
+     * @throws IOException
+     */
+    public PrometheusWriter metric(String metric, String help, String type, String label,
+                                   Map<String, ? extends Number> values) throws IOException {
+        header(metric, help, type);
+        for (Map.Entry<String, ? extends Number> entry : values.entrySet()) {
+            sample(metric, label, entry.getKey(), entry.getValue().doubleValue());
+        }
+        return this;
+    }
+
+    /**
+     * This method writes a metric which has one value.
+     *
+     * @param metric        - the name of the metric.
+     * @param help          - the description of the metric.
+     * @param type          - the type of the metric: <i>counter</i> or <i>gauge</i>.
+     * @param value         - the value of the metric.
+     * @return              - the writer.
+     * @throws IOException
+     */
+    public PrometheusWriter metric(String metric, String help, String type, double value) throws IOException {
+        header(metric, help, type);
+        out.write(metric);
+        out.write(' ');
+        out.write(format(value));
+        out.write('\n');
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void header(String metric, String help, String type) throws IOException {
+        out.write("# HELP ");
+        out.write(metric);
+        out.write(' ');
+        out.write(help);
+        out.write("\n# TYPE ");
+        out.write(metric);
+        out.write(' ');
+        out.write(type);
+        out.write('\n');
+    }
+
+    private void sample(String metric, String label, String labelValue, double value) throws IOException {
+        out.write(metric);
+        out.write('{');
+        label(label, labelValue);
+        out.write("} ");
+        out.write(format(value));
+        out.write('\n');
+    }
+
+    private void label(String label, String value) throws IOException {
+        out.write(label);
+        out.write("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.write('\\');
+                out.write(c);
+            } else if (c == '\n') {
+                out.write("\\n");
+            } else {
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+}
@@ -0,0 +1,115 @@
+package by.htp.hermanovich.airline.utils.migration;
+
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.QueriesDB;
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import org.apache.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Description: This class checks the plans of the lookup queries of {@link QueriesDB} with <i>EXPLAIN</i>.
+ * A query fails the check if it reads the whole <i>flights</i>, <i>tickets</i> or <i>users</i> table or the whole
+ * index of the table, which means that an index of the migrations is missing or is not used. The small tables
+ * of the reference data are not checked. The optimizer can prefer a full scan of a nearly empty table, so the check
+ * is meaningful on a database with data. The check is run after the migration when the application is started
+ * and by the <i>QueryPlanVerifierTest</i> test against the database of the <i>database.properties</i> resource file.
+ */
+public class QueryPlanVerifier {
+    private static final Logger logger = Logger.getLogger(QueryPlanVerifier.class);
+
+    private static final Set<String> CHECKED_TABLES = new HashSet<>(Arrays.asList("flights", "tickets", "users"));
+    private static final Set<String> FULL_SCAN_TYPES = new HashSet<>(Arrays.asList("ALL", "index"));
+    private static final Date SAMPLE_DATE = Date.valueOf("2017-09-01");
+
+    /**
+     * This method explains every lookup query with sample parameters.
+     *
+     * @param connection    - a connection to a database.
+     * @return              - the descriptions of the full scans; the list is empty if all queries use indexes.
+     * @throws SQLException
+     */
+    public List<String> verify(Connection connection) throws SQLException {
+        List<String> fullScans = new ArrayList<>();
+        Map<String, String> queries = getLookupQueries();
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            Statement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.createStatement();
+                resultSet = statement.executeQuery(QueriesDB.EXPLAIN + query.getValue());
+                while (resultSet.next()) {
+                    String table = resultSet.getString("table");
+                    String type = resultSet.getString("type");
+                    if (table != null && CHECKED_TABLES.contains(table) && FULL_SCAN_TYPES.contains(type)) {
+                        fullScans.add(query.getKey() + " (" + table + ", " + type + ")");
+                    }
+                }
+            } finally {
+                ConnectorDB.closeResultSet(resultSet);
+                ConnectorDB.closeStatement(statement);
+            }
+        }
+        for (String fullScan : fullScans) {
+            logger.warn(MessageConstants.QUERY_PLAN_FULL_SCAN + fullScan);
+        }
+        logger.info(MessageConstants.QUERY_PLAN_VERIFIED + queries.size());
+        return fullScans;
+    }
+
+    /**
+     * This method gives the lookup queries with the parameters replaced by sample values, so the queries can be
+     * explained without a prepared statement.
+     *
+     * @return              - a map where the key is the name of the query and the value is the query.
+     */
+    private static Map<String, String> getLookupQueries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("CHECK_AUTHORIZATION", bind(QueriesDB.CHECK_AUTHORIZATION, "login", "password"));
+        queries.put("GET_USER_BY_LOGIN", bind(QueriesDB.GET_USER_BY_LOGIN, "login"));
+        queries.put("GET_FLIGHTS_BY_DEP_ARR_DATE", bind(QueriesDB.GET_FLIGHTS_BY_DEP_ARR_DATE,
+                "AAA", "BBB", SAMPLE_DATE, SAMPLE_DATE, SAMPLE_DATE, 0, 21));
+        queries.put("GET_FLIGHTS_BY_DEP_ARR", bind(QueriesDB.GET_FLIGHTS_BY_DEP_ARR,
+                "AAA", "BBB", SAMPLE_DATE, SAMPLE_DATE, 0, 21));
+        queries.put("GET_FLIGHTS_BY_DEP_DATE", bind(QueriesDB.GET_FLIGHTS_BY_DEP_DATE,
+                "AAA", SAMPLE_DATE, SAMPLE_DATE, SAMPLE_DATE, 0, 21));
+        queries.put("GET_CHEAPEST_FLIGHTS_BY_DEP_ARR_DATE", bind(QueriesDB.GET_CHEAPEST_FLIGHTS_BY_DEP_ARR_DATE,
+                "AAA", "BBB", SAMPLE_DATE, SAMPLE_DATE, 20));
+        queries.put("GET_CHEAPEST_FARES_BY_DEP_ARR", bind(QueriesDB.GET_CHEAPEST_FARES_BY_DEP_ARR,
+                "AAA", "BBB", SAMPLE_DATE, SAMPLE_DATE));
+        queries.put("GET_ALL_TICKETS_BY_USER", bind(QueriesDB.GET_ALL_TICKETS_BY_USER, 1));
+        queries.put("GET_FLIGHT_ID_BY_TICKET_NUMBER", bind(QueriesDB.GET_FLIGHT_ID_BY_TICKET_NUMBER, "0"));
+        queries.put("DELETE_TICKET_BY_NUMBER", bind(QueriesDB.DELETE_TICKET_BY_NUMBER, "0"));
+        return queries;
+    }
+
+    /**
+     * This method replaces the parameters of the query with the literals of the values. The queries
+     * of {@link QueriesDB} have no question marks inside their own literals.
+     */
+    private static String bind(String query, Object... values) {
+        StringBuilder boundQuery = new StringBuilder(query.length() + values.length * 12);
+        int valueIndex = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '?' && valueIndex < values.length) {
+                Object value = values[valueIndex++];
+                boundQuery.append(value instanceof Number ? value.toString() : "'" + value + "'");
+            } else {
+                boundQuery.append(c);
+            }
+        }
+        return boundQuery.toString();
+    }
+}
@@ -0,0 +1,273 @@
+package by.htp.hermanovich.airline.utils.migration;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.constants.QueriesDB;
+import by.htp.hermanovich.airline.managers.ConfigManagerDB;
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Description: This class applies the versioned scripts of the schema of database. The scripts are kept in the
+ * <i>db/migration</i> resource folder with the names <i>V&lt;version&gt;__&lt;description&gt;.sql</i> and are listed
+ * by the <i>db.migration.scripts</i> property of the <i>database.properties</i> resource file. Every applied script
+ * is recorded to the <i>schema_version</i> database table with its checksum, so a script is applied once.
+ * The scripts are applied in the order of the versions under a named lock of database, so the nodes of the
+ * application which start together do not apply a script twice.
+ * The first scripts describe the schema which has been created by hand before, therefore a statement which fails
+ * because its table, column or index already exists is skipped.
+ */
+public class SchemaMigrator {
+    private static final Logger logger = Logger.getLogger(SchemaMigrator.class);
+
+    private volatile static SchemaMigrator instance;
+
+    private static final String MIGRATION_PATH = "db/migration/";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    /**
+     * The errors of MySQL: the table exists, the column exists and the index exists.
+     */
+    private static final Set<Integer> ALREADY_PRESENT_ERRORS = new HashSet<>(Arrays.asList(1050, 1060, 1061));
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static SchemaMigrator getInstance() {
+        if (instance == null) {
+            synchronized (SchemaMigrator.class) {
+                if (instance == null) {
+                    instance = new SchemaMigrator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method applies the scripts which have not been applied yet. The migration can be switched off with
+     * the <i>db.migration.enabled</i> property.
+     *
+     * @throws SQLException     - if a script has failed; the scripts before it stay applied.
+     */
+    public synchronized void migrate() throws SQLException {
+        ConfigManagerDB config = ConfigManagerDB.getInstance();
+        if (!Boolean.parseBoolean(config.getProperty(ConfigConstant.DB_MIGRATION_ENABLED))) {
+            return;
+        }
+        List<Script> scripts = loadScripts(config.getProperty(ConfigConstant.DB_MIGRATION_SCRIPTS));
+        Connection connection = null;
+        try {
+            connection = ConnectorDB.getConnection(TransactionMode.READ_WRITE);
+            execute(connection, QueriesDB.CREATE_SCHEMA_VERSION);
+            acquireLock(connection, Integer.parseInt(config.getProperty(ConfigConstant.DB_MIGRATION_LOCK_TIMEOUT)));
+            try {
+                Map<Integer, Long> appliedVersions = getAppliedVersions(connection);
+                int currentVersion = 0;
+                for (Script script : scripts) {
+                    Long checksum = appliedVersions.get(script.version);
+                    if (checksum == null) {
+                        apply(connection, script);
+                    } else if (checksum != script.checksum) {
+                        logger.warn(MessageConstants.MIGRATION_CHECKSUM_MISMATCH + script.name);
+                    }
+                    currentVersion = script.version;
+                }
+                logger.info(MessageConstants.MIGRATION_UP_TO_DATE + currentVersion);
+            } finally {
+                execute(connection, QueriesDB.RELEASE_MIGRATION_LOCK);
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.MIGRATION_ERROR, e);
+            throw e;
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method executes the statements of the script one by one in the autocommit mode, because the statements
+     * of the schema are committed implicitly by MySQL, and records the script as applied.
+     */
+    private void apply(Connection connection, Script script) throws SQLException {
+        for (String sql : script.statements) {
+            try {
+                execute(connection, sql);
+            } catch (SQLException e) {
+                if (!ALREADY_PRESENT_ERRORS.contains(e.getErrorCode())) {
+                    throw new SQLException(MessageConstants.MIGRATION_ERROR + " " + script.name, e);
+                }
+                logger.info(MessageConstants.MIGRATION_ALREADY_PRESENT + sql);
+            }
+        }
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.ADD_SCHEMA_VERSION);
+            statement.setInt(1, script.version);
+            statement.setString(2, script.description);
+            statement.setString(3, script.name);
+            statement.setLong(4, script.checksum);
+            statement.executeUpdate();
+        } finally {
+            ConnectorDB.closeStatement(statement);
+        }
+        logger.info(MessageConstants.MIGRATION_APPLIED + script.name);
+    }
+
+    private void acquireLock(Connection connection, int timeoutSeconds) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_MIGRATION_LOCK);
+            statement.setInt(1, timeoutSeconds);
+            resultSet = statement.executeQuery();
+            if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                throw new SQLException(MessageConstants.MIGRATION_LOCK_ERROR);
+            }
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+    }
+
+    private Map<Integer, Long> getAppliedVersions(Connection connection) throws SQLException {
+        Map<Integer, Long> appliedVersions = new HashMap<>();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(QueriesDB.GET_SCHEMA_VERSIONS);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                appliedVersions.put(resultSet.getInt(1), resultSet.getLong(2));
+            }
+        } finally {
+            ConnectorDB.closeResultSet(resultSet);
+            ConnectorDB.closeStatement(statement);
+        }
+        return appliedVersions;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        Statement statement = null;
+        try {
+            statement = connection.createStatement();
+            statement.execute(sql);
+        } finally {
+            ConnectorDB.closeStatement(statement);
+        }
+    }
+
+    /**
+     * This method reads the listed scripts from the resources and sorts them by the version.
+     *
+     * @param scriptNames   - the names of the scripts separated by commas.
+     * @return              - the scripts sorted by the version.
+     * @throws SQLException - if a script is missing or its name has no version.
+     */
+    private List<Script> loadScripts(String scriptNames) throws SQLException {
+        List<Script> scripts = new ArrayList<>();
+        for (String scriptName : scriptNames.split(",")) {
+            String name = scriptName.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            Matcher matcher = SCRIPT_NAME.matcher(name);
+            InputStream input = matcher.matches()
+                    ? SchemaMigrator.class.getClassLoader().getResourceAsStream(MIGRATION_PATH + name) : null;
+            if (input == null) {
+                throw new SQLException(MessageConstants.MIGRATION_SCRIPT_NOT_FOUND + name);
+            }
+            try {
+                scripts.add(new Script(name, Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                        read(input)));
+            } catch (IOException e) {
+                throw new SQLException(MessageConstants.MIGRATION_SCRIPT_NOT_FOUND + name, e);
+            }
+        }
+        scripts.sort((first, second) -> Integer.compare(first.version, second.version));
+        return scripts;
+    }
+
+    private static String read(InputStream input) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                text.append(line).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Description: One script of the schema: its version, its statements and the checksum of its text.
+     */
+    private static final class Script {
+        private final String name;
+        private final int version;
+        private final String description;
+        private final List<String> statements;
+        private final long checksum;
+
+        Script(String name, int version, String description, String text) {
+            this.name = name;
+            this.version = version;
+            this.description = description;
+            this.statements = split(text);
+            CRC32 crc = new CRC32();
+            crc.update(text.getBytes(StandardCharsets.UTF_8));
+            this.checksum = crc.getValue();
+        }
+
+        /**
+         * This method splits the script into the statements by the semicolons at the ends of the lines.
+         * The lines which start with two dashes are comments.
+         */
+        private static List<String> split(String text) {
+            List<String> statements = new ArrayList<>();
+            StringBuilder statement = new StringBuilder();
+            for (String line : text.split("\n")) {
+                String trimmedLine = line.trim();
+                if (trimmedLine.isEmpty() || trimmedLine.startsWith("--")) {
+                    continue;
+                }
+                statement.append(line).append('\n');
+                if (trimmedLine.endsWith(";")) {
+                    String sql = statement.toString().trim();
+                    statements.add(sql.substring(0, sql.length() - 1));
+                    statement.setLength(0);
+                }
+            }
+            if (statement.toString().trim().length() > 0) {
+                statements.add(statement.toString().trim());
+            }
+            return statements;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package by.htp.hermanovich.airline.utils.pool;
+
+import by.htp.hermanovich.airline.constants.ConfigConstant;
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.managers.ConfigManagerDB;
+import org.apache.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Description: This class describes a bounded pool of connections to database. The pool is configured
+ * with the <i>database.properties</i> resource file and provides the following features:
+ *      - the number of physical connections never exceeds the maximum size of the pool;
+ *      - a borrower waits for a free connection no longer than the acquire timeout;
+ *      - a connection which has been idle for a while is validated before it is given to a borrower;
+ *      - a connection is closed when it exceeds the maximum lifetime or stays idle longer than the idle timeout;
+ *      - every connection keeps a cache of its prepared statements of the configured size.
+ */
+public class ConnectionPool {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class);
+    private static final long VALIDATION_SKIP_WINDOW = 1000;
+    private static final long HOUSEKEEPING_PERIOD = 30000;
+
+    private volatile static ConnectionPool instance;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minSize;
+    private final long acquireTimeout;
+    private final long idleTimeout;
+    private final long maxLifetime;
+    private final int validationTimeout;
+    private final int statementCacheSize;
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private ConnectionPool() {
+        this(ConfigManagerDB.getInstance());
+    }
+
+    private ConnectionPool(ConfigManagerDB config) {
+        this(config.getProperty(ConfigConstant.DB_DRIVER), config.getProperty(ConfigConstant.DB_URL),
+                config.getProperty(ConfigConstant.DB_USER), config.getProperty(ConfigConstant.DB_PASSWORD),
+                Integer.parseInt(config.getProperty(ConfigConstant.DB_POOL_MAX_SIZE)),
+                Integer.parseInt(config.getProperty(ConfigConstant.DB_POOL_MIN_SIZE)),
+                Long.parseLong(config.getProperty(ConfigConstant.DB_POOL_ACQUIRE_TIMEOUT)),
+                Long.parseLong(config.getProperty(ConfigConstant.DB_POOL_IDLE_TIMEOUT)),
+                Long.parseLong(config.getProperty(ConfigConstant.DB_POOL_MAX_LIFETIME)),
+                Integer.parseInt(config.getProperty(ConfigConstant.DB_POOL_VALIDATION_TIMEOUT)),
+                Integer.parseInt(config.getProperty(ConfigConstant.DB_POOL_STATEMENT_CACHE_SIZE)));
+    }
+
+    /**
+     * This constructor creates a pool with the given settings instead of the settings of the resource file.
+     *
+     * @param driver                - the class of the driver of database;
+     * @param url                   - the url of database;
+     * @param user                  - the user of database;
+     * @param password              - the password of the user;
+     * @param maxSize               - the maximum number of physical connections;
+     * @param minSize               - the number of connections which the housekeeper keeps opened;
+     * @param acquireTimeout        - the time a borrower waits for a free connection in milliseconds;
+     * @param idleTimeout           - the time an idle connection is kept in milliseconds, 0 for no limit;
+     * @param maxLifetime           - the time a connection is used in milliseconds, 0 for no limit;
+     * @param validationTimeout     - the time of the validation of a connection in seconds;
+     * @param statementCacheSize    - the number of cached prepared statements of a connection, 0 for no cache.
+     */
+    ConnectionPool(String driver, String url, String user, String password, int maxSize, int minSize,
+                   long acquireTimeout, long idleTimeout, long maxLifetime, int validationTimeout,
+                   int statementCacheSize) {
+        try {
+            Class.forName(driver);
+        } catch (ClassNotFoundException e) {
+            logger.error(MessageConstants.CLASS_FOR_NAME_ERROR, e);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minSize = Math.min(maxSize, minSize);
+        this.acquireTimeout = acquireTimeout;
+        this.idleTimeout = idleTimeout;
+        this.maxLifetime = maxLifetime;
+        this.validationTimeout = validationTimeout;
+        this.statementCacheSize = statementCacheSize;
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::evictConnections, HOUSEKEEPING_PERIOD, HOUSEKEEPING_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Singleton realization with "Double Checked Locking & Volatile" principle for high performance and thread safety.
+     *
+     * @return      - an instance of the class.
+     */
+    public static ConnectionPool getInstance() {
+        if (instance == null) {
+            synchronized (ConnectionPool.class) {
+                if (instance == null) {
+                    instance = new ConnectionPool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * This method gives a connection from the pool. If there is no idle connection and the pool is full
+     * the method waits until a connection is returned to the pool or the acquire timeout expires.
+     *
+     * @return      - a connection to database; closing it returns the connection to the pool.
+     * @throws SQLException
+     */
+    public Connection takeConnection() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeout);
+        while (true) {
+            if (closed) {
+                throw new SQLException(MessageConstants.POOL_CLOSED_ERROR);
+            }
+            PooledConnection pooledConnection = idleConnections.pollFirst();
+            if (pooledConnection == null) {
+                pooledConnection = createConnection();
+            }
+            if (pooledConnection == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    logger.error(MessageConstants.POOL_TIMEOUT_ERROR);
+                    throw new SQLException(MessageConstants.POOL_TIMEOUT_ERROR);
+                }
+                try {
+                    pooledConnection = idleConnections.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException(MessageConstants.POOL_INTERRUPTED_ERROR, e);
+                }
+                if (pooledConnection == null) {
+                    continue;
+                }
+            }
+            if (isUsable(pooledConnection)) {
+                return pooledConnection.createHandle();
+            }
+            destroyConnection(pooledConnection);
+        }
+    }
+
+    /**
+     * This method returns the connection to the pool. The method is invoked by the connection handle
+     * when the borrower closes it.
+     *
+     * @param pooledConnection      - a connection which is returned to the pool.
+     */
+    void releaseConnection(PooledConnection pooledConnection) {
+        if (closed || isExpired(pooledConnection, System.currentTimeMillis())) {
+            destroyConnection(pooledConnection);
+            return;
+        }
+        try {
+            pooledConnection.resetState();
+            idleConnections.offerFirst(pooledConnection);
+        } catch (SQLException e) {
+            logger.error(MessageConstants.CONNECTION_ERROR, e);
+            destroyConnection(pooledConnection);
+        }
+    }
+
+    /**
+     * This method closes all idle connections and rejects further requests for connections.
+     * Borrowed connections are closed when they are returned to the pool.
+     */
+    public void closePool() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            destroyConnection(pooledConnection);
+        }
+        logger.info(MessageConstants.POOL_CLOSED);
+    }
+
+    /**
+     * @return      - the number of physical connections which are currently opened by the pool.
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * @return      - the number of physical connections which are currently idle.
+     */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    /**
+     * @return      - the maximum number of physical connections of the pool.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * This method opens a new physical connection if the pool has not reached the maximum size.
+     *
+     * @return      - a new connection or <i>null</i> if the pool is full.
+     * @throws SQLException
+     */
+    private PooledConnection createConnection() throws SQLException {
+        int current;
+        do {
+            current = totalConnections.get();
+            if (current >= maxSize) {
+                return null;
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+        try {
+            return new PooledConnection(this, DriverManager.getConnection(url, user, password), statementCacheSize);
+        } catch (SQLException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * This method checks if the connection can be given to a borrower. The connection is validated
+     * by database only if it has not been used recently.
+     *
+     * @param pooledConnection      - a connection which will be checked.
+     * @return                      - boolean value of the condition.
+     */
+    private boolean isUsable(PooledConnection pooledConnection) {
+        long now = System.currentTimeMillis();
+        if (isExpired(pooledConnection, now)) {
+            return false;
+        }
+        if (now - pooledConnection.getLastAccessed() < VALIDATION_SKIP_WINDOW) {
+            return true;
+        }
+        try {
+            return pooledConnection.getPhysicalConnection().isValid(validationTimeout);
+        } catch (SQLException e) {
+            logger.error(MessageConstants.CONNECTION_ERROR, e);
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooledConnection, long now) {
+        return maxLifetime > 0 && now - pooledConnection.getCreatedAt() > maxLifetime;
+    }
+
+    private void destroyConnection(PooledConnection pooledConnection) {
+        totalConnections.decrementAndGet();
+        pooledConnection.closePhysically();
+    }
+
+    /**
+     * This method is executed periodically by the housekeeper thread. It closes idle connections which
+     * exceeded the maximum lifetime or the idle timeout and keeps the minimum number of idle connections.
+     */
+    private void evictConnections() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledConnection pooledConnection = iterator.next();
+            boolean idleTooLong = idleTimeout > 0 && now - pooledConnection.getLastAccessed() > idleTimeout
+                    && totalConnections.get() > minSize;
+            if ((isExpired(pooledConnection, now) || idleTooLong) && idleConnections.remove(pooledConnection)) {
+                destroyConnection(pooledConnection);
+            }
+        }
+        try {
+            while (!closed && totalConnections.get() < minSize) {
+                PooledConnection pooledConnection = createConnection();
+                if (pooledConnection == null) {
+                    break;
+                }
+                idleConnections.offerLast(pooledConnection);
+            }
+        } catch (SQLException e) {
+            logger.error(MessageConstants.DATABASE_ACCESS_ERROR, e);
+        }
+    }
+}
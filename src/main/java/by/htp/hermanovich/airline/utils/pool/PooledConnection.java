@@ -0,0 +1,172 @@
+package by.htp.hermanovich.airline.utils.pool;
+
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Description: This class wraps a physical connection to database which is owned by the connection pool.
+ * Every time the connection is borrowed from the pool a new logical handle is created for it. Calling
+ * <i>close()</i> on the handle returns the physical connection to the pool instead of closing it.
+ * Prepared statements of the connection are kept in its own statement cache. The read-only flag of the connection
+ * is kept between borrowings and is sent to database only when it is changed.
+ */
+class PooledConnection {
+    private static final Logger logger = Logger.getLogger(PooledConnection.class);
+
+    private final ConnectionPool pool;
+    private final Connection physicalConnection;
+    private final StatementCache statementCache;
+    private final long createdAt;
+    private volatile long lastAccessed;
+    private boolean autoCommitChanged;
+    private boolean transactionPending;
+    private boolean readOnly;
+
+    PooledConnection(ConnectionPool pool, Connection physicalConnection, int statementCacheSize) {
+        this.pool = pool;
+        this.physicalConnection = physicalConnection;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(physicalConnection, statementCacheSize) : null;
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccessed = createdAt;
+    }
+
+    Connection getPhysicalConnection() {
+        return physicalConnection;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastAccessed() {
+        return lastAccessed;
+    }
+
+    /**
+     * This method creates a new logical handle of the connection which will be given to the borrower.
+     *
+     * @return      - a connection handle.
+     */
+    Connection createHandle() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandle());
+    }
+
+    /**
+     * This method restores the default state of the physical connection before it is put back to the pool.
+     * An unfinished transaction is rolled back and the cached statements are returned to the cache.
+     *
+     * @throws SQLException
+     */
+    void resetState() throws SQLException {
+        if (statementCache != null) {
+            statementCache.releaseAll();
+        }
+        if (transactionPending) {
+            physicalConnection.rollback();
+            transactionPending = false;
+        }
+        if (autoCommitChanged) {
+            physicalConnection.setAutoCommit(true);
+            autoCommitChanged = false;
+        }
+        lastAccessed = System.currentTimeMillis();
+    }
+
+    /**
+     * This method closes the cached statements and the physical connection.
+     */
+    void closePhysically() {
+        if (statementCache != null) {
+            statementCache.closeAll();
+        }
+        try {
+            physicalConnection.close();
+        } catch (SQLException e) {
+            logger.error(MessageConstants.CONNECTION_ERROR, e);
+        }
+    }
+
+    /**
+     * Description: The logical handle of the pooled connection. It intercepts <i>close()</i> and tracks
+     * the transactional state of the physical connection.
+     */
+    private class ConnectionHandle implements InvocationHandler {
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            switch (methodName) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.releaseConnection(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physicalConnection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + physicalConnection;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException(MessageConstants.POOL_CONNECTION_RETURNED);
+            }
+            switch (methodName) {
+                case "setReadOnly":
+                    if (readOnly == (Boolean) args[0]) {
+                        return null;
+                    }
+                    break;
+                case "isReadOnly":
+                    return readOnly;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                if (statementCache != null && "prepareStatement".equals(methodName) && args.length == 1) {
+                    result = statementCache.prepareStatement((String) args[0]);
+                } else {
+                    result = method.invoke(physicalConnection, args);
+                }
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            switch (methodName) {
+                case "setReadOnly":
+                    readOnly = (Boolean) args[0];
+                    break;
+                case "setAutoCommit":
+                    autoCommitChanged = !(Boolean) args[0];
+                    transactionPending = false;
+                    break;
+                case "commit":
+                case "rollback":
+                    transactionPending = false;
+                    break;
+                case "prepareStatement":
+                case "prepareCall":
+                case "createStatement":
+                    transactionPending = autoCommitChanged;
+                    break;
+                default:
+                    break;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package by.htp.hermanovich.airline.utils.pool;
+
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.utils.metrics.LatencyHistogram;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: This class describes a cache of prepared statements which belongs to one pooled connection.
+ * The statements are keyed by the text of the query (the constants of the <i>QueriesDB</i> class) and are evicted
+ * in the least recently used order when the cache is full. Calling <i>close()</i> on a cached statement returns it
+ * to the cache instead of closing it. The class also keeps hit and miss counters of all caches of the pool
+ * and records the latencies of the cached statements to the {@link MetricsRegistry}.
+ */
+public class StatementCache {
+    private static final Logger logger = Logger.getLogger(StatementCache.class);
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+    private static final ConcurrentHashMap<String, QueryCounter> queryCounters = new ConcurrentHashMap<>();
+
+    private final Connection physicalConnection;
+    private final LinkedHashMap<String, CachedStatement> statements;
+    private final List<CachedStatement> evictedInUse = new ArrayList<>();
+
+    StatementCache(Connection physicalConnection, final int maxSize) {
+        this.physicalConnection = physicalConnection;
+        this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                CachedStatement cachedStatement = eldest.getValue();
+                if (cachedStatement.inUse) {
+                    evictedInUse.add(cachedStatement);
+                } else {
+                    cachedStatement.closePhysically();
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * This method gives a prepared statement for the query. A cached statement is reused if it is not being used
+     * at the moment, otherwise a new statement is prepared.
+     *
+     * @param sql       - a text of the query.
+     * @return          - a prepared statement; closing it returns the statement to the cache.
+     * @throws SQLException
+     */
+    PreparedStatement prepareStatement(String sql) throws SQLException {
+        QueryCounter counter = counterOf(sql);
+        CachedStatement cachedStatement = statements.get(sql);
+        if (cachedStatement != null && !cachedStatement.inUse) {
+            totalHits.incrementAndGet();
+            counter.hits.incrementAndGet();
+            return cachedStatement.borrow();
+        }
+        totalMisses.incrementAndGet();
+        counter.misses.incrementAndGet();
+        PreparedStatement statement = physicalConnection.prepareStatement(sql);
+        if (cachedStatement != null) {
+            return statement;
+        }
+        cachedStatement = new CachedStatement(statement, MetricsRegistry.getInstance().getQueryLatency(sql));
+        statements.put(sql, cachedStatement);
+        return cachedStatement.borrow();
+    }
+
+    /**
+     * This method returns to the cache the statements which were not closed by the borrower
+     * and closes the statements which were evicted while they were in use.
+     */
+    void releaseAll() {
+        for (CachedStatement cachedStatement : statements.values()) {
+            cachedStatement.inUse = false;
+        }
+        for (CachedStatement cachedStatement : evictedInUse) {
+            cachedStatement.closePhysically();
+        }
+        evictedInUse.clear();
+    }
+
+    /**
+     * This method closes all the statements of the cache.
+     */
+    void closeAll() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().closePhysically();
+            iterator.remove();
+        }
+        releaseAll();
+    }
+
+    /**
+     * @return      - the number of times a cached statement was reused.
+     */
+    public static long getHits() {
+        return totalHits.get();
+    }
+
+    /**
+     * @return      - the number of times a statement had to be prepared.
+     */
+    public static long getMisses() {
+        return totalMisses.get();
+    }
+
+    /**
+     * This method gives hit and miss counters of every query.
+     *
+     * @return      - a map where the key is a text of the query and the value is an array {hits, misses}.
+     */
+    public static Map<String, long[]> getQueryStatistics() {
+        Map<String, long[]> statistics = new HashMap<>();
+        for (Map.Entry<String, QueryCounter> entry : queryCounters.entrySet()) {
+            QueryCounter counter = entry.getValue();
+            statistics.put(entry.getKey(), new long[] {counter.hits.get(), counter.misses.get()});
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private static QueryCounter counterOf(String sql) {
+        QueryCounter counter = queryCounters.get(sql);
+        if (counter == null) {
+            counter = queryCounters.computeIfAbsent(sql, key -> new QueryCounter());
+        }
+        return counter;
+    }
+
+    /**
+     * Description: Hit and miss counters of one query.
+     */
+    private static class QueryCounter {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+
+    /**
+     * Description: A physical prepared statement which is kept in the cache.
+     */
+    private static class CachedStatement {
+        private final PreparedStatement statement;
+        private final LatencyHistogram latency;
+        private boolean inUse;
+
+        CachedStatement(PreparedStatement statement, LatencyHistogram latency) {
+            this.statement = statement;
+            this.latency = latency;
+        }
+
+        PreparedStatement borrow() {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class}, new StatementHandle(this));
+        }
+
+        void closePhysically() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.error(MessageConstants.STATEMENT_ERROR, e);
+            }
+        }
+    }
+
+    /**
+     * Description: The logical handle of the cached statement. It intercepts <i>close()</i> and
+     * clears the parameters of the statement so it could be reused. The latency of every execution of the statement
+     * is recorded to the histogram of its query.
+     */
+    private static class StatementHandle implements InvocationHandler {
+        private final CachedStatement cachedStatement;
+        private boolean closed;
+
+        StatementHandle(CachedStatement cachedStatement) {
+            this.cachedStatement = cachedStatement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cachedStatement.statement.clearParameters();
+                        cachedStatement.inUse = false;
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cachedStatement.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached " + cachedStatement.statement;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException(MessageConstants.STATEMENT_RETURNED);
+            }
+            boolean execution = method.getName().startsWith("execute");
+            long start = execution ? System.nanoTime() : 0L;
+            try {
+                return method.invoke(cachedStatement.statement, args);
+            } catch (InvocationTargetException e) {
+                if (execution) {
+                    cachedStatement.latency.recordError();
+                }
+                throw e.getCause();
+            } finally {
+                if (execution) {
+                    cachedStatement.latency.record(start);
+                }
+            }
+        }
+    }
+}
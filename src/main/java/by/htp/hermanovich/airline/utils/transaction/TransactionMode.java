@@ -0,0 +1,10 @@
+package by.htp.hermanovich.airline.utils.transaction;
+
+/**
+ * Description: This enum describes the modes in which a service method works with database.
+ * A read-only method runs its queries in the autocommit mode on a read-only connection and does not
+ * spend round trips on starting, committing and rolling back a transaction.
+ */
+public enum TransactionMode {
+    READ_ONLY, READ_WRITE
+}
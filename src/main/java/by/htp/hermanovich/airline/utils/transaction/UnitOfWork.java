@@ -0,0 +1,280 @@
+package by.htp.hermanovich.airline.utils.transaction;
+
+import by.htp.hermanovich.airline.constants.MessageConstants;
+import by.htp.hermanovich.airline.utils.pool.ConnectionPool;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Description: This class describes a unit of work which binds one connection and one transaction to the current
+ * thread (an HTTP request). All service methods which are invoked during the unit of work receive the same connection.
+ * Their <i>commit()</i>, <i>rollback()</i> and <i>close()</i> calls are deferred: the transaction is committed or
+ * rolled back only once, when the unit of work is completed, and the connection is returned to the pool after that.
+ */
+public class UnitOfWork {
+    private static final Logger logger = Logger.getLogger(UnitOfWork.class);
+    private static final ThreadLocal<UnitOfWork> currentUnit = new ThreadLocal<>();
+    private static final AtomicLong totalUnits = new AtomicLong();
+    private static final AtomicLong totalConnections = new AtomicLong();
+    private static final AtomicLong totalTransactions = new AtomicLong();
+
+    private Connection connection;
+    private Connection participant;
+    private boolean transactionActive;
+    private boolean rollbackOnly;
+    private int connectionRequests;
+    private int transactions;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+    private final List<LongConsumer> commitTimers = new ArrayList<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * This method starts a new unit of work and binds it to the current thread.
+     */
+    public static void begin() {
+        currentUnit.set(new UnitOfWork());
+        totalUnits.incrementAndGet();
+    }
+
+    /**
+     * This method checks if a unit of work is bound to the current thread.
+     *
+     * @return      - boolean value of the condition.
+     */
+    public static boolean isActive() {
+        return currentUnit.get() != null;
+    }
+
+    /**
+     * This method gives the connection of the unit of work which is bound to the current thread.
+     * The physical connection is taken from the pool when it is requested for the first time.
+     * Until a transaction is started the connection is switched to the requested mode; a read-only
+     * participant joins the transaction if it has already been started.
+     *
+     * @param mode  - the mode in which the participant works with database.
+     * @return      - a connection which takes part in the unit of work.
+     * @throws SQLException
+     */
+    public static Connection getConnection(TransactionMode mode) throws SQLException {
+        UnitOfWork unitOfWork = currentUnit.get();
+        if (unitOfWork == null) {
+            throw new SQLException(MessageConstants.UNIT_OF_WORK_NOT_ACTIVE);
+        }
+        return unitOfWork.takeConnection(mode);
+    }
+
+    /**
+     * This method marks the unit of work of the current thread so that it will be rolled back when it is completed.
+     */
+    public static void setRollbackOnly() {
+        UnitOfWork unitOfWork = currentUnit.get();
+        if (unitOfWork != null) {
+            unitOfWork.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * This method registers an action which will be executed after the unit of work of the current thread
+     * has been committed, for example a refresh of a cache. The action is discarded if the unit of work is
+     * rolled back. Without a unit of work the action is executed immediately.
+     *
+     * @param action    - an action which will be executed.
+     */
+    public static void runAfterCommit(Runnable action) {
+        UnitOfWork unitOfWork = currentUnit.get();
+        if (unitOfWork == null) {
+            action.run();
+        } else {
+            unitOfWork.afterCommitActions.add(action);
+        }
+    }
+
+    /**
+     * This method registers a receiver of the duration of the commit of the unit of work of the current thread,
+     * because the participants can not measure the commit themselves. The receiver is not invoked if the unit
+     * of work is rolled back or does not start a transaction.
+     *
+     * @param timer     - a receiver of the duration of the commit in nanoseconds.
+     * @return          - <i>false</i> if no unit of work is bound to the current thread, so the caller commits
+     *                  its transaction itself.
+     */
+    public static boolean timeCommit(LongConsumer timer) {
+        UnitOfWork unitOfWork = currentUnit.get();
+        if (unitOfWork == null) {
+            return false;
+        }
+        unitOfWork.commitTimers.add(timer);
+        return true;
+    }
+
+    /**
+     * This method completes the unit of work of the current thread. The transaction is committed if the work
+     * succeeded and no participant has requested a rollback, otherwise the transaction is rolled back.
+     * The connection is returned to the pool and the unit of work is unbound from the thread.
+     *
+     * @param succeeded     - <i>true</i> if the work has been finished without errors.
+     * @throws SQLException
+     */
+    public static void end(boolean succeeded) throws SQLException {
+        end(succeeded, () -> true);
+    }
+
+    /**
+     * This method completes the unit of work of the current thread like {@link #end(boolean)}, but the transaction
+     * is committed only if the guard allows it. The guard is asked right before the commit and only if there is
+     * a transaction to commit, so the caller can refuse the commit of a request which has been abandoned.
+     *
+     * @param succeeded     - <i>true</i> if the work has been finished without errors;
+     * @param commitGuard   - <i>false</i> if the transaction must be rolled back instead of committed.
+     * @throws SQLException
+     */
+    public static void end(boolean succeeded, BooleanSupplier commitGuard) throws SQLException {
+        UnitOfWork unitOfWork = currentUnit.get();
+        if (unitOfWork == null) {
+            return;
+        }
+        currentUnit.remove();
+        unitOfWork.complete(succeeded, commitGuard);
+    }
+
+    /**
+     * @return      - the number of completed and active units of work.
+     */
+    public static long getTotalUnits() {
+        return totalUnits.get();
+    }
+
+    /**
+     * @return      - the number of physical connections which have been taken by all units of work.
+     */
+    public static long getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * @return      - the number of transactions which have been started by all units of work.
+     */
+    public static long getTotalTransactions() {
+        return totalTransactions.get();
+    }
+
+    private Connection takeConnection(TransactionMode mode) throws SQLException {
+        if (connection == null) {
+            connection = ConnectionPool.getInstance().takeConnection();
+            participant = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ParticipantHandle());
+            totalConnections.incrementAndGet();
+        }
+        if (!transactionActive) {
+            connection.setReadOnly(mode == TransactionMode.READ_ONLY);
+        }
+        connectionRequests++;
+        return participant;
+    }
+
+    private void complete(boolean succeeded, BooleanSupplier commitGuard) throws SQLException {
+        boolean committed = false;
+        try {
+            boolean commit = succeeded && !rollbackOnly;
+            if (connection != null) {
+                commit = completeTransaction(commit, commitGuard);
+            }
+            committed = commit;
+        } finally {
+            if (committed) {
+                runAfterCommitActions();
+            }
+            afterCommitActions.clear();
+        }
+    }
+
+    private boolean completeTransaction(boolean commit, BooleanSupplier commitGuard) throws SQLException {
+        try {
+            if (transactionActive) {
+                if (commit && commitGuard.getAsBoolean()) {
+                    long start = System.nanoTime();
+                    connection.commit();
+                    long duration = System.nanoTime() - start;
+                    for (LongConsumer timer : commitTimers) {
+                        timer.accept(duration);
+                    }
+                    logger.info(MessageConstants.TRANSACTION_SUCCEEDED);
+                } else {
+                    connection.rollback();
+                    logger.info(MessageConstants.TRANSACTION_ROLLED_BACK);
+                    return false;
+                }
+            }
+            return commit;
+        } finally {
+            connection.close();
+            logger.debug(MessageConstants.UNIT_OF_WORK_COMPLETED + connectionRequests
+                    + " connection request(s), 1 connection, " + transactions + " transaction(s).");
+        }
+    }
+
+    private void runAfterCommitActions() {
+        for (Runnable action : afterCommitActions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Description: The handle of the connection which is given to the participants of the unit of work.
+     * It defers the transaction boundaries and the closing of the connection to the end of the unit of work.
+     */
+    private class ParticipantHandle implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "setAutoCommit":
+                    if (!(Boolean) args[0] && !transactionActive) {
+                        connection.setAutoCommit(false);
+                        transactionActive = true;
+                        transactions++;
+                        totalTransactions.incrementAndGet();
+                    }
+                    return null;
+                case "setReadOnly":
+                case "commit":
+                case "close":
+                    return null;
+                case "rollback":
+                    if (args == null) {
+                        rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "isClosed":
+                    return connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Unit of work " + connection;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+-- Tables of the airline as they were before the seat inventory. The tables are created only if they do not exist,
+-- so the script is a baseline for the databases which have been created by hand.
+CREATE TABLE IF NOT EXISTS users (
+    id INT NOT NULL AUTO_INCREMENT,
+    firstname VARCHAR(45) NOT NULL,
+    surname VARCHAR(45) NOT NULL,
+    document_number VARCHAR(45) NOT NULL,
+    login VARCHAR(45) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    user_type ENUM('CLIENT', 'ADMIN') NOT NULL DEFAULT 'CLIENT',
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
+
+CREATE TABLE IF NOT EXISTS airports (
+    airport_code VARCHAR(3) NOT NULL,
+    airport_name VARCHAR(100) NOT NULL,
+    city VARCHAR(45) NOT NULL,
+    PRIMARY KEY (airport_code)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
+
+CREATE TABLE IF NOT EXISTS aircrafts (
+    aircraft_code VARCHAR(10) NOT NULL,
+    model VARCHAR(45) NOT NULL,
+    PRIMARY KEY (aircraft_code)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
+
+CREATE TABLE IF NOT EXISTS luggage (
+    id INT NOT NULL AUTO_INCREMENT,
+    luggage_type VARCHAR(45) NOT NULL,
+    price FLOAT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
+
+CREATE TABLE IF NOT EXISTS flights (
+    id INT NOT NULL AUTO_INCREMENT,
+    aircrafts_aircraft_code VARCHAR(10) NOT NULL,
+    flight_number VARCHAR(10) NOT NULL,
+    departure_airport VARCHAR(3) NOT NULL,
+    arrival_airport VARCHAR(3) NOT NULL,
+    sheduled_departure_date DATE NOT NULL,
+    sheduled_arrival_date DATE NOT NULL,
+    price_per_seat FLOAT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_flights_aircrafts FOREIGN KEY (aircrafts_aircraft_code) REFERENCES aircrafts (aircraft_code),
+    CONSTRAINT fk_flights_departure FOREIGN KEY (departure_airport) REFERENCES airports (airport_code),
+    CONSTRAINT fk_flights_arrival FOREIGN KEY (arrival_airport) REFERENCES airports (airport_code)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id INT NOT NULL AUTO_INCREMENT,
+    ticket_number VARCHAR(20) NOT NULL,
+    users_id INT NOT NULL,
+    flights_id INT NOT NULL,
+    luggage_id INT NOT NULL,
+    total_price FLOAT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tickets_users FOREIGN KEY (users_id) REFERENCES users (id),
+    CONSTRAINT fk_tickets_flights FOREIGN KEY (flights_id) REFERENCES flights (id),
+    CONSTRAINT fk_tickets_luggage FOREIGN KEY (luggage_id) REFERENCES luggage (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
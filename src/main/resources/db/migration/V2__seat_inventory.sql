@@ -0,0 +1,6 @@
+-- Seat capacity of the aircrafts and the persisted counters of available seats of the flights.
+-- The capacity of the existing aircrafts is not known, so it is left NULL and the seats of their flights are not
+-- checked. When the administrator sets the capacity of an aircraft, the counters of its flights are calculated
+-- from the tickets which have been sold.
+ALTER TABLE aircrafts ADD COLUMN seats INT NULL;
+ALTER TABLE flights ADD COLUMN available_seats INT NULL;
@@ -0,0 +1,7 @@
+-- Sequence of the ticket numbers which are reserved by blocks.
+CREATE TABLE IF NOT EXISTS ticket_number_sequence (
+    name VARCHAR(32) NOT NULL PRIMARY KEY,
+    next_value BIGINT NOT NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8;
+
+INSERT IGNORE INTO ticket_number_sequence (name, next_value) VALUES ('ticket', 0);
@@ -0,0 +1,33 @@
+-- Indexes of the lookup queries of QueriesDB. InnoDB appends the primary key to every secondary index,
+-- so an index which ends with the date of departure also gives the flights of one day sorted by the id.
+
+-- Searches by the route with or without the date: GET_FLIGHTS_BY_DEP_ARR_DATE, GET_FLIGHTS_BY_DEP_ARR and
+-- GET_CHEAPEST_FLIGHTS_BY_DEP_ARR_DATE use the prefix of the route and the date, and the keyset cursor follows
+-- the order of the index, so no sort is needed. The fare calendar GET_CHEAPEST_FARES_BY_DEP_ARR reads the minimum
+-- prices of the days from the index without the rows of the table.
+CREATE INDEX idx_flights_route_date_price ON flights (departure_airport, arrival_airport, sheduled_departure_date, price_per_seat);
+
+-- Searches by the departure airport and the date of all routes: GET_FLIGHTS_BY_DEP_DATE.
+CREATE INDEX idx_flights_departure_date ON flights (departure_airport, sheduled_departure_date);
+
+-- Tickets by the number (GET_FLIGHT_ID_BY_TICKET_NUMBER, DELETE_TICKET_BY_NUMBER), by the user
+-- (GET_ALL_TICKETS_BY_USER) and the sold seats of the flights when the seats of an aircraft are set.
+-- The random numbers of the old generator could repeat, so before the unique index the first ticket keeps
+-- its number and every later ticket with the same number is renumbered with its id. A dash never appears
+-- in the generated numbers, so the new numbers are unique.
+UPDATE tickets JOIN (SELECT ticket_number, MIN(id) AS first_id FROM tickets GROUP BY ticket_number HAVING COUNT(*) > 1)
+    AS duplicates ON duplicates.ticket_number = tickets.ticket_number
+    SET tickets.ticket_number = CONCAT(LEFT(tickets.ticket_number, 8), '-', tickets.id)
+    WHERE tickets.id > duplicates.first_id;
+CREATE UNIQUE INDEX uq_tickets_ticket_number ON tickets (ticket_number);
+CREATE INDEX idx_tickets_users ON tickets (users_id);
+CREATE INDEX idx_tickets_flights ON tickets (flights_id);
+
+-- Users by the login: CHECK_AUTHORIZATION and GET_USER_BY_LOGIN. The logins are compared by the collation
+-- of the column like the unique index does; the first user keeps the login and the later users with the same
+-- login get the login with their id.
+UPDATE users JOIN (SELECT login, MIN(id) AS first_id FROM users GROUP BY login HAVING COUNT(*) > 1)
+    AS duplicates ON duplicates.login = users.login
+    SET users.login = CONCAT(LEFT(users.login, 33), '-', users.id)
+    WHERE users.id > duplicates.first_id;
+CREATE UNIQUE INDEX uq_users_login ON users (login);
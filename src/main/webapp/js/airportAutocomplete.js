@@ -0,0 +1,38 @@
+// Loads the airports of the search form on demand: the options of the list of an airport field are requested
+// from the "findairports" command when the user types a prefix of the code, the name or the city of the airport.
+var AIRPORT_AUTOCOMPLETE_DELAY = 150;
+
+function f_airportAutocomplete(e_input) {
+	var e_list = document.getElementById(e_input.getAttribute('list')),
+		n_timer = null,
+		s_requested = null;
+
+	e_input.addEventListener('input', function () {
+		clearTimeout(n_timer);
+		n_timer = setTimeout(function () {
+			var s_prefix = e_input.value.replace(/^\s+|\s+$/g, '');
+			if (!s_prefix.length || s_prefix == s_requested) return;
+			s_requested = s_prefix;
+			var o_request = new XMLHttpRequest();
+			o_request.open('GET', 'controller?command=findairports&prefix=' + encodeURIComponent(s_prefix));
+			o_request.onload = function () {
+				if (o_request.status != 200 || s_prefix != s_requested) return;
+				var a_airports = JSON.parse(o_request.responseText);
+				while (e_list.firstChild) e_list.removeChild(e_list.firstChild);
+				for (var i = 0; i < a_airports.length; i++) {
+					var e_option = document.createElement('option');
+					e_option.value = a_airports[i].code;
+					e_option.textContent = '[' + a_airports[i].code.toUpperCase() + ']-[' + a_airports[i].city.toUpperCase() + '] '
+						+ a_airports[i].name;
+					e_list.appendChild(e_option);
+				}
+			};
+			o_request.send();
+		}, AIRPORT_AUTOCOMPLETE_DELAY);
+	});
+}
+
+window.addEventListener('load', function () {
+	var a_inputs = document.getElementsByClassName('airportInput');
+	for (var i = 0; i < a_inputs.length; i++) f_airportAutocomplete(a_inputs[i]);
+});
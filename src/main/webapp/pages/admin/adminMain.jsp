@@ -1,12 +1,13 @@
 <%--Created by Yauheni Hermanovich 14.07.2017--%>
 <%@ page contentType="text/html;charset=UTF-8" pageEncoding="UTF-8" language="java" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="spec"%>
+<spec:set var="referenceData" value="${applicationScope.referenceData}"/>
 <html>
     <head>
         <title>Administration Page</title>
-        <link rel="stylesheet" type="text/css" href="../css/tcal.css"/>
-        <link rel="stylesheet" type="text/css" href="../css/adminMain.css"/>
-        <script type="text/javascript" src="../js/tcal_en.js"></script>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/tcal.css']}"/>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/adminMain.css']}"/>
+        <script type="text/javascript" src="../${applicationScope.staticResource['js/tcal_en.js']}"></script>
     </head>
     <body>
         <div class="wrapperWelcomeInfo">
@@ -84,7 +85,7 @@
                                     <td>
                                         <select name="luggageTypeToUpdate">
                                             <option selected="selected" disabled>Choose Type</option>
-                                            <spec:forEach var="luggage" items="${allLuggageTypes}">
+                                            <spec:forEach var="luggage" items="${referenceData.luggageTypes}">
                                                 <option value="${luggage.getLuggageType()}">${luggage.getLuggageType()}</option>
                                                 <spec:set var="luggageTypeToUpdate" value="${luggage.getLuggageType()}" scope="session"/>
                                             </spec:forEach>
@@ -143,7 +144,7 @@
                         <fieldset>
                             <legend align="center">Airports</legend>
                             <select name="airportObject" size=6 multiple style="opacity: 0.7">
-                                <spec:forEach var="airport" items="${allAirports}">
+                                <spec:forEach var="airport" items="${referenceData.airports}">
                                     <option>[${airport.getAirportCode().toUpperCase()}]-[${airport.getAirportName().toUpperCase()}]-[${airport.getCity().toUpperCase()}]</option>
                                 </spec:forEach>
                             </select>
@@ -169,6 +170,10 @@
                                     <td>Model:</td>
                                     <td><input class="inputElement" type="text" name="aircraftModel" value=""/></td>
                                 </tr>
+                                <tr>
+                                    <td>Seats:</td>
+                                    <td><input class="inputElement" type="text" name="aircraftSeats" value="" pattern="\d{1,4}" placeholder="###"/></td>
+                                </tr>
                             </table>
                             <div class="wrapperButtons">
                                 <input class="buttonElement" type="submit" value="Create"/>
@@ -183,8 +188,8 @@
                         <fieldset>
                             <legend align="center">Aircrafts</legend>
                             <select name="aircraftObject" size=5 multiple style="opacity: 0.8">
-                                <spec:forEach var="aircraft" items="${allAircrafts}">
-                                    <option>[${aircraft.getAircraftCode().toUpperCase()}]-[${aircraft.getModel().toUpperCase()}]</option>
+                                <spec:forEach var="aircraft" items="${referenceData.aircrafts}">
+                                    <option>[${aircraft.getAircraftCode().toUpperCase()}]-[${aircraft.getModel().toUpperCase()}]-[${aircraft.getSeats()}]</option>
                                 </spec:forEach>
                             </select>
                         </fieldset>
@@ -210,7 +215,7 @@
                                     <td>
                                         <select name="aircraftForFlight">
                                             <option selected="selected" disabled>Choose aircraft</option>
-                                            <spec:forEach var="aircraft" items="${allAircrafts}">
+                                            <spec:forEach var="aircraft" items="${referenceData.aircrafts}">
                                                 <option value="${aircraft.getAircraftCode()}">[${aircraft.getAircraftCode().toUpperCase()}]-[${aircraft.getModel().toUpperCase()}]</option>
                                             </spec:forEach>
                                         </select>
@@ -221,7 +226,7 @@
                                     <td>
                                         <select name="departureForFlight">
                                             <option selected="selected" disabled>Choose airport</option>
-                                            <spec:forEach var="airport" items="${allAirports}">
+                                            <spec:forEach var="airport" items="${referenceData.airports}">
                                                 <option value="${airport.getAirportCode()}">[${airport.getAirportCode().toUpperCase()}]-[${airport.getCity().toUpperCase()}]</option>
                                             </spec:forEach>
                                         </select>
@@ -229,7 +234,7 @@
                                     <td>
                                         <select name="arrivalForFlight">
                                             <option selected="selected" disabled>Choose airport</option>
-                                            <spec:forEach var="airport" items="${allAirports}">
+                                            <spec:forEach var="airport" items="${referenceData.airports}">
                                                 <option value="${airport.getAirportCode()}">[${airport.getAirportCode().toUpperCase()}]-[${airport.getCity().toUpperCase()}]</option>
                                             </spec:forEach>
                                         </select>
@@ -264,16 +269,16 @@
                     <i> : MESSAGE : Airport with this code has already existed.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.airportAddSuccess eq 'true'}">
-                    <i> : MESSAGE : Airport has been created. Log in again to your account to see the changes.</i>
+                    <i> : MESSAGE : Airport has been created.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.luggageDeleteSuccess eq 'true'}">
-                    <i> : MESSAGE : Luggage has been deleted. Log in again to your account to see the changes.</i>
+                    <i> : MESSAGE : Luggage has been deleted.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.luggageUpdateSuccess eq 'true'}">
-                    <i> : MESSAGE : Luggage has been updated. Log in again to your account to see the changes.</i>
+                    <i> : MESSAGE : Luggage has been updated.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.luggageAddSuccess eq 'true'}">
-                    <i> : MESSAGE : Luggage has been created. Log in again to your account to see the changes.</i>
+                    <i> : MESSAGE : Luggage has been created.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.luggageUniqueError eq 'true'}">
                     <i> : MESSAGE : Luggage with this type has already existed.</i>
@@ -282,7 +287,7 @@
                     <i> : MESSAGE : You have successfully updated your personal data. Log in again to your account to see the changes.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.aircraftAddSuccess eq 'true'}">
-                    <i> : MESSAGE : Aircraft has been created. Log in again to your account to see the changes.</i>
+                    <i> : MESSAGE : Aircraft has been created.</i>
                 </spec:if>
                 <spec:if test="${sessionScope.aircraftUniqueError eq 'true'}">
                     <i> : MESSAGE : Aircraft with this code has already existed.</i>
@@ -4,9 +4,10 @@
 <html>
     <head>
         <title>Clients account page</title>
-        <link rel="stylesheet" type="text/css" href="../css/clientMain.css"/>
-        <link rel="stylesheet" type="text/css" href="../css/tcal.css"/>
-        <script type="text/javascript" src="../js/tcal_en.js"></script>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/clientMain.css']}"/>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/tcal.css']}"/>
+        <script type="text/javascript" src="../${applicationScope.staticResource['js/tcal_en.js']}"></script>
+        <script type="text/javascript" src="../${applicationScope.staticResource['js/airportAutocomplete.js']}"></script>
     </head>
     <body>
         <div class="wrapperWelcomeInfo">
@@ -52,7 +53,7 @@
                 </form>
             </div>
             <div class="flightsFindForm">
-                <form name="flightsFindForm" method="POST" action="controller">
+                <form name="flightsFindForm" method="GET" action="controller">
                     <fieldset>
                         <legend align="left">Find Flights</legend>
                         <input type="hidden" name="command" value="showflights"/>
@@ -62,23 +63,20 @@
                                     <th>Departure</th>
                                     <th>Arrival</th>
                                     <th>Date</th>
+                                    <th>Return</th>
+                                    <th>Flexible</th>
+                                    <th>Connections</th>
                                 </tr>
                                 <tr>
                                     <td>
-                                        <select name="departureForFlight">
-                                            <option selected="selected" disabled>Choose airport</option>
-                                            <spec:forEach var="airport" items="${allAirports}">
-                                                <option value="${airport.getAirportCode()}">[${airport.getAirportCode().toUpperCase()}]-[${airport.getCity().toUpperCase()}]</option>
-                                            </spec:forEach>
-                                        </select>
+                                        <input class="airportInput" type="text" name="departureForFlight" list="departureAirports"
+                                               placeholder="Code or city" autocomplete="off"/>
+                                        <datalist id="departureAirports"></datalist>
                                     </td>
                                     <td>
-                                        <select name="arrivalForFlight">
-                                            <option selected="selected" disabled>Choose airport</option>
-                                            <spec:forEach var="airport" items="${allAirports}">
-                                                <option value="${airport.getAirportCode()}">[${airport.getAirportCode().toUpperCase()}]-[${airport.getCity().toUpperCase()}]</option>
-                                            </spec:forEach>
-                                        </select>
+                                        <input class="airportInput" type="text" name="arrivalForFlight" list="arrivalAirports"
+                                               placeholder="Code or city" autocomplete="off"/>
+                                        <datalist id="arrivalAirports"></datalist>
                                     </td>
                                     <td>
                                         <!--CALENDAR-->
@@ -86,6 +84,19 @@
                                             <div><input class="tcal" type="text" name="dateForFlight" value=""/></div>
                                         </form>
                                     </td>
+                                    <td>
+                                        <div><input class="tcal" type="text" name="returnDateForFlight" value=""/></div>
+                                    </td>
+                                    <td>
+                                        <select name="flexibleDates">
+                                            <option value="" selected="selected">Exact date</option>
+                                            <option value="3">&#177;3 days</option>
+                                            <option value="month">Whole month</option>
+                                        </select>
+                                    </td>
+                                    <td>
+                                        <input type="checkbox" name="withConnections" value="true"/>
+                                    </td>
                                 </tr>
                             </table>
                         </div>
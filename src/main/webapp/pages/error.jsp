@@ -8,7 +8,7 @@
                 margin: 0px;
                 padding: 0px;
                 display: inline-block;
-                background: url("../images/bg_menu.jpg") no-repeat center center fixed;
+                background: url("../${applicationScope.staticResource['images/bg_menu.jpg']}") no-repeat center center fixed;
                 background-size: cover;
             }
             .errorElement {
@@ -4,7 +4,7 @@
 <html>
     <head>
         <title>Client's Flights</title>
-        <link rel="stylesheet" type="text/css" href="../css/flightsMain.css"/>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/flightsMain.css']}"/>
     </head>
     <body>
         <div class="wrapperWelcomeInfo">
@@ -14,7 +14,7 @@
         </div>
         <div class="wrapperPageData">
             <div class="resultFlightForm">
-                <form name="flightSearchResults">
+                <form name="flightSearchResults" method="POST" action="controller">
                     <fieldset>
                         <legend align="left">Search Results</legend>
                         <input type="hidden" name="command" value="returnticket"/>
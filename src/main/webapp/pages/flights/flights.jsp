@@ -1,10 +1,11 @@
 <%--Created by Yauheni Hermanovich 21.07.2017--%>
 <%@ page contentType="text/html;charset=UTF-8" pageEncoding="UTF-8" language="java" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="spec"%>
+<spec:set var="referenceData" value="${applicationScope.referenceData}"/>
 <html>
     <head>
         <title>Flights</title>
-        <link rel="stylesheet" type="text/css" href="../css/flightsMain.css"/>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/flightsMain.css']}"/>
     </head>
     <body>
     <div class="wrapperWelcomeInfo">
@@ -13,11 +14,100 @@
         </div>
     </div>
         <div class="wrapperPageData">
+            <spec:if test="${not empty requestScope.flightsPage}">
+                <!--FILTERS AND FACETS-->
+                <div class="resultFlightForm">
+                    <form name="flightFilters" method="GET" action="controller">
+                        <fieldset>
+                            <legend align="left">Sort And Filter</legend>
+                            <input type="hidden" name="command" value="nextflights"/>
+                            <input type="hidden" name="departureForFlight" value="${flightsPage.departureAirportCode}"/>
+                            <input type="hidden" name="arrivalForFlight" value="${flightsPage.arrivalAirportCode}"/>
+                            <input type="hidden" name="dateForFlight" value="${flightsPage.dateOfFlight}"/>
+                            Sort by:
+                            <select name="sortBy">
+                                <option value="departure">Departure</option>
+                                <option value="price" ${flightsPage.filter.sort.parameter eq 'price' ? 'selected' : ''}>Price</option>
+                            </select>
+                            Price from: <input type="text" name="minPrice" size="6" value="${flightsPage.filter.minPrice}"/>
+                            to: <input type="text" name="maxPrice" size="6" value="${flightsPage.filter.maxPrice}"/>
+                            Aircraft:
+                            <select name="aircraftModel">
+                                <option value="">Any</option>
+                                <spec:forEach var="model" items="${flightsPage.facets.models}">
+                                    <option value="${model.key}" ${model.key eq flightsPage.filter.aircraftModel ? 'selected' : ''}>
+                                            ${model.key} (${model.value})
+                                    </option>
+                                </spec:forEach>
+                            </select>
+                            <input type="submit" value="Apply"/>
+                            <br/>
+                            <spec:forEach var="bucket" items="${flightsPage.facets.priceBuckets}">
+                                <spec:url var="bucketUrl" value="controller">
+                                    <spec:param name="command" value="nextflights"/>
+                                    <spec:param name="departureForFlight" value="${flightsPage.departureAirportCode}"/>
+                                    <spec:param name="arrivalForFlight" value="${flightsPage.arrivalAirportCode}"/>
+                                    <spec:param name="dateForFlight" value="${flightsPage.dateOfFlight}"/>
+                                    <spec:param name="sortBy" value="${flightsPage.filter.sort.parameter}"/>
+                                    <spec:param name="minPrice" value="${bucket.minPrice}"/>
+                                    <spec:param name="maxPrice" value="${bucket.maxPrice}"/>
+                                    <spec:param name="aircraftModel" value="${flightsPage.filter.aircraftModel}"/>
+                                </spec:url>
+                                <a href="${bucketUrl}">${bucket.minPrice}&#8211;${bucket.maxPrice}&#8364; (${bucket.count})</a>
+                            </spec:forEach>
+                        </fieldset>
+                    </form>
+                </div>
+            </spec:if>
             <div class="resultFlightForm">
-                <form name="flightSearchResults">
+                <form name="flightSearchResults" method="POST" action="controller">
                     <fieldset>
                         <legend align="left">Search Results</legend>
                         <input type="hidden" name="command" value="createticket"/>
+                        <input type="hidden" name="departureForFlight" value="${flightsPage.departureAirportCode}"/>
+                        <input type="hidden" name="arrivalForFlight" value="${flightsPage.arrivalAirportCode}"/>
+                        <input type="hidden" name="dateForFlight" value="${flightsPage.dateOfFlight}"/>
+                        <input type="hidden" name="cursorDate" value="${String.valueOf(flightsPage.cursorDate)}"/>
+                        <input type="hidden" name="cursorPrice" value="${flightsPage.cursorPrice}"/>
+                        <input type="hidden" name="cursorId" value="${flightsPage.cursorId}"/>
+                        <input type="hidden" name="sortBy" value="${flightsPage.filter.sort.parameter}"/>
+                        <input type="hidden" name="minPrice" value="${flightsPage.filter.minPrice}"/>
+                        <input type="hidden" name="maxPrice" value="${flightsPage.filter.maxPrice}"/>
+                        <input type="hidden" name="aircraftModel" value="${flightsPage.filter.aircraftModel}"/>
+                        <spec:if test="${not empty requestScope.fareCalendar}">
+                            <!--FARE CALENDAR-->
+                            <div class="fareCalendarContents">
+                                <table>
+                                    <tr>
+                                        <th>Mon</th><th>Tue</th><th>Wed</th><th>Thu</th><th>Fri</th><th>Sat</th><th>Sun</th>
+                                    </tr>
+                                    <spec:forEach var="week" items="${fareCalendar.weeks}">
+                                        <tr>
+                                            <spec:forEach var="day" items="${week}">
+                                                <td class="${day.date eq fareCalendar.selectedDate ? 'selectedDay' : ''}">
+                                                    <spec:if test="${day.inWindow}">
+                                                        ${day.dayOfMonth}<br/>
+                                                        <spec:choose>
+                                                            <spec:when test="${not empty day.cheapestPrice}">
+                                                                <spec:url var="dayUrl" value="controller">
+                                                                    <spec:param name="command" value="showflights"/>
+                                                                    <spec:param name="departureForFlight" value="${fareCalendar.departureAirportCode}"/>
+                                                                    <spec:param name="arrivalForFlight" value="${fareCalendar.arrivalAirportCode}"/>
+                                                                    <spec:param name="dateForFlight" value="${String.valueOf(day.date)}"/>
+                                                                    <spec:param name="flexibleDates" value="${fareCalendar.flexibleDates}"/>
+                                                                </spec:url>
+                                                                <a href="${dayUrl}">${day.cheapestPrice}&#8364;</a>
+                                                            </spec:when>
+                                                            <spec:otherwise>&#8212;</spec:otherwise>
+                                                        </spec:choose>
+                                                    </spec:if>
+                                                </td>
+                                            </spec:forEach>
+                                        </tr>
+                                    </spec:forEach>
+                                </table>
+                            </div>
+                        </spec:if>
                         <div class="resultTableContents">
                             <table>
                                 <tr>
@@ -26,26 +116,96 @@
                                     <th>Arrival Airport</th>
                                     <th>Departure Date</th>
                                     <th>Price</th>
+                                    <th>Seats</th>
                                     <th>Choose</th>
                                 </tr>
-                                <spec:forEach var="flight" items="${flightsList}">
+                                <spec:forEach var="flight" items="${flightsPage.flights}">
                                     <tr>
                                         <td>${flight.getFlightNumber()}</td>
                                         <td>${flight.getDepartureAirport()}</td>
                                         <td>${flight.getArrivalAirport()}</td>
                                         <td>${String.valueOf(flight.getSheduledDeparture())}</td>
                                         <td>${flight.getPricePerSeat()}&#8364;</td>
+                                        <td>${flight.getAvailableSeats()}</td>
                                         <td><input type="radio" name="flightId" value="${flight.getId()}"/></td>
                                     </tr>
                                 </spec:forEach>
                             </table>
+                            <spec:if test="${flightsPage.hasNextPage}">
+                                <!--NEXT PAGE-->
+                                <spec:url var="nextPageUrl" value="controller">
+                                    <spec:param name="command" value="nextflights"/>
+                                    <spec:param name="departureForFlight" value="${flightsPage.departureAirportCode}"/>
+                                    <spec:param name="arrivalForFlight" value="${flightsPage.arrivalAirportCode}"/>
+                                    <spec:param name="dateForFlight" value="${flightsPage.dateOfFlight}"/>
+                                    <spec:param name="cursorDate" value="${String.valueOf(flightsPage.nextCursorDate)}"/>
+                                    <spec:param name="cursorPrice" value="${flightsPage.nextCursorPrice}"/>
+                                    <spec:param name="cursorId" value="${flightsPage.nextCursorId}"/>
+                                    <spec:param name="sortBy" value="${flightsPage.filter.sort.parameter}"/>
+                                    <spec:param name="minPrice" value="${flightsPage.filter.minPrice}"/>
+                                    <spec:param name="maxPrice" value="${flightsPage.filter.maxPrice}"/>
+                                    <spec:param name="aircraftModel" value="${flightsPage.filter.aircraftModel}"/>
+                                </spec:url>
+                                <a href="${nextPageUrl}">Next page &#8250;</a>
+                            </spec:if>
                         </div>
+                        <spec:if test="${not empty requestScope.roundTripsList}">
+                            <!--ROUND TRIPS-->
+                            <div class="resultTableContents">
+                                <table>
+                                    <tr>
+                                        <th>Outbound Flight</th>
+                                        <th>Outbound Date</th>
+                                        <th>Return Flight</th>
+                                        <th>Return Date</th>
+                                        <th>Total Price</th>
+                                    </tr>
+                                    <spec:forEach var="roundTrip" items="${roundTripsList}">
+                                        <tr>
+                                            <td>${roundTrip.outboundFlight.getFlightNumber()}</td>
+                                            <td>${String.valueOf(roundTrip.outboundFlight.getSheduledDeparture())}</td>
+                                            <td>${roundTrip.returnFlight.getFlightNumber()}</td>
+                                            <td>${String.valueOf(roundTrip.returnFlight.getSheduledDeparture())}</td>
+                                            <td>${roundTrip.totalPrice}&#8364;</td>
+                                        </tr>
+                                    </spec:forEach>
+                                </table>
+                            </div>
+                        </spec:if>
+                        <spec:if test="${not empty requestScope.connectionsList}">
+                            <!--CONNECTIONS-->
+                            <div class="resultTableContents">
+                                <table>
+                                    <tr>
+                                        <th>Route</th>
+                                        <th>Flights</th>
+                                        <th>Departure Date</th>
+                                        <th>Arrival Date</th>
+                                        <th>Stops</th>
+                                        <th>Total Price</th>
+                                    </tr>
+                                    <spec:forEach var="itinerary" items="${connectionsList}">
+                                        <tr>
+                                            <td>${itinerary}</td>
+                                            <td>
+                                                <spec:forEach var="leg" items="${itinerary.legs}" varStatus="status">
+                                                    ${leg.getFlightNumber()}<spec:if test="${not status.last}">, </spec:if>
+                                                </spec:forEach>
+                                            </td>
+                                            <td>${String.valueOf(itinerary.departureDate)}</td>
+                                            <td>${String.valueOf(itinerary.arrivalDate)}</td>
+                                            <td>${itinerary.stops}</td>
+                                            <td>${itinerary.totalPrice}&#8364;</td>
+                                        </tr>
+                                    </spec:forEach>
+                                </table>
+                            </div>
+                        </spec:if>
                         <div class="wrapperButtonsChooseFlight">
                             <div class="buttonElement">
-                                <input type="hidden" name="login" value="${user.getLogin()}"/>
                                 <b><i>Choose Luggage: </i></b>
                                 <select name="luggageId">
-                                    <spec:forEach var="luggage" items="${allLuggageTypes}">
+                                    <spec:forEach var="luggage" items="${referenceData.luggageTypes}">
                                         <option value="${luggage.getId()}">
                                                 ${luggage.getLuggageType()} + ${luggage.getPrice()} &#8364;
                                         </option>
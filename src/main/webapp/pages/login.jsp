@@ -3,7 +3,7 @@
 <html>
 	<head>
 		<title>Login Page</title>
-		<link rel="stylesheet" type="text/css" href="../css/login.css" />
+		<link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/login.css']}" />
 	</head>
 	<body>
 		<div class="wrapperLoginForm">
@@ -3,7 +3,7 @@
 <html>
     <head>
         <title>Registration Page</title>
-        <link rel="stylesheet" type="text/css" href="../css/registration.css"/>
+        <link rel="stylesheet" type="text/css" href="../${applicationScope.staticResource['css/registration.css']}"/>
     </head>
     <body>
         <div class="registrationForm">
@@ -0,0 +1,39 @@
+package by.htp.hermanovich.airline.commands.implementations.api;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.entities.User;
+import by.htp.hermanovich.airline.entities.UserType;
+import by.htp.hermanovich.airline.stubs.StubHttp;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Description: This test checks that the metrics are not given to the users who are not administrators.
+ */
+public class MetricsCommandTest {
+
+    @Test
+    public void requestWithoutUserIsUnauthorized() throws IOException {
+        StubHttp.Response response = new StubHttp.Response();
+
+        new MetricsCommand().execute(new StubHttp.Request("GET").build(), response.get());
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    public void clientIsForbidden() throws IOException {
+        User user = new User();
+        user.setUserType(UserType.CLIENT);
+        StubHttp.Response response = new StubHttp.Response();
+
+        new MetricsCommand().execute(new StubHttp.Request("GET").sessionAttribute(Parameters.USER, user).build(),
+                response.get());
+
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, response.getStatus());
+    }
+}
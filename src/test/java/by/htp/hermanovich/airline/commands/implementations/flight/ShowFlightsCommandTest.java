@@ -0,0 +1,31 @@
+package by.htp.hermanovich.airline.commands.implementations.flight;
+
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.stubs.StubHttp;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks that the entity tag and the time of the last change of the page of the flights
+ * change with the reference data, because the page shows the luggage types and their prices.
+ */
+public class ShowFlightsCommandTest {
+    private final ShowFlightsCommand command = new ShowFlightsCommand();
+
+    @Test
+    public void tagChangesWithReferenceData() throws InterruptedException {
+        HttpServletRequest request = new StubHttp.Request("GET").build();
+        String tag = command.getEntityTag(request);
+        long lastModified = command.getLastModified(request);
+        Thread.sleep(5);
+
+        DataVersion.getInstance().increment(DataVersion.Domain.REFERENCE_DATA);
+
+        assertNotEquals(tag, command.getEntityTag(request));
+        assertTrue(command.getLastModified(request) > lastModified);
+    }
+}
@@ -0,0 +1,50 @@
+package by.htp.hermanovich.airline.commands.implementations.ticket;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.dao.cache.DataVersion;
+import by.htp.hermanovich.airline.entities.User;
+import by.htp.hermanovich.airline.stubs.StubHttp;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Description: This test checks that the entity tag of the page of the tickets depends on the user of the session
+ * only by the id of the user, and changes with the version of the tickets.
+ */
+public class ShowTicketsCommandTest {
+    private final ShowTicketsCommand command = new ShowTicketsCommand();
+
+    @Test
+    public void tagDependsOnIdOfUserOnly() {
+        String tag = command.getEntityTag(requestOf(user(7, "first")));
+
+        assertEquals(tag, command.getEntityTag(requestOf(user(7, "second"))));
+        assertNotEquals(tag, command.getEntityTag(requestOf(user(8, "first"))));
+    }
+
+    @Test
+    public void tagChangesWithTickets() {
+        HttpServletRequest request = requestOf(user(7, "first"));
+        String tag = command.getEntityTag(request);
+
+        DataVersion.getInstance().increment(DataVersion.Domain.TICKETS);
+
+        assertNotEquals(tag, command.getEntityTag(request));
+    }
+
+    private static HttpServletRequest requestOf(User user) {
+        return new StubHttp.Request("GET").sessionAttribute(Parameters.USER, user).build();
+    }
+
+    private static User user(int id, String password) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin("client");
+        user.setPassword(password);
+        return user;
+    }
+}
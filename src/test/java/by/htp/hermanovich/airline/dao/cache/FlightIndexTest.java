@@ -0,0 +1,41 @@
+package by.htp.hermanovich.airline.dao.cache;
+
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Flight;
+import org.junit.Test;
+
+import java.sql.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Description: This test checks that a flight which is added to the index twice, for example by a refresh and
+ * after the commit of its transaction, is indexed once. The routes of every test are unique, so the flights
+ * are not shared with other tests.
+ */
+public class FlightIndexTest {
+    private static final Date DEPARTURE = Date.valueOf("2017-09-01");
+
+    @Test
+    public void flightAddedTwiceIsIndexedOnce() {
+        String departureCode = "D" + System.nanoTime();
+        FlightIndex.getInstance().addFlight(flight(2, departureCode, 120f));
+        FlightIndex.getInstance().addFlight(flight(1, departureCode, 90f));
+        FlightIndex.getInstance().addFlight(flight(2, departureCode, 110f));
+
+        List<Flight> flights = FlightIndex.getInstance().findFlights(departureCode, "VNO", DEPARTURE);
+
+        assertEquals(2, flights.size());
+        assertEquals(1, flights.get(0).getId());
+        assertEquals(2, flights.get(1).getId());
+        assertEquals(110f, flights.get(1).getPricePerSeat(), 0f);
+    }
+
+    private static Flight flight(int id, String departureCode, float price) {
+        return new Flight(id, new Aircraft("EW-1", "Boeing 737"), "B2" + id,
+                new Airport(departureCode, "Departure", "City"), new Airport("VNO", "Vilnius", "Vilnius"),
+                DEPARTURE, DEPARTURE, price);
+    }
+}
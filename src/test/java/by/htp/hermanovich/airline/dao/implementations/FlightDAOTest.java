@@ -0,0 +1,154 @@
+package by.htp.hermanovich.airline.dao.implementations;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.constants.QueriesDB;
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.FlightFacets;
+import by.htp.hermanovich.airline.entities.FlightFilter;
+import by.htp.hermanovich.airline.entities.FlightSort;
+import by.htp.hermanovich.airline.entities.FlightsPage;
+import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.stubs.StubDatabase;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static by.htp.hermanovich.airline.stubs.StubDatabase.row;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks that a search of flights reads the flights together with their aircrafts
+ * and airports by one query, that the filters and the keyset cursor of the page are conditions of the query,
+ * and that an added flight takes the number of available seats which database has written.
+ */
+public class FlightDAOTest {
+    private static final Date DEPARTURE = Date.valueOf("2017-09-01");
+
+    @Test
+    public void searchReadsFlightsWithAircraftsAndAirportsByOneQuery() throws DAOException {
+        StubDatabase database = new StubDatabase().returns(QueriesDB.GET_FLIGHTS_BY_DEP,
+                flightRow(1, "MSQ", "VNO", 120f, 180), flightRow(2, "MSQ", "VNO", 90f, 150),
+                flightRow(3, "MSQ", "RIX", 75f, null));
+        Connection connection = database.connect();
+        long roundTrips = FlightDAO.getRoundTrips();
+
+        List<Flight> flights = FlightDAO.getInstance().getFlightsPage("MSQ", null, null,
+                new FlightFilter(FlightSort.DEPARTURE, null, null, null), firstPageCursor(), 10, connection);
+
+        assertEquals(1, FlightDAO.getRoundTrips() - roundTrips);
+        assertEquals(1, database.getPreparedQueries().size());
+        assertEquals(3, flights.size());
+        assertEquals("Minsk National", flights.get(0).getDepartureAirport().getAirportName());
+        assertEquals("City RIX", flights.get(2).getArrivalAirport().getCity());
+        assertEquals("Boeing 737", flights.get(1).getAircraft().getModel());
+        assertEquals(Integer.valueOf(150), flights.get(1).getAvailableSeats());
+        assertNull(flights.get(2).getAvailableSeats());
+        assertEquals(1, database.getClosedStatements());
+    }
+
+    @Test
+    public void departureCursorFollowsDateAndId() throws DAOException {
+        StubDatabase database = new StubDatabase();
+        Flight cursor = FlightsPage.cursorOf(DEPARTURE, 99.5f, 42);
+
+        FlightDAO.getInstance().getFlightsPage("MSQ", "VNO", DEPARTURE,
+                new FlightFilter(FlightSort.DEPARTURE, null, null, null), cursor, 20, database.connect());
+
+        assertEquals(QueriesDB.GET_FLIGHTS_BY_DEP + QueriesDB.AND_ARRIVAL_AIRPORT + QueriesDB.AND_DEPARTURE_DATE
+                + QueriesDB.AFTER_FLIGHTS_CURSOR, database.getExecutedQueries().get(0));
+        assertEquals(Arrays.<Object>asList("MSQ", "VNO", DEPARTURE, DEPARTURE, DEPARTURE, 42, 20),
+                database.getExecutedParameters().get(0));
+    }
+
+    @Test
+    public void priceCursorAndFiltersAreConditionsOfQuery() throws DAOException {
+        StubDatabase database = new StubDatabase();
+        Flight cursor = FlightsPage.cursorOf(DEPARTURE, 99.7f, 42);
+
+        FlightDAO.getInstance().getFlightsPage("MSQ", null, null,
+                new FlightFilter(FlightSort.PRICE, 50f, 150f, "Boeing 737"), cursor, 20, database.connect());
+
+        assertEquals(QueriesDB.GET_FLIGHTS_BY_DEP + QueriesDB.AND_MIN_PRICE_PER_SEAT + QueriesDB.AND_MAX_PRICE_PER_SEAT
+                + QueriesDB.AND_AIRCRAFT_MODEL + QueriesDB.AFTER_FLIGHTS_PRICE_CURSOR, database.getExecutedQueries().get(0));
+        assertEquals(Arrays.<Object>asList("MSQ", 50d, 150d, "Boeing 737", (double) 99.7f, (double) 99.7f, 42, 20),
+                database.getExecutedParameters().get(0));
+    }
+
+    @Test
+    public void facetsAreCountedByOneGroupedQuery() throws DAOException {
+        StubDatabase database = new StubDatabase().returns(QueriesDB.GET_FLIGHT_FACETS_BY_DEP,
+                row(Parameters.AIRCRAFT_MODEL_DB, "Boeing 737", Parameters.PRICE_BUCKET_DB, 1, Parameters.FLIGHTS_COUNT_DB, 3),
+                row(Parameters.AIRCRAFT_MODEL_DB, "Airbus A320", Parameters.PRICE_BUCKET_DB, 1, Parameters.FLIGHTS_COUNT_DB, 2),
+                row(Parameters.AIRCRAFT_MODEL_DB, "Boeing 737", Parameters.PRICE_BUCKET_DB, 2, Parameters.FLIGHTS_COUNT_DB, 4));
+        long roundTrips = FlightDAO.getRoundTrips();
+
+        FlightFacets facets = FlightDAO.getInstance().getFlightFacets("MSQ", "VNO", null, 50f, database.connect());
+
+        assertEquals(1, FlightDAO.getRoundTrips() - roundTrips);
+        assertEquals(Integer.valueOf(7), facets.getModels().get("Boeing 737"));
+        assertEquals(Integer.valueOf(2), facets.getModels().get("Airbus A320"));
+        assertEquals(2, facets.getPriceBuckets().size());
+        assertEquals(5, facets.getPriceBuckets().get(0).getCount());
+        assertEquals(50f, facets.getPriceBuckets().get(0).getMinPrice(), 0f);
+        assertTrue(database.getExecutedQueries().get(0).endsWith(QueriesDB.GROUP_BY_FLIGHT_FACETS));
+        assertEquals(Arrays.<Object>asList(50d, "MSQ", "VNO"), database.getExecutedParameters().get(0));
+    }
+
+    @Test
+    public void addedFlightTakesAvailableSeatsWrittenByDatabase() throws DAOException {
+        StubDatabase database = new StubDatabase().returns(QueriesDB.GET_AVAILABLE_SEATS_BY_ID,
+                row(Parameters.AVAILABLE_SEATS_DB, 150));
+        Flight flight = newFlight();
+
+        FlightDAO.getInstance().add(flight, database.connect());
+
+        assertEquals(Arrays.asList(QueriesDB.ADD_FLIGHT, QueriesDB.GET_AVAILABLE_SEATS_BY_ID), database.getExecutedQueries());
+        assertEquals("EW-1", database.getExecutedParameters().get(0).get(6));
+        assertEquals(Integer.valueOf(150), flight.getAvailableSeats());
+    }
+
+    @Test(expected = DAOException.class)
+    public void flightOfUnknownAircraftIsNotAdded() throws DAOException {
+        StubDatabase database = new StubDatabase().updates(QueriesDB.ADD_FLIGHT, 0);
+
+        FlightDAO.getInstance().add(newFlight(), database.connect());
+    }
+
+    private static Flight firstPageCursor() {
+        return FlightsPage.cursorOf(FlightsPage.FIRST_PAGE_DATE, FlightsPage.FIRST_PAGE_PRICE, FlightsPage.FIRST_PAGE_ID);
+    }
+
+    private static Flight newFlight() {
+        Aircraft aircraft = new Aircraft("EW-1", "Boeing 737");
+        aircraft.setSeats(180);
+        return new Flight(0, aircraft, "B21", new Airport("MSQ", "Minsk National", "Minsk"),
+                new Airport("VNO", "Vilnius", "Vilnius"), DEPARTURE, DEPARTURE, 120f);
+    }
+
+    private static Map<String, Object> flightRow(int id, String departure, String arrival, float price,
+                                                 Integer availableSeats) {
+        return row(Parameters.ID, id,
+                Parameters.FLIGHT_NUMBER_DB, "B2" + id,
+                Parameters.DEPARTURE_AIRPORT_DB_AS, departure,
+                Parameters.DEPARTURE_AIRPORT_NAME_DB_AS, "Minsk National",
+                Parameters.DEPARTURE_AIRPORT_CITY_DB_AS, "Minsk",
+                Parameters.ARRIVAL_AIRPORT_DB_AS, arrival,
+                Parameters.ARRIVAL_AIRPORT_NAME_DB_AS, "Airport " + arrival,
+                Parameters.ARRIVAL_AIRPORT_CITY_DB_AS, "City " + arrival,
+                Parameters.SHEDULED_DEPARTURE_DB, DEPARTURE,
+                Parameters.SHEDULED_ARRIVAL_DB, DEPARTURE,
+                Parameters.AIRCRAFT_CODE_DB, "EW-" + id,
+                Parameters.AIRCRAFT_MODEL_DB, "Boeing 737",
+                Parameters.AIRCRAFT_SEATS_DB, 180,
+                Parameters.PRICE_PER_SEAT_DB, price,
+                Parameters.AVAILABLE_SEATS_DB, availableSeats);
+    }
+}
@@ -0,0 +1,56 @@
+package by.htp.hermanovich.airline.dao.implementations;
+
+import by.htp.hermanovich.airline.constants.QueriesDB;
+import by.htp.hermanovich.airline.exceptions.DAOException;
+import by.htp.hermanovich.airline.stubs.StubDatabase;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static by.htp.hermanovich.airline.stubs.StubDatabase.row;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks the reservation of a block of ticket numbers and the check of the numbers
+ * of the block against the existing tickets.
+ */
+public class TicketDAOTest {
+
+    @Test
+    public void blockIsReservedByMovingSequence() throws DAOException {
+        StubDatabase database = new StubDatabase()
+                .returns(QueriesDB.GET_LAST_INSERT_ID, row("LAST_INSERT_ID()", 300L));
+
+        long end = TicketDAO.getInstance().reserveNumberBlock(100, database.connect());
+
+        assertEquals(300L, end);
+        assertEquals(Arrays.asList(QueriesDB.RESERVE_TICKET_NUMBER_BLOCK, QueriesDB.GET_LAST_INSERT_ID),
+                database.getExecutedQueries());
+        assertEquals(Collections.<Object>singletonList(100), database.getExecutedParameters().get(0));
+        assertEquals(2, database.getClosedStatements());
+    }
+
+    @Test
+    public void numbersOfBlockAreCheckedByOneQuery() throws DAOException {
+        StubDatabase database = new StubDatabase()
+                .returns(QueriesDB.GET_EXISTING_TICKET_NUMBERS, row("ticket_number", "BCDEFG"));
+
+        assertEquals(new HashSet<>(Collections.singletonList("BCDEFG")), TicketDAO.getInstance()
+                .getExistingTicketNumbers(Arrays.asList("ABCDEF", "BCDEFG", "CDEFGH"), database.connect()));
+        assertEquals(Collections.singletonList(QueriesDB.GET_EXISTING_TICKET_NUMBERS + "?, ?, ?)"),
+                database.getExecutedQueries());
+        assertEquals(Arrays.<Object>asList("ABCDEF", "BCDEFG", "CDEFGH"), database.getExecutedParameters().get(0));
+    }
+
+    @Test
+    public void emptyBlockIsNotChecked() throws DAOException {
+        StubDatabase database = new StubDatabase();
+
+        assertTrue(TicketDAO.getInstance().getExistingTicketNumbers(Collections.<String>emptyList(),
+                database.connect()).isEmpty());
+        assertTrue(database.getExecutedQueries().isEmpty());
+    }
+}
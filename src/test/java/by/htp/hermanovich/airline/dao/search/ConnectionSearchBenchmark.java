@@ -0,0 +1,101 @@
+package by.htp.hermanovich.airline.dao.search;
+
+import by.htp.hermanovich.airline.entities.Aircraft;
+import by.htp.hermanovich.airline.entities.Airport;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.Itinerary;
+import org.apache.log4j.Logger;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Description: This class measures the connection search engine on a synthetic network of flights. The network
+ * has a number of airports, a few of which are hubs that take most of the flights, and the given number
+ * of flights per day. The benchmark is a test source, so it is not packaged with the application, and is run
+ * without database from the test classpath:
+ *      java ... ConnectionSearchBenchmark [airports] [flightsPerDay] [days] [searches]
+ */
+public class ConnectionSearchBenchmark {
+    private static final Logger logger = Logger.getLogger(ConnectionSearchBenchmark.class);
+    private static final int HUB_SHARE_PERCENT = 60;
+    private static final int WARM_UP_SEARCHES = 2000;
+
+    public static void main(String[] args) {
+        int airportCount = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int flightsPerDay = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int days = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int searches = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.of(2017, 9, 1);
+
+        List<Airport> airports = new ArrayList<>(airportCount);
+        for (int i = 0; i < airportCount; i++) {
+            String code = String.format("A%02d", i);
+            airports.add(new Airport(code, "Airport " + code, "City " + code));
+        }
+        int hubCount = Math.max(1, airportCount / 20);
+        Aircraft aircraft = new Aircraft("00-000", "Synthetic");
+        List<Flight> flights = new ArrayList<>(flightsPerDay * days);
+        long buildStart = System.nanoTime();
+        for (int day = 0; day < days; day++) {
+            Date date = Date.valueOf(firstDay.plusDays(day));
+            for (int i = 0; i < flightsPerDay; i++) {
+                Airport departure = pickAirport(airports, hubCount, random);
+                Airport arrival = pickAirport(airports, hubCount, random);
+                if (departure == arrival) {
+                    continue;
+                }
+                Date arrivalDate = random.nextInt(10) == 0 ? Date.valueOf(date.toLocalDate().plusDays(1)) : date;
+                flights.add(new Flight(flights.size() + 1, aircraft, "SY" + flights.size(), departure, arrival,
+                        date, arrivalDate, 20 + random.nextInt(400)));
+            }
+        }
+        ConnectionSearchEngine engine = new ConnectionSearchEngine(flights, 0, 1);
+        logger.info("Graph of " + engine.getFlightCount() + " flights has been built in "
+                + (System.nanoTime() - buildStart) / 1000000 + " ms.");
+
+        for (int i = 0; i < WARM_UP_SEARCHES; i++) {
+            runSearch(engine, airports, firstDay, days, random);
+        }
+        long[] latencies = new long[searches];
+        long itineraries = 0;
+        for (int i = 0; i < searches; i++) {
+            long start = System.nanoTime();
+            itineraries += runSearch(engine, airports, firstDay, days, random).size();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        logger.info(searches + " searches: average " + millis(total / searches) + " ms, median "
+                + millis(latencies[searches / 2]) + " ms, 99th percentile " + millis(latencies[searches * 99 / 100])
+                + " ms, maximum " + millis(latencies[searches - 1]) + " ms, itineraries per search "
+                + (itineraries / searches) + ".");
+    }
+
+    private static List<Itinerary> runSearch(ConnectionSearchEngine engine, List<Airport> airports,
+                                             LocalDate firstDay, int days, Random random) {
+        String origin = airports.get(random.nextInt(airports.size())).getAirportCode();
+        String destination = airports.get(random.nextInt(airports.size())).getAirportCode();
+        Date date = Date.valueOf(firstDay.plusDays(random.nextInt(days)));
+        return engine.search(origin, destination, date, 2, 20);
+    }
+
+    private static Airport pickAirport(List<Airport> airports, int hubCount, Random random) {
+        if (random.nextInt(100) < HUB_SHARE_PERCENT) {
+            return airports.get(random.nextInt(hubCount));
+        }
+        return airports.get(random.nextInt(airports.size()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1000000.0);
+    }
+}
@@ -0,0 +1,55 @@
+package by.htp.hermanovich.airline.dao.services;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks the permutation of the values of the counter into ticket numbers.
+ */
+public class TicketNumberGeneratorTest {
+    private static final long KEYSPACE = 308915776L;
+
+    @Test
+    public void ticketNumbersAreSixCapitalLetters() {
+        for (long value : new long[] {0, 1, 25, 26, 12345678, KEYSPACE - 1}) {
+            assertTrue(TicketNumberGenerator.encode(value).matches("[A-Z]{6}"));
+        }
+    }
+
+    @Test
+    public void differentValuesGiveDifferentNumbers() {
+        Set<String> ticketNumbers = new HashSet<>();
+        for (long start : new long[] {0, KEYSPACE / 2, KEYSPACE - 100000}) {
+            ticketNumbers.addAll(TicketNumberGenerator.encodeBlock(start, start + 100000));
+        }
+        assertEquals(300000, ticketNumbers.size());
+    }
+
+    @Test
+    public void valuesArePermutedWithinKeyspace() {
+        assertEquals(TicketNumberGenerator.encode(7), TicketNumberGenerator.encode(7 + KEYSPACE));
+    }
+
+    @Test
+    public void consecutiveValuesDoNotGiveSequentialNumbers() {
+        String first = TicketNumberGenerator.encode(1000);
+        String second = TicketNumberGenerator.encode(1001);
+        assertNotEquals(first.substring(0, 5), second.substring(0, 5));
+    }
+
+    @Test
+    public void blockHasNumbersOfItsValuesInOrder() {
+        List<String> ticketNumbers = TicketNumberGenerator.encodeBlock(500, 600);
+        assertEquals(100, ticketNumbers.size());
+        for (int i = 0; i < ticketNumbers.size(); i++) {
+            assertEquals(TicketNumberGenerator.encode(500 + i), ticketNumbers.get(i));
+        }
+    }
+}
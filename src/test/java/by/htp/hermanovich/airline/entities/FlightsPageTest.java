@@ -0,0 +1,98 @@
+package by.htp.hermanovich.airline.entities;
+
+import org.junit.Test;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks the keyset cursor of the pages of the flight search: the pages which start after
+ * the last flight of the previous page cover all flights in every order exactly once, also when the flights
+ * have equal dates or prices.
+ */
+public class FlightsPageTest {
+    private static final int PAGE_SIZE = 4;
+
+    @Test
+    public void pagesCoverAllFlightsOnceInEveryOrder() {
+        List<Flight> flights = flights();
+        for (FlightSort sort : FlightSort.values()) {
+            List<Flight> expected = new ArrayList<>(flights);
+            expected.sort(sort.getOrder());
+            List<Flight> shown = new ArrayList<>();
+            Flight cursor = FlightsPage.cursorOf(FlightsPage.FIRST_PAGE_DATE, FlightsPage.FIRST_PAGE_PRICE,
+                    FlightsPage.FIRST_PAGE_ID);
+            FlightsPage page;
+            do {
+                page = page(flights, sort, cursor);
+                shown.addAll(page.getFlights());
+                cursor = FlightsPage.cursorOf(page.getNextCursorDate(), page.getNextCursorPrice(),
+                        page.getNextCursorId());
+            } while (page.isHasNextPage());
+            assertEquals(sort.name(), expected, shown);
+        }
+    }
+
+    @Test
+    public void cursorOfFirstPageIsBeforeEveryFlight() {
+        Flight cursor = FlightsPage.cursorOf(FlightsPage.FIRST_PAGE_DATE, FlightsPage.FIRST_PAGE_PRICE,
+                FlightsPage.FIRST_PAGE_ID);
+        for (FlightSort sort : FlightSort.values()) {
+            for (Flight flight : flights()) {
+                assertTrue(sort.getOrder().compare(flight, cursor) > 0);
+            }
+        }
+    }
+
+    @Test
+    public void emptyPageKeepsItsCursor() {
+        Flight cursor = FlightsPage.cursorOf(Date.valueOf("2017-09-03"), 120f, 17);
+        FlightsPage page = new FlightsPage("MSQ", null, null, new FlightFilter(FlightSort.PRICE, null, null, null),
+                cursor, Collections.<Flight>emptyList(), false, new FlightFacets(50f));
+
+        assertEquals(Date.valueOf("2017-09-03"), page.getNextCursorDate());
+        assertEquals(120f, page.getNextCursorPrice(), 0f);
+        assertEquals(17, page.getNextCursorId());
+    }
+
+    @Test
+    public void unknownSortParameterGivesOrderByDeparture() {
+        assertEquals(FlightSort.PRICE, FlightSort.fromParameter("Price"));
+        assertEquals(FlightSort.DEPARTURE, FlightSort.fromParameter("seats"));
+        assertEquals(FlightSort.DEPARTURE, FlightSort.fromParameter(null));
+    }
+
+    /**
+     * This method takes the page of the flights after the cursor like the search does.
+     */
+    private static FlightsPage page(List<Flight> flights, FlightSort sort, Flight cursor) {
+        List<Flight> following = new ArrayList<>();
+        for (Flight flight : flights) {
+            if (sort.getOrder().compare(flight, cursor) > 0) {
+                following.add(flight);
+            }
+        }
+        following.sort(sort.getOrder());
+        boolean hasNextPage = following.size() > PAGE_SIZE;
+        return new FlightsPage("MSQ", null, null, new FlightFilter(sort, null, null, null), cursor,
+                following.subList(0, Math.min(PAGE_SIZE, following.size())), hasNextPage, new FlightFacets(50f));
+    }
+
+    private static List<Flight> flights() {
+        float[] prices = {90f, 120f, 90f, 75f, 120f, 90f, 60f, 90f, 120f, 75f, 90f};
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            Flight flight = new Flight();
+            flight.setId(prices.length - i);
+            flight.setSheduledDeparture(Date.valueOf("2017-09-0" + (1 + i % 3)));
+            flight.setPricePerSeat(prices[i]);
+            flights.add(flight);
+        }
+        return flights;
+    }
+}
@@ -0,0 +1,342 @@
+package by.htp.hermanovich.airline.stubs;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Description: This class describes a database for the tests which need no server. Its connections, prepared
+ * statements and results are proxies which record the queries, their parameters and the calls of the transaction.
+ * A query returns the rows which have been given for the beginning of its text, or no rows.
+ */
+public class StubDatabase {
+    private final Map<String, List<Map<String, Object>>> results = new LinkedHashMap<>();
+    private final Map<String, Integer> updateCounts = new LinkedHashMap<>();
+    private final List<String> preparedQueries = new ArrayList<>();
+    private final List<String> executedQueries = new ArrayList<>();
+    private final List<List<Object>> executedParameters = new ArrayList<>();
+    private final List<String> transactionCalls = new ArrayList<>();
+    private int openedConnections;
+    private int closedConnections;
+    private int closedStatements;
+    private int clearedStatements;
+
+    /**
+     * This method gives the rows which are returned by the queries which start with the text.
+     *
+     * @param queryStart    - the beginning of the text of the queries;
+     * @param rows          - the rows; a row maps the labels of the columns to the values in their order.
+     * @return              - the database.
+     */
+    @SafeVarargs
+    public final StubDatabase returns(String queryStart, Map<String, Object>... rows) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.length);
+        for (Map<String, Object> row : rows) {
+            result.add(row);
+        }
+        results.put(queryStart, result);
+        return this;
+    }
+
+    /**
+     * This method gives the number of rows which are changed by the updates which start with the text.
+     * The other updates change one row.
+     *
+     * @param queryStart    - the beginning of the text of the updates;
+     * @param count         - the number of changed rows.
+     * @return              - the database.
+     */
+    public StubDatabase updates(String queryStart, int count) {
+        updateCounts.put(queryStart, count);
+        return this;
+    }
+
+    /**
+     * This method builds a row from the pairs of the label of a column and its value.
+     *
+     * @param labelsAndValues   - the labels and the values one after another.
+     * @return                  - a row.
+     */
+    public static Map<String, Object> row(Object... labelsAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put((String) labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    /**
+     * @return      - a new physical connection to the database.
+     */
+    public synchronized Connection connect() {
+        openedConnections++;
+        return proxy(Connection.class, new ConnectionState());
+    }
+
+    public synchronized List<String> getPreparedQueries() {
+        return new ArrayList<>(preparedQueries);
+    }
+
+    public synchronized List<String> getExecutedQueries() {
+        return new ArrayList<>(executedQueries);
+    }
+
+    public synchronized List<List<Object>> getExecutedParameters() {
+        return new ArrayList<>(executedParameters);
+    }
+
+    public synchronized List<String> getTransactionCalls() {
+        return new ArrayList<>(transactionCalls);
+    }
+
+    public synchronized int getOpenedConnections() {
+        return openedConnections;
+    }
+
+    public synchronized int getClosedConnections() {
+        return closedConnections;
+    }
+
+    public synchronized int getClosedStatements() {
+        return closedStatements;
+    }
+
+    public synchronized int getClearedStatements() {
+        return clearedStatements;
+    }
+
+    private synchronized List<Map<String, Object>> rowsOf(String query) {
+        for (Map.Entry<String, List<Map<String, Object>>> result : results.entrySet()) {
+            if (query.startsWith(result.getKey())) {
+                return result.getValue();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private synchronized int updateCountOf(String query) {
+        for (Map.Entry<String, Integer> updateCount : updateCounts.entrySet()) {
+            if (query.startsWith(updateCount.getKey())) {
+                return updateCount.getValue();
+            }
+        }
+        return 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object state) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + " of " + state;
+                default:
+                    Object result = ((Handler) state).handle(proxy, method.getName(), args == null ? new Object[0] : args);
+                    return result == null ? defaultValue(method.getReturnType()) : result;
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+
+    private interface Handler {
+        Object handle(Object proxy, String method, Object[] args) throws SQLException;
+    }
+
+    /**
+     * Description: The state of a physical connection.
+     */
+    private class ConnectionState implements Handler {
+        private boolean closed;
+        private boolean autoCommit = true;
+
+        @Override
+        public Object handle(Object proxy, String method, Object[] args) throws SQLException {
+            synchronized (StubDatabase.this) {
+                if (closed && !"close".equals(method) && !"isClosed".equals(method)) {
+                    throw new SQLException("The connection is closed.");
+                }
+                switch (method) {
+                    case "prepareStatement":
+                        preparedQueries.add((String) args[0]);
+                        return proxy(PreparedStatement.class, new StatementState((Connection) proxy, (String) args[0]));
+                    case "setAutoCommit":
+                        autoCommit = (Boolean) args[0];
+                        transactionCalls.add(method + "(" + autoCommit + ")");
+                        return null;
+                    case "getAutoCommit":
+                        return autoCommit;
+                    case "commit":
+                    case "rollback":
+                        transactionCalls.add(method);
+                        return null;
+                    case "isValid":
+                        return true;
+                    case "isClosed":
+                        return closed;
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            closedConnections++;
+                        }
+                        return null;
+                    default:
+                        return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Description: The state of a prepared statement.
+     */
+    private class StatementState implements Handler {
+        private final Connection connection;
+        private final String query;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private boolean closed;
+
+        StatementState(Connection connection, String query) {
+            this.connection = connection;
+            this.query = query;
+        }
+
+        @Override
+        public Object handle(Object proxy, String method, Object[] args) throws SQLException {
+            synchronized (StubDatabase.this) {
+                if (closed && !"close".equals(method) && !"isClosed".equals(method)) {
+                    throw new SQLException("The statement is closed.");
+                }
+                if (method.startsWith("set") && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.put((Integer) args[0], "setNull".equals(method) ? null : args[1]);
+                    return null;
+                }
+                switch (method) {
+                    case "executeQuery":
+                        execute();
+                        return proxy(ResultSet.class, new ResultState(rowsOf(query)));
+                    case "executeUpdate":
+                        execute();
+                        return updateCountOf(query);
+                    case "execute":
+                        execute();
+                        return false;
+                    case "getGeneratedKeys":
+                        return proxy(ResultSet.class, new ResultState(Collections.<Map<String, Object>>emptyList()));
+                    case "clearParameters":
+                        parameters.clear();
+                        clearedStatements++;
+                        return null;
+                    case "getConnection":
+                        return connection;
+                    case "isClosed":
+                        return closed;
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            closedStatements++;
+                        }
+                        return null;
+                    default:
+                        return null;
+                }
+            }
+        }
+
+        private void execute() {
+            executedQueries.add(query);
+            executedParameters.add(new ArrayList<>(parameters.values()));
+        }
+    }
+
+    /**
+     * Description: The state of a result of a query.
+     */
+    private static class ResultState implements Handler {
+        private final List<Map<String, Object>> rows;
+        private int position = -1;
+        private boolean lastNull;
+
+        ResultState(List<Map<String, Object>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Object handle(Object proxy, String method, Object[] args) throws SQLException {
+            switch (method) {
+                case "next":
+                    return ++position < rows.size();
+                case "wasNull":
+                    return lastNull;
+                case "close":
+                case "setFetchSize":
+                    return null;
+                default:
+                    break;
+            }
+            if (!method.startsWith("get") || args.length != 1) {
+                return null;
+            }
+            Object value = valueOf(args[0]);
+            lastNull = value == null;
+            switch (method) {
+                case "getString":
+                    return value == null ? null : String.valueOf(value);
+                case "getInt":
+                    return value == null ? 0 : ((Number) value).intValue();
+                case "getLong":
+                    return value == null ? 0L : ((Number) value).longValue();
+                case "getFloat":
+                    return value == null ? 0f : ((Number) value).floatValue();
+                case "getDouble":
+                    return value == null ? 0d : ((Number) value).doubleValue();
+                case "getBoolean":
+                    return value != null && (Boolean) value;
+                default:
+                    return value;
+            }
+        }
+
+        private Object valueOf(Object column) throws SQLException {
+            if (position < 0 || position >= rows.size()) {
+                throw new SQLException("The result has no current row.");
+            }
+            Map<String, Object> row = rows.get(position);
+            if (column instanceof Integer) {
+                return new ArrayList<>(row.values()).get((Integer) column - 1);
+            }
+            if (!row.containsKey(column)) {
+                throw new SQLException("Column not found: " + column);
+            }
+            return row.get(column);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package by.htp.hermanovich.airline.stubs;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Description: This class describes requests and responses for the tests which need no servlet container.
+ * A request has the given method, parameters, headers and attributes of the session. A response records
+ * its status and headers.
+ */
+public final class StubHttp {
+
+    private StubHttp() {
+    }
+
+    /**
+     * Description: The builder of a request.
+     */
+    public static class Request {
+        private final String method;
+        private final Map<String, String> parameters = new HashMap<>();
+        private final Map<String, String> headers = new HashMap<>();
+        private final Map<String, Object> sessionAttributes = new HashMap<>();
+
+        public Request(String method) {
+            this.method = method;
+        }
+
+        public Request parameter(String name, String value) {
+            parameters.put(name, value);
+            return this;
+        }
+
+        public Request header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        public Request dateHeader(String name, long date) {
+            headers.put(name, String.valueOf(date));
+            return this;
+        }
+
+        public Request sessionAttribute(String name, Object value) {
+            sessionAttributes.put(name, value);
+            return this;
+        }
+
+        public HttpServletRequest build() {
+            final HttpSession session = (HttpSession) Proxy.newProxyInstance(HttpSession.class.getClassLoader(),
+                    new Class<?>[] {HttpSession.class}, (proxy, invokedMethod, args) -> {
+                        switch (invokedMethod.getName()) {
+                            case "getAttribute":
+                                return sessionAttributes.get(args[0]);
+                            case "setAttribute":
+                                sessionAttributes.put((String) args[0], args[1]);
+                                return null;
+                            case "removeAttribute":
+                                sessionAttributes.remove(args[0]);
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(invokedMethod.getName());
+                        }
+                    });
+            return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                    new Class<?>[] {HttpServletRequest.class}, (proxy, invokedMethod, args) -> {
+                        switch (invokedMethod.getName()) {
+                            case "getMethod":
+                                return method;
+                            case "getParameter":
+                                return parameters.get(args[0]);
+                            case "getHeader":
+                                return headers.get(args[0]);
+                            case "getDateHeader":
+                                String date = headers.get(args[0]);
+                                return date == null ? -1L : Long.parseLong(date);
+                            case "getSession":
+                                return session;
+                            default:
+                                throw new UnsupportedOperationException(invokedMethod.getName());
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Description: A response which records its status and headers.
+     */
+    public static class Response {
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private int status = HttpServletResponse.SC_OK;
+        private final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+                HttpServletResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+                (proxy, invokedMethod, args) -> {
+                    switch (invokedMethod.getName()) {
+                        case "setHeader":
+                            headers.put((String) args[0], (String) args[1]);
+                            return null;
+                        case "setDateHeader":
+                            headers.put((String) args[0], String.valueOf(args[1]));
+                            return null;
+                        case "setStatus":
+                        case "sendError":
+                            status = (Integer) args[0];
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(invokedMethod.getName());
+                    }
+                });
+
+        public HttpServletResponse get() {
+            return response;
+        }
+
+        public String getHeader(String name) {
+            return headers.get(name);
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
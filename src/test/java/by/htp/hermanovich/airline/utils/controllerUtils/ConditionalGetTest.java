@@ -0,0 +1,87 @@
+package by.htp.hermanovich.airline.utils.controllerUtils;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.stubs.StubHttp;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks the entity tags of the responses and the answers <i>304 Not Modified</i>.
+ */
+public class ConditionalGetTest {
+    private static final String TAG = ConditionalGet.entityTag(1500000000000L, 3, 7);
+    private static final long LAST_MODIFIED = 1500000000123L;
+
+    @Test
+    public void entityTagIsWeakAndJoinsVersions() {
+        assertEquals("W/\"1500000000000-3-7\"", TAG);
+    }
+
+    @Test
+    public void matchingTagGivesNotModified() {
+        StubHttp.Response response = new StubHttp.Response();
+
+        assertTrue(ConditionalGet.isNotModified(new StubHttp.Request("GET")
+                .header(Parameters.HEADER_IF_NONE_MATCH, "\"other\", " + TAG).build(), response.get(), TAG, true));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(TAG, response.getHeader(Parameters.HEADER_ETAG));
+        assertEquals("private, no-cache", response.getHeader(Parameters.HEADER_CACHE_CONTROL));
+    }
+
+    @Test
+    public void strongFormOfTagMatchesWeakly() {
+        assertTrue(ConditionalGet.isNotModified(new StubHttp.Request("HEAD")
+                        .header(Parameters.HEADER_IF_NONE_MATCH, "\"1500000000000-3-7\"").build(),
+                new StubHttp.Response().get(), TAG, false));
+        assertTrue(ConditionalGet.isNotModified(new StubHttp.Request("GET")
+                .header(Parameters.HEADER_IF_NONE_MATCH, "*").build(), new StubHttp.Response().get(), TAG, false));
+    }
+
+    @Test
+    public void changedVersionIsSentAgain() {
+        StubHttp.Response response = new StubHttp.Response();
+
+        assertFalse(ConditionalGet.isNotModified(new StubHttp.Request("GET")
+                        .header(Parameters.HEADER_IF_NONE_MATCH, ConditionalGet.entityTag(1500000000000L, 3, 8)).build(),
+                response.get(), TAG, false));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(TAG, response.getHeader(Parameters.HEADER_ETAG));
+        assertEquals("no-cache", response.getHeader(Parameters.HEADER_CACHE_CONTROL));
+    }
+
+    @Test
+    public void onlySafeMethodsAreNotModified() {
+        assertFalse(ConditionalGet.isNotModified(new StubHttp.Request("POST")
+                .header(Parameters.HEADER_IF_NONE_MATCH, TAG).build(), new StubHttp.Response().get(), TAG, true));
+        assertFalse(ConditionalGet.isNotModified(new StubHttp.Request("POST")
+                        .dateHeader(Parameters.HEADER_IF_MODIFIED_SINCE, LAST_MODIFIED).build(),
+                new StubHttp.Response().get(), TAG, LAST_MODIFIED, true));
+    }
+
+    @Test
+    public void timeIsComparedInSecondsWhenThereIsNoTag() {
+        StubHttp.Response response = new StubHttp.Response();
+
+        assertTrue(ConditionalGet.isNotModified(new StubHttp.Request("GET")
+                        .dateHeader(Parameters.HEADER_IF_MODIFIED_SINCE, 1500000000000L).build(),
+                response.get(), TAG, LAST_MODIFIED, true));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(String.valueOf(LAST_MODIFIED), response.getHeader(Parameters.HEADER_LAST_MODIFIED));
+        assertFalse(ConditionalGet.isNotModified(new StubHttp.Request("GET")
+                        .dateHeader(Parameters.HEADER_IF_MODIFIED_SINCE, 1499999999000L).build(),
+                new StubHttp.Response().get(), TAG, LAST_MODIFIED, true));
+    }
+
+    @Test
+    public void timeIsIgnoredWhenTagDoesNotMatch() {
+        assertFalse(ConditionalGet.isNotModified(new StubHttp.Request("GET")
+                        .header(Parameters.HEADER_IF_NONE_MATCH, "W/\"old\"")
+                        .dateHeader(Parameters.HEADER_IF_MODIFIED_SINCE, LAST_MODIFIED).build(),
+                new StubHttp.Response().get(), TAG, LAST_MODIFIED, true));
+    }
+}
@@ -0,0 +1,64 @@
+package by.htp.hermanovich.airline.utils.controllerUtils;
+
+import by.htp.hermanovich.airline.constants.Parameters;
+import by.htp.hermanovich.airline.entities.Flight;
+import by.htp.hermanovich.airline.entities.FlightsPage;
+import by.htp.hermanovich.airline.entities.User;
+import by.htp.hermanovich.airline.stubs.StubHttp;
+import org.junit.Test;
+
+import java.sql.Date;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Description: This test checks how the keyset cursor of the flight search and the user of the session
+ * are taken from request.
+ */
+public class RequestParameterIdentifierTest {
+
+    @Test
+    public void cursorIsTakenFromRequest() {
+        Flight cursor = RequestParameterIdentifier.getCursorFromRequest(new StubHttp.Request("GET")
+                .parameter(Parameters.CURSOR_DATE, "2017-09-03")
+                .parameter(Parameters.CURSOR_PRICE, "99.7")
+                .parameter(Parameters.CURSOR_ID, "42")
+                .build());
+
+        assertEquals(Date.valueOf("2017-09-03"), cursor.getSheduledDeparture());
+        assertEquals(99.7f, cursor.getPricePerSeat(), 0f);
+        assertEquals(42, cursor.getId());
+    }
+
+    @Test
+    public void invalidCursorGivesFirstPage() {
+        String[][] cursors = {
+                {null, "99.7", "42"},
+                {"2017-13-45", "99.7", "42"},
+                {"2017-09-03", "price", "42"},
+                {"2017-09-03", "99.7", "-1"},
+                {"2017-09-03", "99.7", "99999999999"},
+        };
+        for (String[] values : cursors) {
+            Flight cursor = RequestParameterIdentifier.getCursorFromRequest(new StubHttp.Request("GET")
+                    .parameter(Parameters.CURSOR_DATE, values[0])
+                    .parameter(Parameters.CURSOR_PRICE, values[1])
+                    .parameter(Parameters.CURSOR_ID, values[2])
+                    .build());
+
+            assertEquals(FlightsPage.FIRST_PAGE_DATE, cursor.getSheduledDeparture());
+            assertEquals(FlightsPage.FIRST_PAGE_PRICE, cursor.getPricePerSeat(), 0f);
+            assertEquals(FlightsPage.FIRST_PAGE_ID, cursor.getId());
+        }
+    }
+
+    @Test
+    public void userIdIsTakenFromSession() {
+        User user = new User();
+        user.setId(7);
+
+        assertEquals(7, RequestParameterIdentifier.getUserIdFromSession(new StubHttp.Request("GET")
+                .sessionAttribute(Parameters.USER, user).build()));
+        assertEquals(0, RequestParameterIdentifier.getUserIdFromSession(new StubHttp.Request("GET").build()));
+    }
+}
@@ -0,0 +1,89 @@
+package by.htp.hermanovich.airline.utils.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks the buckets of the latency histogram and the percentiles of its snapshot.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramHasNoLatency() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().getSnapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtQuantile(0.99));
+    }
+
+    @Test
+    public void smallLatenciesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 0; micros < 64; micros++) {
+            histogram.recordMicros(micros);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        for (int i = 0; i < 64; i++) {
+            assertEquals(i, snapshot.getValueAtQuantile((i + 1) / 64.0));
+        }
+    }
+
+    @Test
+    public void percentilesAreKnownWithPrecisionOfBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100000; micros++) {
+            histogram.recordMicros(micros);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertWithinBucket(50000, snapshot.getValueAtQuantile(0.5));
+        assertWithinBucket(90000, snapshot.getValueAtQuantile(0.9));
+        assertWithinBucket(99000, snapshot.getValueAtQuantile(0.99));
+        assertEquals(100000, snapshot.getValueAtQuantile(1));
+        assertEquals(100000, snapshot.getCount());
+        assertEquals(100000L * 100001 / 2, snapshot.getTotalMicros());
+    }
+
+    @Test
+    public void everyLatencyIsBelowUpperBoundOfItsBucket() {
+        for (long micros = 64; micros < 1L << 40; micros = micros * 3 / 2 + 1) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.recordMicros(micros);
+            histogram.recordMicros(micros * 2);
+            assertWithinBucket(micros, histogram.getSnapshot().getValueAtQuantile(0.5));
+        }
+    }
+
+    @Test
+    public void percentileDoesNotExceedMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(1000);
+        assertEquals(1000, histogram.getSnapshot().getValueAtQuantile(0.99));
+        assertEquals(1000, histogram.getSnapshot().getMaxMicros());
+    }
+
+    @Test
+    public void latencyBeyondLastBucketIsCounted() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(Long.MAX_VALUE / 4);
+        histogram.recordMicros(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtQuantile(0.5));
+        assertEquals(Long.MAX_VALUE / 4, snapshot.getMaxMicros());
+    }
+
+    @Test
+    public void errorsAreCountedApartFromLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(System.nanoTime());
+        histogram.recordError();
+        assertEquals(1, histogram.getErrors());
+        assertEquals(1, histogram.getSnapshot().getCount());
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual + " is below " + expected, actual >= expected);
+        assertTrue(actual + " is above the bucket of " + expected, actual <= expected + expected / 32);
+    }
+}
@@ -0,0 +1,57 @@
+package by.htp.hermanovich.airline.utils.metrics;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Description: This test checks that a timed method of a service is recorded on every way out of the method,
+ * and that the stages of the booking are recorded one after another. The names of the methods and of the stages
+ * of every test are unique, so the histograms are not shared with other tests.
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    public void returnedValueIsRecorded() throws SQLException {
+        String method = "Test.returnedValue" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            final int value = i;
+            assertEquals(Integer.valueOf(value), MetricsRegistry.time(method, () -> value));
+        }
+        assertEquals(3, MetricsRegistry.getInstance().getServiceLatency(method).getSnapshot().getCount());
+    }
+
+    @Test
+    public void failedCallIsRecordedAsError() {
+        String method = "Test.failedCall" + System.nanoTime();
+        try {
+            MetricsRegistry.timeAction(method, () -> {
+                throw new SQLException("The query has failed.");
+            });
+            fail("The exception of the call has been lost.");
+        } catch (SQLException e) {
+            assertEquals("The query has failed.", e.getMessage());
+        }
+        LatencyHistogram latency = MetricsRegistry.getInstance().getServiceLatency(method);
+        assertEquals(1, latency.getSnapshot().getCount());
+        assertEquals(1, latency.getErrors());
+    }
+
+    @Test
+    public void stageEndsWhereNextStageStarts() {
+        String first = "firstStage" + System.nanoTime();
+        String second = "secondStage" + System.nanoTime();
+        long start = System.nanoTime();
+
+        long secondStart = MetricsRegistry.recordStage(first, start);
+        long end = MetricsRegistry.recordStage(second, secondStart);
+
+        assertTrue(start <= secondStart && secondStart <= end);
+        assertEquals(1, MetricsRegistry.getInstance().getStageLatency(first).getSnapshot().getCount());
+        assertEquals(1, MetricsRegistry.getInstance().getStageLatencies().get(second).getSnapshot().getCount());
+    }
+}
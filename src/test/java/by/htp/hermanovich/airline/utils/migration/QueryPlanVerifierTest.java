@@ -0,0 +1,41 @@
+package by.htp.hermanovich.airline.utils.migration;
+
+import by.htp.hermanovich.airline.utils.ConnectorDB;
+import by.htp.hermanovich.airline.utils.pool.ConnectionPool;
+import by.htp.hermanovich.airline.utils.transaction.TransactionMode;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Description: This test checks the plans of the lookup queries against the database of the <i>database.properties</i>
+ * resource file. The test is skipped if database is not available.
+ */
+public class QueryPlanVerifierTest {
+
+    @AfterClass
+    public static void closePool() {
+        ConnectionPool.getInstance().closePool();
+    }
+
+    @Test
+    public void lookupQueriesDoNotReadWholeTables() throws SQLException {
+        Connection connection = null;
+        try {
+            try {
+                connection = ConnectorDB.getConnection(TransactionMode.READ_ONLY);
+            } catch (SQLException e) {
+                Assume.assumeNoException(e);
+            }
+            assertEquals(Collections.<String>emptyList(), new QueryPlanVerifier().verify(connection));
+        } finally {
+            ConnectorDB.closeConnection(connection);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package by.htp.hermanovich.airline.utils.pool;
+
+import by.htp.hermanovich.airline.stubs.StubDatabase;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Description: This test checks the bounds of the connection pool and the state in which a connection
+ * is returned to the pool. The physical connections are opened to a {@link StubDatabase} by a stub driver.
+ */
+public class ConnectionPoolTest {
+    private static final String URL = "jdbc:stub:airline";
+    private static final StubDriver driver = new StubDriver();
+    private static volatile StubDatabase database;
+
+    private ConnectionPool pool;
+
+    @BeforeClass
+    public static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(driver);
+    }
+
+    @AfterClass
+    public static void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Before
+    public void createPool() {
+        database = new StubDatabase();
+        pool = createPool(2, 0, 10);
+    }
+
+    @After
+    public void closePool() {
+        pool.closePool();
+    }
+
+    @Test
+    public void returnedConnectionIsReused() throws SQLException {
+        pool.takeConnection().close();
+        pool.takeConnection().close();
+
+        assertEquals(1, database.getOpenedConnections());
+        assertEquals(1, pool.getTotalConnections());
+        assertEquals(1, pool.getIdleConnections());
+    }
+
+    @Test
+    public void borrowerWaitsNoLongerThanAcquireTimeoutWhenPoolIsFull() throws SQLException {
+        pool.closePool();
+        pool = createPool(2, 200, 10);
+        pool.takeConnection();
+        pool.takeConnection();
+        long start = System.nanoTime();
+        try {
+            pool.takeConnection();
+            fail("The pool has given more connections than its maximum size.");
+        } catch (SQLException e) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+        }
+        assertEquals(2, database.getOpenedConnections());
+        assertEquals(2, pool.getTotalConnections());
+    }
+
+    @Test
+    public void waitingBorrowerTakesReturnedConnection() throws Exception {
+        pool.closePool();
+        pool = createPool(1, 5000, 10);
+        final Connection connection = pool.takeConnection();
+        CompletableFuture<Void> release = CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(100);
+                connection.close();
+            } catch (InterruptedException | SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        pool.takeConnection().close();
+
+        release.get();
+        assertEquals(1, database.getOpenedConnections());
+    }
+
+    @Test
+    public void unfinishedTransactionIsRolledBackWhenConnectionIsReturned() throws SQLException {
+        Connection connection = pool.takeConnection();
+        connection.setAutoCommit(false);
+        connection.prepareStatement("UPDATE flights SET available_seats = 0").close();
+        connection.close();
+
+        assertEquals(Arrays.asList("setAutoCommit(false)", "rollback", "setAutoCommit(true)"),
+                database.getTransactionCalls());
+    }
+
+    @Test
+    public void committedTransactionIsNotRolledBack() throws SQLException {
+        Connection connection = pool.takeConnection();
+        connection.setAutoCommit(false);
+        connection.prepareStatement("UPDATE flights SET available_seats = 0").close();
+        connection.commit();
+        connection.close();
+
+        assertEquals(Arrays.asList("setAutoCommit(false)", "commit", "setAutoCommit(true)"),
+                database.getTransactionCalls());
+    }
+
+    @Test(expected = SQLException.class)
+    public void returnedConnectionCanNotBeUsed() throws SQLException {
+        Connection connection = pool.takeConnection();
+        connection.close();
+        connection.prepareStatement("SELECT 1");
+    }
+
+    @Test
+    public void statementsAreCachedAcrossBorrowers() throws SQLException {
+        Connection connection = pool.takeConnection();
+        connection.prepareStatement("SELECT 1").close();
+        connection.close();
+        connection = pool.takeConnection();
+        connection.prepareStatement("SELECT 1").close();
+        connection.close();
+
+        assertEquals(1, database.getPreparedQueries().size());
+    }
+
+    @Test
+    public void expiredConnectionIsClosedWhenReturned() throws Exception {
+        pool.closePool();
+        pool = new ConnectionPool(StubDriver.class.getName(), URL, "", "", 2, 0, 1000, 0, 50, 2, 10);
+        Connection connection = pool.takeConnection();
+        Thread.sleep(100);
+        connection.close();
+
+        assertEquals(1, database.getClosedConnections());
+        assertEquals(0, pool.getTotalConnections());
+    }
+
+    @Test(expected = SQLException.class)
+    public void closedPoolGivesNoConnections() throws SQLException {
+        pool.closePool();
+        pool.takeConnection();
+    }
+
+    private static ConnectionPool createPool(int maxSize, long acquireTimeout, int statementCacheSize) {
+        return new ConnectionPool(StubDriver.class.getName(), URL, "", "", maxSize, 0, acquireTimeout, 0, 0, 2,
+                statementCacheSize);
+    }
+
+    /**
+     * Description: The driver which opens the connections to the database of the current test.
+     */
+    public static class StubDriver implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            return acceptsURL(url) ? database.connect() : null;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return URL.equals(url);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
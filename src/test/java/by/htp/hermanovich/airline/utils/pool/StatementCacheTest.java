@@ -0,0 +1,111 @@
+package by.htp.hermanovich.airline.utils.pool;
+
+import by.htp.hermanovich.airline.stubs.StubDatabase;
+import by.htp.hermanovich.airline.utils.metrics.MetricsRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Description: This test checks the reuse, the eviction and the counters of the cache of prepared statements.
+ * The queries of every test are unique, so the counters of the queries are not shared with other tests.
+ */
+public class StatementCacheTest {
+    private StubDatabase database;
+    private StatementCache cache;
+    private String query;
+
+    @Before
+    public void createCache() {
+        database = new StubDatabase();
+        cache = new StatementCache(database.connect(), 2);
+        query = "SELECT " + System.nanoTime();
+    }
+
+    @Test
+    public void closedStatementIsReused() throws SQLException {
+        long hits = StatementCache.getHits();
+        long misses = StatementCache.getMisses();
+
+        cache.prepareStatement(query).close();
+        cache.prepareStatement(query).close();
+
+        assertEquals(1, database.getPreparedQueries().size());
+        assertEquals(1, StatementCache.getHits() - hits);
+        assertEquals(1, StatementCache.getMisses() - misses);
+        assertEquals(0, database.getClosedStatements());
+        assertEquals(2, database.getClearedStatements());
+        assertEquals(1, StatementCache.getQueryStatistics().get(query)[0]);
+        assertEquals(1, StatementCache.getQueryStatistics().get(query)[1]);
+    }
+
+    @Test
+    public void statementInUseIsNotSharedAndTheOtherIsClosedPhysically() throws SQLException {
+        PreparedStatement first = cache.prepareStatement(query);
+        PreparedStatement second = cache.prepareStatement(query);
+
+        assertEquals(2, database.getPreparedQueries().size());
+        second.close();
+        assertEquals(1, database.getClosedStatements());
+        first.close();
+        assertEquals(1, database.getClosedStatements());
+    }
+
+    @Test(expected = SQLException.class)
+    public void returnedStatementCanNotBeExecuted() throws SQLException {
+        PreparedStatement statement = cache.prepareStatement(query);
+        statement.close();
+        statement.executeQuery();
+    }
+
+    @Test
+    public void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        cache.prepareStatement(query + 1).close();
+        cache.prepareStatement(query + 2).close();
+        cache.prepareStatement(query + 1).close();
+        cache.prepareStatement(query + 3).close();
+
+        assertEquals(1, database.getClosedStatements());
+        cache.prepareStatement(query + 1).close();
+        assertEquals(3, database.getPreparedQueries().size());
+        cache.prepareStatement(query + 2).close();
+        assertEquals(4, database.getPreparedQueries().size());
+    }
+
+    @Test
+    public void evictedStatementInUseIsClosedWhenConnectionIsReleased() throws SQLException {
+        PreparedStatement statement = cache.prepareStatement(query + 1);
+        cache.prepareStatement(query + 2).close();
+        cache.prepareStatement(query + 3).close();
+
+        assertEquals(0, database.getClosedStatements());
+        assertTrue(!statement.isClosed());
+        cache.releaseAll();
+        assertEquals(1, database.getClosedStatements());
+    }
+
+    @Test
+    public void allStatementsAreClosedWithConnection() throws SQLException {
+        cache.prepareStatement(query + 1).close();
+        cache.prepareStatement(query + 2);
+
+        cache.closeAll();
+
+        assertEquals(2, database.getClosedStatements());
+    }
+
+    @Test
+    public void executionsAreRecordedToLatencyOfQuery() throws SQLException {
+        PreparedStatement statement = cache.prepareStatement(query);
+        statement.executeQuery();
+        statement.executeQuery();
+        statement.close();
+
+        assertEquals(2, MetricsRegistry.getInstance().getQueryLatency(query).getSnapshot().getCount());
+    }
+}